@@ -0,0 +1,159 @@
+package backend.common;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.domain.Slice;
+
+/*
+ * Region kesa za @Cacheable nad ExpiringLruCache: lista tezi koliko ima elemenata, ostalo 1.
+ * Null se cuva kao vrednost, da se prazan rezultat ne bi racunao ponovo.
+ */
+public class BoundedCache implements Cache {
+
+	private static final Object NULL = new Object();
+
+	private final String name;
+	private final ExpiringLruCache<Object, Object> store;
+
+	public BoundedCache(String name, long maxWeight, long ttlMillis) {
+		this.name = name;
+		this.store = new ExpiringLruCache<>(maxWeight, ttlMillis, BoundedCache::weigh);
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return store;
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		Object value = store.get(key);
+		if (value == null) {
+			return null;
+		}
+		return new SimpleValueWrapper(value == NULL ? null : value);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		ValueWrapper value = get(key);
+		if (value == null) {
+			return null;
+		}
+		if (value.get() != null && type != null && !type.isInstance(value.get())) {
+			throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]");
+		}
+		return (T) value.get();
+	}
+
+	// vrednost se racuna van brave, pa je dve niti mogu izracunati istovremeno
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper value = get(key);
+		if (value != null) {
+			return (T) value.get();
+		}
+		T loaded;
+		try {
+			loaded = valueLoader.call();
+		} catch (Exception e) {
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+		put(key, loaded);
+		return loaded;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		store.put(key, value == null ? NULL : value);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		synchronized (store) {
+			ValueWrapper existing = get(key);
+			if (existing == null) {
+				put(key, value);
+			}
+			return existing;
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		store.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		store.clear();
+	}
+
+	private static int weigh(Object value) {
+		if (value instanceof Collection) {
+			return Math.max(1, ((Collection<?>) value).size());
+		}
+		if (value instanceof Map) {
+			return Math.max(1, ((Map<?, ?>) value).size());
+		}
+		if (value instanceof Slice) {
+			return Math.max(1, ((Slice<?>) value).getNumberOfElements());
+		}
+		if (value.getClass().isArray()) {
+			return Math.max(1, Array.getLength(value));
+		}
+		return 1;
+	}
+
+	public int getEntries() {
+		return store.size();
+	}
+
+	public long getWeight() {
+		return store.getWeight();
+	}
+
+	public long getMaxWeight() {
+		return store.getMaxWeight();
+	}
+
+	public long getTtlMillis() {
+		return store.getTtlMillis();
+	}
+
+	public long getHits() {
+		return store.getHits();
+	}
+
+	public long getMisses() {
+		return store.getMisses();
+	}
+
+	public long getPuts() {
+		return store.getPuts();
+	}
+
+	public long getEvictions() {
+		return store.getEvictions();
+	}
+
+	public long getExpirations() {
+		return store.getExpirations();
+	}
+
+	public long getInvalidations() {
+		return store.getInvalidations();
+	}
+}
@@ -0,0 +1,52 @@
+package backend.common;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import backend.exceptions.BadRequestException;
+
+/*
+ * Pozicija u listi sortiranoj po (kljuc, id): sledeca strana pocinje posle poslednjeg
+ * procitanog reda, pa se ne preskace OFFSET redova. Klijentu se salje kao base64 niz.
+ */
+public final class Cursor {
+
+	private final long key;
+	private final long id;
+
+	public Cursor(long key, long id) {
+		this.key = key;
+		this.id = id;
+	}
+
+	public long getKey() {
+		return key;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String encode() {
+		byte[] bytes = ByteBuffer.allocate(16).putLong(key).putLong(id).array();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	// null za prvu stranu
+	public static Cursor decode(String value) throws BadRequestException {
+		if (value == null || value.isEmpty()) {
+			return null;
+		}
+		byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(value);
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Invalid cursor.");
+		}
+		if (bytes.length != 16) {
+			throw new BadRequestException("Invalid cursor.");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return new Cursor(buffer.getLong(), buffer.getLong());
+	}
+}
@@ -0,0 +1,48 @@
+package backend.common;
+
+// kljuc (dan dogadjaja, sektor dogadjaja) za strukture koje se drze u memoriji
+public final class EventDaySectorKey {
+
+	private final long eventDayId;
+	private final long eventSectorId;
+
+	private EventDaySectorKey(long eventDayId, long eventSectorId) {
+		this.eventDayId = eventDayId;
+		this.eventSectorId = eventSectorId;
+	}
+
+	public static EventDaySectorKey of(Long eventDayId, Long eventSectorId) {
+		return new EventDaySectorKey(eventDayId, eventSectorId);
+	}
+
+	public long getEventDayId() {
+		return eventDayId;
+	}
+
+	public long getEventSectorId() {
+		return eventSectorId;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.hashCode(eventDayId) + Long.hashCode(eventSectorId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		EventDaySectorKey other = (EventDaySectorKey) obj;
+		return eventDayId == other.eventDayId && eventSectorId == other.eventSectorId;
+	}
+
+	@Override
+	public String toString() {
+		return "EventDaySectorKey [eventDayId=" + eventDayId + ", eventSectorId=" + eventSectorId + "]";
+	}
+
+}
@@ -0,0 +1,357 @@
+package backend.common;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Invertovani indeks dogadjaja: rec -> {dogadjaj -> tezina polja}. Reci upita se traze
+ * kao prefiksi (TreeMap.subMap), dogadjaj mora da sadrzi sve reci upita. Facete se broje
+ * tako da svaka ignorise svoj filter, pa klijent vidi koliko bi dobio izborom druge vrednosti.
+ */
+public class EventSearchIndex {
+
+	// tezine polja u kojima je rec nadjena
+	public static final int NAME = 3;
+	public static final int PLACE = 2;
+	public static final int DESCRIPTION = 1;
+
+	public static final class Doc {
+		private final long id;
+		private final String name;
+		private final String description;
+		private final String type;
+		private final String locationName;
+		private final String city;
+		private final LocalDate startDate;
+
+		public Doc(long id, String name, String description, String type, String locationName, String city,
+				LocalDate startDate) {
+			this.id = id;
+			this.name = name;
+			this.description = description;
+			this.type = type;
+			this.locationName = locationName;
+			this.city = city;
+			this.startDate = startDate;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public String getLocationName() {
+			return locationName;
+		}
+
+		public String getCity() {
+			return city;
+		}
+
+		public LocalDate getStartDate() {
+			return startDate;
+		}
+
+		private String month() {
+			return startDate == null ? null : startDate.toString().substring(0, 7);
+		}
+	}
+
+	public static final class Query {
+		private String text;
+		private String type;
+		private String city;
+		private LocalDate from;
+		private LocalDate to;
+		private int limit = 20;
+
+		public Query text(String text) {
+			this.text = text;
+			return this;
+		}
+
+		public Query type(String type) {
+			this.type = type;
+			return this;
+		}
+
+		public Query city(String city) {
+			this.city = city;
+			return this;
+		}
+
+		// pocetak dogadjaja u [from, to], null je bez granice
+		public Query dates(LocalDate from, LocalDate to) {
+			this.from = from;
+			this.to = to;
+			return this;
+		}
+
+		public Query limit(int limit) {
+			this.limit = limit;
+			return this;
+		}
+
+		private boolean typeOk(Doc d) {
+			return type == null || type.equals(d.type);
+		}
+
+		private boolean cityOk(Doc d) {
+			return city == null || city.equalsIgnoreCase(d.city);
+		}
+
+		private boolean dateOk(Doc d) {
+			if (from == null && to == null) {
+				return true;
+			}
+			return d.startDate != null && (from == null || !d.startDate.isBefore(from))
+					&& (to == null || !d.startDate.isAfter(to));
+		}
+	}
+
+	public static final class Hit {
+		private final Doc doc;
+		private final int score;
+
+		private Hit(Doc doc, int score) {
+			this.doc = doc;
+			this.score = score;
+		}
+
+		public Doc getDoc() {
+			return doc;
+		}
+
+		public int getScore() {
+			return score;
+		}
+	}
+
+	public static final class Result {
+		private final int total;
+		private final List<Hit> hits;
+		private final Map<String, Long> types;
+		private final Map<String, Long> cities;
+		private final Map<String, Long> months;
+
+		private Result(int total, List<Hit> hits, Map<String, Long> types, Map<String, Long> cities,
+				Map<String, Long> months) {
+			this.total = total;
+			this.hits = hits;
+			this.types = types;
+			this.cities = cities;
+			this.months = months;
+		}
+
+		public int getTotal() {
+			return total;
+		}
+
+		public List<Hit> getHits() {
+			return hits;
+		}
+
+		public Map<String, Long> getTypes() {
+			return types;
+		}
+
+		public Map<String, Long> getCities() {
+			return cities;
+		}
+
+		public Map<String, Long> getMonths() {
+			return months;
+		}
+	}
+
+	private static final Comparator<Hit> ORDER = Comparator.comparingInt((Hit h) -> -h.score)
+			.thenComparing(h -> h.doc.startDate, Comparator.nullsLast(Comparator.naturalOrder()))
+			.thenComparingLong(h -> h.doc.id);
+
+	private final Map<Long, Doc> docs = new HashMap<>();
+	private final Map<Long, Set<String>> docTerms = new HashMap<>();
+	private final TreeMap<String, Map<Long, Integer>> terms = new TreeMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public void put(Doc doc) {
+		lock.writeLock().lock();
+		try {
+			removeDoc(doc.id);
+			Map<String, Integer> weights = new HashMap<>();
+			addTokens(weights, doc.name, NAME);
+			addTokens(weights, doc.locationName, PLACE);
+			addTokens(weights, doc.city, PLACE);
+			addTokens(weights, doc.type, PLACE);
+			addTokens(weights, doc.description, DESCRIPTION);
+			for (Map.Entry<String, Integer> w : weights.entrySet()) {
+				terms.computeIfAbsent(w.getKey(), k -> new HashMap<>()).put(doc.id, w.getValue());
+			}
+			docs.put(doc.id, doc);
+			docTerms.put(doc.id, weights.keySet());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(long id) {
+		lock.writeLock().lock();
+		try {
+			removeDoc(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			docs.clear();
+			docTerms.clear();
+			terms.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return docs.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Result search(Query q) {
+		lock.readLock().lock();
+		try {
+			Map<Long, Integer> scores = match(tokenize(q.text));
+			List<Hit> hits = new ArrayList<>();
+			Map<String, Long> types = new TreeMap<>();
+			Map<String, Long> cities = new TreeMap<>();
+			Map<String, Long> months = new TreeMap<>();
+			Iterable<Long> candidates = scores == null ? docs.keySet() : scores.keySet();
+			for (Long id : candidates) {
+				Doc d = docs.get(id);
+				boolean t = q.typeOk(d);
+				boolean c = q.cityOk(d);
+				boolean dt = q.dateOk(d);
+				if (c && dt) {
+					count(types, d.type);
+				}
+				if (t && dt) {
+					count(cities, d.city);
+				}
+				if (t && c) {
+					count(months, d.month());
+				}
+				if (t && c && dt) {
+					hits.add(new Hit(d, scores == null ? 0 : scores.get(id)));
+				}
+			}
+			int total = hits.size();
+			hits.sort(ORDER);
+			List<Hit> page = hits.size() > q.limit ? new ArrayList<>(hits.subList(0, q.limit)) : hits;
+			return new Result(total, page, types, cities, months);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// null ako upit nema reci (svi dogadjaji), inace dogadjaj -> zbir tezina
+	private Map<Long, Integer> match(List<String> tokens) {
+		if (tokens.isEmpty()) {
+			return null;
+		}
+		Map<Long, Integer> scores = null;
+		for (String token : tokens) {
+			Map<Long, Integer> found = new HashMap<>();
+			for (Map<Long, Integer> postings : terms.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+				for (Map.Entry<Long, Integer> p : postings.entrySet()) {
+					if (scores == null || scores.containsKey(p.getKey())) {
+						found.merge(p.getKey(), p.getValue(), Math::max);
+					}
+				}
+			}
+			if (scores != null) {
+				for (Map.Entry<Long, Integer> f : found.entrySet()) {
+					f.setValue(f.getValue() + scores.get(f.getKey()));
+				}
+			}
+			scores = found;
+			if (scores.isEmpty()) {
+				break;
+			}
+		}
+		return scores;
+	}
+
+	private void removeDoc(long id) {
+		Set<String> old = docTerms.remove(id);
+		docs.remove(id);
+		if (old == null) {
+			return;
+		}
+		for (String term : old) {
+			Map<Long, Integer> postings = terms.get(term);
+			if (postings != null) {
+				postings.remove(id);
+				if (postings.isEmpty()) {
+					terms.remove(term);
+				}
+			}
+		}
+	}
+
+	private static void addTokens(Map<String, Integer> weights, String text, int weight) {
+		for (String token : tokenize(text)) {
+			weights.merge(token, weight, Math::max);
+		}
+	}
+
+	private static void count(Map<String, Long> facet, String key) {
+		if (key != null) {
+			facet.merge(key, 1L, Long::sum);
+		}
+	}
+
+	// mala slova bez dijakritika, pa "Novi Sad" i "novi sad" daju iste reci, a "djordje" nalazi "Đorđe"
+	public static List<String> tokenize(String text) {
+		if (text == null || text.isEmpty()) {
+			return Collections.emptyList();
+		}
+		String normalized = Normalizer.normalize(text.replace("đ", "dj").replace("Đ", "Dj"), Normalizer.Form.NFD)
+				.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+		Set<String> tokens = new HashSet<>();
+		List<String> result = new ArrayList<>();
+		for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+			if (!token.isEmpty() && tokens.add(token)) {
+				result.add(token);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,143 @@
+package backend.common;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.ToIntFunction;
+
+/*
+ * Ograniceni kes: kad zbir tezina unosa predje granicu izbacuje najdavnije korisceni unos,
+ * a unos stariji od ttl se ne vraca. Bez funkcije tezine svaki unos tezi 1, pa je granica
+ * broj unosa. Pristup je sinhronizovan, operacije su O(1). Broji pogotke, promasaje i
+ * izbacivanja za pregled u radu.
+ */
+public class ExpiringLruCache<K, V> {
+
+	private static final class Entry<V> {
+		private final V value;
+		private final int weight;
+		private final long expires;
+
+		private Entry(V value, int weight, long expires) {
+			this.value = value;
+			this.weight = weight;
+			this.expires = expires;
+		}
+	}
+
+	private final long maxWeight;
+	private final long ttlMillis;
+	private final ToIntFunction<? super V> weigher;
+	private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long weight;
+	private long hits;
+	private long misses;
+	private long puts;
+	private long evictions;
+	private long expirations;
+	private long invalidations;
+
+	public ExpiringLruCache(int maxSize, long ttlMillis) {
+		this(maxSize, ttlMillis, value -> 1);
+	}
+
+	public ExpiringLruCache(long maxWeight, long ttlMillis, ToIntFunction<? super V> weigher) {
+		this.maxWeight = maxWeight;
+		this.ttlMillis = ttlMillis;
+		this.weigher = weigher;
+	}
+
+	public synchronized V get(K key) {
+		Entry<V> e = map.get(key);
+		if (e != null && e.expires < System.currentTimeMillis()) {
+			unlink(key);
+			expirations++;
+			e = null;
+		}
+		if (e == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return e.value;
+	}
+
+	// unos tezi od celog kesa se ne cuva
+	public synchronized void put(K key, V value) {
+		int w = weigher.applyAsInt(value);
+		if (w > maxWeight) {
+			return;
+		}
+		unlink(key);
+		map.put(key, new Entry<>(value, w, System.currentTimeMillis() + ttlMillis));
+		weight += w;
+		puts++;
+		Iterator<Entry<V>> eldest = map.values().iterator();
+		while (weight > maxWeight && eldest.hasNext()) {
+			weight -= eldest.next().weight;
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void remove(K key) {
+		if (unlink(key)) {
+			invalidations++;
+		}
+	}
+
+	public synchronized void clear() {
+		invalidations += map.size();
+		map.clear();
+		weight = 0;
+	}
+
+	private boolean unlink(K key) {
+		Entry<V> e = map.remove(key);
+		if (e == null) {
+			return false;
+		}
+		weight -= e.weight;
+		return true;
+	}
+
+	public synchronized int size() {
+		return map.size();
+	}
+
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	public long getTtlMillis() {
+		return ttlMillis;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getPuts() {
+		return puts;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized long getExpirations() {
+		return expirations;
+	}
+
+	public synchronized long getInvalidations() {
+		return invalidations;
+	}
+}
@@ -0,0 +1,184 @@
+package backend.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Tacke (id -> sirina, duzina) rasporedjene u mrezu celija od CELL stepeni. Upit obilazi
+ * samo celije oko zadate tacke, prsten po prsten, i staje kada dalje celije ne mogu
+ * da sadrze blizu tacku, pa ne prolazi kroz sve tacke.
+ */
+public class GeoIndex {
+
+	// oko 22 km po sirini
+	public static final double CELL = 0.2;
+	public static final double EARTH_KM = 6371.0;
+
+	private static final int LAT_CELLS = (int) Math.ceil(180 / CELL);
+	private static final int LON_CELLS = (int) Math.ceil(360 / CELL);
+	private static final double KM_PER_DEGREE = Math.PI * EARTH_KM / 180;
+
+	public static final class Neighbor {
+		private final long id;
+		private final double distanceKm;
+
+		private Neighbor(long id, double distanceKm) {
+			this.id = id;
+			this.distanceKm = distanceKm;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		public double getDistanceKm() {
+			return distanceKm;
+		}
+	}
+
+	private static final Comparator<Neighbor> BY_DISTANCE = Comparator.comparingDouble((Neighbor n) -> n.distanceKm)
+			.thenComparingLong(n -> n.id);
+
+	private final Map<Long, double[]> points = new HashMap<>();
+	private final Map<Integer, Set<Long>> cells = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public void put(long id, double lat, double lon) {
+		lock.writeLock().lock();
+		try {
+			removePoint(id);
+			points.put(id, new double[] { lat, lon });
+			cells.computeIfAbsent(cell(latIndex(lat), lonIndex(lon)), k -> new HashSet<>()).add(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(long id) {
+		lock.writeLock().lock();
+		try {
+			removePoint(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return points.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// sve tacke na najvise radiusKm, od najblize
+	public List<Neighbor> within(double lat, double lon, double radiusKm) {
+		return nearest(lat, lon, Integer.MAX_VALUE, radiusKm);
+	}
+
+	// najvise k najblizih tacaka na najvise maxKm
+	public List<Neighbor> nearest(double lat, double lon, int k, double maxKm) {
+		lock.readLock().lock();
+		try {
+			List<Neighbor> found = new ArrayList<>();
+			if (k <= 0 || points.isEmpty()) {
+				return found;
+			}
+			int latIdx = latIndex(lat);
+			int lonIdx = lonIndex(lon);
+			// najmanja sirina celije u km na geografskim sirinama koje upit moze da obuhvati
+			double ringKm = CELL * KM_PER_DEGREE
+					* Math.max(Math.cos(Math.toRadians(Math.min(89.9, Math.abs(lat) + maxKm / KM_PER_DEGREE))), 0.001);
+			int maxRing = (int) Math.min(Math.max(LAT_CELLS, LON_CELLS / 2), Math.ceil(maxKm / ringKm) + 1);
+			for (int r = 0; r <= maxRing; r++) {
+				visitRing(latIdx, lonIdx, r, lat, lon, maxKm, found);
+				// tacke u daljim prstenovima su bar r celija daleko
+				if (found.size() >= k) {
+					found.sort(BY_DISTANCE);
+					if (found.get(k - 1).distanceKm <= r * ringKm) {
+						break;
+					}
+				}
+			}
+			found.sort(BY_DISTANCE);
+			return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void visitRing(int latIdx, int lonIdx, int r, double lat, double lon, double maxKm,
+			List<Neighbor> found) {
+		Set<Integer> visited = new HashSet<>();
+		for (int dy = -r; dy <= r; dy++) {
+			int y = latIdx + dy;
+			if (y < 0 || y >= LAT_CELLS) {
+				continue;
+			}
+			boolean edge = Math.abs(dy) == r;
+			for (int dx = -r; dx <= r; dx += edge ? 1 : 2 * r) {
+				int x = Math.floorMod(lonIdx + dx, LON_CELLS);
+				int key = cell(y, x);
+				// kod velikih prstenova celije se preklope preko 180. meridijana
+				if (!visited.add(key)) {
+					continue;
+				}
+				Set<Long> ids = cells.get(key);
+				if (ids == null) {
+					continue;
+				}
+				for (Long id : ids) {
+					double[] p = points.get(id);
+					double d = distanceKm(lat, lon, p[0], p[1]);
+					if (d <= maxKm) {
+						found.add(new Neighbor(id, d));
+					}
+				}
+			}
+		}
+	}
+
+	private void removePoint(long id) {
+		double[] old = points.remove(id);
+		if (old == null) {
+			return;
+		}
+		int key = cell(latIndex(old[0]), lonIndex(old[1]));
+		Set<Long> ids = cells.get(key);
+		if (ids != null) {
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				cells.remove(key);
+			}
+		}
+	}
+
+	private static int latIndex(double lat) {
+		return Math.min(LAT_CELLS - 1, Math.max(0, (int) Math.floor((lat + 90) / CELL)));
+	}
+
+	private static int lonIndex(double lon) {
+		return Math.floorMod((int) Math.floor((lon + 180) / CELL), LON_CELLS);
+	}
+
+	private static int cell(int latIdx, int lonIdx) {
+		return latIdx * LON_CELLS + lonIdx;
+	}
+
+	// haversine
+	public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLon = Math.toRadians(lon2 - lon1);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+				* Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+		return 2 * EARTH_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+}
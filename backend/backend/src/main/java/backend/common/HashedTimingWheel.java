@@ -0,0 +1,219 @@
+package backend.common;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Hashed timing wheel: niz kanti, svaka kanta je lista isteka koji padaju na isti otkucaj
+ * (po modulu velicine tocka). Dodavanje i otkazivanje su O(1), a otkucaj obilazi samo
+ * jednu kantu. Isteci dalji od jednog kruga cekaju sa brojem preostalih krugova.
+ *
+ * Nove isteke niti stavljaju u red, u kante ih prebacuje samo nit koja pomera tocak,
+ * pa kante nemaju sinhronizaciju. Otkazan istek se izbacuje iz kante kad se do nje stigne.
+ */
+public class HashedTimingWheel<T> {
+
+	private static final int PENDING = 0;
+	private static final int CANCELED = 1;
+	private static final int EXPIRED = 2;
+
+	public static final class Timeout<T> {
+		private final T item;
+		private final long deadline;
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+		private long rounds;
+		private Timeout<T> prev;
+		private Timeout<T> next;
+
+		private Timeout(T item, long deadline) {
+			this.item = item;
+			this.deadline = deadline;
+		}
+
+		public T getItem() {
+			return item;
+		}
+
+		// vraca false ako je istek vec obradjen
+		public boolean cancel() {
+			return state.compareAndSet(PENDING, CANCELED);
+		}
+
+		public boolean isCanceled() {
+			return state.get() == CANCELED;
+		}
+
+		public boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+	}
+
+	private static final class Bucket<T> {
+		private Timeout<T> head;
+		private Timeout<T> tail;
+
+		private void add(Timeout<T> t) {
+			if (head == null) {
+				head = tail = t;
+			} else {
+				tail.next = t;
+				t.prev = tail;
+				tail = t;
+			}
+		}
+
+		private Timeout<T> remove(Timeout<T> t) {
+			Timeout<T> next = t.next;
+			if (t.prev != null) {
+				t.prev.next = next;
+			} else {
+				head = next;
+			}
+			if (next != null) {
+				next.prev = t.prev;
+			} else {
+				tail = t.prev;
+			}
+			t.prev = null;
+			t.next = null;
+			return next;
+		}
+	}
+
+	private final long tickMillis;
+	private final Bucket<T>[] wheel;
+	private final int mask;
+	private final Consumer<T> onExpire;
+	private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final long startTime;
+
+	// otkucaji do kojih je tocak obradjen, menja ga samo nit koja poziva advance
+	private long tick;
+	private volatile Thread worker;
+	private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	@SuppressWarnings("unchecked")
+	public HashedTimingWheel(long tickDuration, TimeUnit unit, int ticksPerWheel, Consumer<T> onExpire) {
+		if (tickDuration <= 0 || ticksPerWheel <= 0) {
+			throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+		}
+		this.tickMillis = Math.max(1, unit.toMillis(tickDuration));
+		int n = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+		this.wheel = (Bucket<T>[]) new Bucket<?>[n];
+		for (int i = 0; i < n; i++) {
+			this.wheel[i] = new Bucket<>();
+		}
+		this.mask = n - 1;
+		this.onExpire = onExpire;
+		this.startTime = System.currentTimeMillis();
+	}
+
+	public Timeout<T> schedule(T item, long delay, TimeUnit unit) {
+		return scheduleAt(item, System.currentTimeMillis() + unit.toMillis(Math.max(0, delay)));
+	}
+
+	public Timeout<T> scheduleAt(T item, long deadlineMillis) {
+		Timeout<T> t = new Timeout<>(item, deadlineMillis - startTime);
+		pending.add(t);
+		size.incrementAndGet();
+		return t;
+	}
+
+	// pomera tocak do zadatog trenutka i vraca broj isteklih stavki
+	public int advance(long nowMillis) {
+		long target = (nowMillis - startTime) / tickMillis;
+		int expired = 0;
+		transferPending();
+		while (tick <= target) {
+			expired += expireBucket(wheel[(int) (tick & mask)]);
+			tick++;
+			transferPending();
+		}
+		return expired;
+	}
+
+	public int size() {
+		return size.get();
+	}
+
+	public synchronized void start(String name) {
+		if (worker != null) {
+			return;
+		}
+		Thread t = new Thread(() -> {
+			while (!Thread.currentThread().isInterrupted()) {
+				try {
+					advance(System.currentTimeMillis());
+					long nextTick = startTime + tick * tickMillis;
+					long sleep = nextTick - System.currentTimeMillis();
+					if (sleep > 0) {
+						Thread.sleep(sleep);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}, name);
+		t.setDaemon(true);
+		worker = t;
+		t.start();
+	}
+
+	public synchronized void stop() {
+		if (worker != null) {
+			worker.interrupt();
+			worker = null;
+		}
+	}
+
+	private void transferPending() {
+		Timeout<T> t;
+		while ((t = pending.poll()) != null) {
+			if (t.isCanceled()) {
+				size.decrementAndGet();
+				continue;
+			}
+			// zaokruzuje se navise, stavka nikad ne istekne pre roka
+			long ticks = (t.deadline + tickMillis - 1) / tickMillis;
+			// rok koji je vec prosao ide u trenutni otkucaj
+			long slot = Math.max(ticks, tick);
+			t.rounds = (slot - tick) / wheel.length;
+			wheel[(int) (slot & mask)].add(t);
+		}
+	}
+
+	private int expireBucket(Bucket<T> bucket) {
+		int expired = 0;
+		Timeout<T> t = bucket.head;
+		while (t != null) {
+			if (t.isCanceled()) {
+				t = bucket.remove(t);
+				size.decrementAndGet();
+			} else if (t.rounds <= 0) {
+				Timeout<T> next = bucket.remove(t);
+				size.decrementAndGet();
+				if (t.state.compareAndSet(PENDING, EXPIRED)) {
+					expired++;
+					try {
+						onExpire.accept(t.item);
+					} catch (RuntimeException e) {
+						// greska jedne stavke ne sme zaustaviti tocak
+						logger.error("ERROR while expiring timeout", e);
+					}
+				}
+				t = next;
+			} else {
+				t.rounds--;
+				t = t.next;
+			}
+		}
+		return expired;
+	}
+}
@@ -0,0 +1,129 @@
+package backend.common;
+
+import java.nio.ByteBuffer;
+
+/*
+ * Procena broja razlicitih vrednosti (HyperLogLog) u 2^12 registara od po jednog bajta,
+ * sa greskom oko 1.6%. Dve procene se spajaju uzimanjem veceg registra, pa je unija
+ * dana ili dogadjaja procena nad svim njihovim vrednostima. Nije thread-safe.
+ */
+public class HyperLogLog {
+
+	public static final int P = 12;
+	public static final int M = 1 << P;
+
+	private static final byte DENSE = 0;
+	private static final byte SPARSE = 1;
+
+	private final byte[] registers;
+
+	public HyperLogLog() {
+		this.registers = new byte[M];
+	}
+
+	private HyperLogLog(byte[] registers) {
+		this.registers = registers;
+	}
+
+	public void add(long value) {
+		long hash = mix(value);
+		int index = (int) (hash >>> (64 - P));
+		// prvi bit 1 posle bitova indeksa; zadnji bit je postavljen da broj bude ogranicen
+		byte rank = (byte) (Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1);
+		if (rank > registers[index]) {
+			registers[index] = rank;
+		}
+	}
+
+	public HyperLogLog merge(HyperLogLog other) {
+		for (int i = 0; i < M; i++) {
+			if (other.registers[i] > registers[i]) {
+				registers[i] = other.registers[i];
+			}
+		}
+		return this;
+	}
+
+	public HyperLogLog copy() {
+		return new HyperLogLog(registers.clone());
+	}
+
+	public long estimate() {
+		double sum = 0;
+		int zeros = 0;
+		for (int i = 0; i < M; i++) {
+			sum += 1.0 / (1L << registers[i]);
+			if (registers[i] == 0) {
+				zeros++;
+			}
+		}
+		double estimate = 0.7213 / (1 + 1.079 / M) * M * M / sum;
+		// za mali broj vrednosti je tacnije brojanje praznih registara
+		if (estimate <= 2.5 * M && zeros > 0) {
+			estimate = M * Math.log((double) M / zeros);
+		}
+		return Math.round(estimate);
+	}
+
+	public boolean isEmpty() {
+		for (byte r : registers) {
+			if (r != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Dok je popunjeno malo registara cuvaju se samo oni (indeks i vrednost, 3 bajta),
+	 * inace ceo niz. Prvi bajt kaze koji je oblik.
+	 */
+	public byte[] toBytes() {
+		int used = 0;
+		for (byte r : registers) {
+			if (r != 0) {
+				used++;
+			}
+		}
+		if (3 * used >= M) {
+			ByteBuffer buffer = ByteBuffer.allocate(1 + M);
+			buffer.put(DENSE).put(registers);
+			return buffer.array();
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(1 + 3 * used);
+		buffer.put(SPARSE);
+		for (int i = 0; i < M; i++) {
+			if (registers[i] != 0) {
+				buffer.putShort((short) i).put(registers[i]);
+			}
+		}
+		return buffer.array();
+	}
+
+	public static HyperLogLog fromBytes(byte[] bytes) {
+		HyperLogLog hll = new HyperLogLog();
+		if (bytes == null || bytes.length == 0) {
+			return hll;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		if (buffer.get() == DENSE) {
+			buffer.get(hll.registers);
+		} else {
+			while (buffer.remaining() >= 3) {
+				int index = buffer.getShort() & 0xFFFF;
+				hll.registers[index] = buffer.get();
+			}
+		}
+		return hll;
+	}
+
+	// id-jevi su uzastopni brojevi, pa se pre upisa mesaju (murmur3 fmix64)
+	private static long mix(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+}
@@ -0,0 +1,76 @@
+package backend.common;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Ograniceni prsten sa vise proizvodjaca i jednim potrosacem.
+ * Svako mesto ima svoj redni broj: proizvodjac zauzima mesto CAS-om nad repom i objavljuje
+ * ga upisom rednog broja, potrosac cita redom i mesto vraca za sledeci krug. Nema brava.
+ */
+public class RingBuffer<T> {
+
+	private final Object[] buffer;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	// menja ga samo potrosac
+	private volatile long head;
+
+	public RingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		this.buffer = new Object[size];
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+		this.mask = size - 1;
+	}
+
+	// vraca false ako je prsten pun
+	public boolean offer(T item) {
+		while (true) {
+			long t = tail.get();
+			int i = (int) (t & mask);
+			long diff = sequences.get(i) - t;
+			if (diff == 0) {
+				if (tail.compareAndSet(t, t + 1)) {
+					buffer[i] = item;
+					sequences.lazySet(i, t + 1);
+					return true;
+				}
+			} else if (diff < 0) {
+				return false;
+			}
+		}
+	}
+
+	// sme da ga poziva samo jedna nit
+	@SuppressWarnings("unchecked")
+	public int drainTo(Collection<? super T> sink, int max) {
+		int n = 0;
+		long h = head;
+		while (n < max) {
+			int i = (int) (h & mask);
+			if (sequences.get(i) != h + 1) {
+				break;
+			}
+			sink.add((T) buffer[i]);
+			buffer[i] = null;
+			sequences.lazySet(i, h + buffer.length);
+			h++;
+			n++;
+		}
+		head = h;
+		return n;
+	}
+
+	public int size() {
+		return (int) Math.max(0, tail.get() - head);
+	}
+
+	public int capacity() {
+		return buffer.length;
+	}
+}
@@ -0,0 +1,170 @@
+package backend.common;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Zauzetost sedista jednog sedeceg sektora za jedan dan dogadjaja.
+ * Sediste (row, col) je bit (row - 1) * numCols + (col - 1), redovi i kolone krecu od 1.
+ * Zauzimanje je CAS nad recju u kojoj je bit, pa dve niti ne mogu zauzeti isto sediste.
+ */
+public class SeatBitmap {
+
+	private final int numRows;
+	private final int numCols;
+	private final AtomicLongArray words;
+	// raste pri svakoj promeni, po njemu se zna da li je sacuvani prikaz sektora zastareo
+	private final AtomicLong version = new AtomicLong();
+
+	public SeatBitmap(int numRows, int numCols) {
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.words = new AtomicLongArray((numRows * numCols + 63) >>> 6);
+	}
+
+	public boolean contains(int row, int col) {
+		return row >= 1 && row <= numRows && col >= 1 && col <= numCols;
+	}
+
+	public int index(int row, int col) {
+		return (row - 1) * numCols + (col - 1);
+	}
+
+	public boolean isTaken(int row, int col) {
+		int i = index(row, col);
+		return (words.get(i >>> 6) & (1L << i)) != 0;
+	}
+
+	// vraca false ako je sediste vec zauzeto
+	public boolean tryOccupy(int row, int col) {
+		int i = index(row, col);
+		long mask = 1L << i;
+		while (true) {
+			long current = words.get(i >>> 6);
+			if ((current & mask) != 0) {
+				return false;
+			}
+			if (words.compareAndSet(i >>> 6, current, current | mask)) {
+				version.incrementAndGet();
+				return true;
+			}
+		}
+	}
+
+	public void occupy(int row, int col) {
+		tryOccupy(row, col);
+	}
+
+	public void release(int row, int col) {
+		int i = index(row, col);
+		long mask = 1L << i;
+		while (true) {
+			long current = words.get(i >>> 6);
+			if ((current & mask) == 0) {
+				return;
+			}
+			if (words.compareAndSet(i >>> 6, current, current & ~mask)) {
+				version.incrementAndGet();
+				return;
+			}
+		}
+	}
+
+	/*
+	 * Trazi n susednih slobodnih sedista u istom redu ciji je centar najblizi (sweetRow, sweetCol).
+	 * Za svaki slobodan niz u redu dovoljno je proveriti jedan pocetak, onaj najblizi
+	 * zeljenom centru. Vraca {red, prva kolona} ili null ako takvog niza nema.
+	 */
+	public int[] findBestRun(int n, double sweetRow, double sweetCol) {
+		if (n < 1 || n > numCols) {
+			return null;
+		}
+		int[] best = null;
+		double bestScore = Double.MAX_VALUE;
+		for (int row = 1; row <= numRows; row++) {
+			double dr = row - sweetRow;
+			if (dr * dr >= bestScore) {
+				continue;
+			}
+			int col = 1;
+			while (col <= numCols) {
+				while (col <= numCols && isTaken(row, col)) {
+					col++;
+				}
+				int runStart = col;
+				while (col <= numCols && !isTaken(row, col)) {
+					col++;
+				}
+				int runEnd = col - 1;
+				if (runEnd - runStart + 1 < n) {
+					continue;
+				}
+				long start = Math.round(sweetCol - (n - 1) / 2.0);
+				start = Math.max(runStart, Math.min(runEnd - n + 1, start));
+				double dc = start + (n - 1) / 2.0 - sweetCol;
+				double score = dr * dr + dc * dc;
+				if (score < bestScore) {
+					bestScore = score;
+					best = new int[] { row, (int) start };
+				}
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * Slobodna mesta po redovima kodirana duzinama nizova: za svaki red naizmenicno
+	 * broj slobodnih pa broj zauzetih sedista, pocevsi od slobodnih (prvi broj moze biti 0).
+	 */
+	public int[][] encodeFreeRuns() {
+		int[][] rows = new int[numRows][];
+		int[] runs = new int[numCols + 1];
+		for (int row = 1; row <= numRows; row++) {
+			int n = 0;
+			int col = 1;
+			while (col <= numCols) {
+				int start = col;
+				while (col <= numCols && !isTaken(row, col)) {
+					col++;
+				}
+				runs[n++] = col - start;
+				if (col > numCols) {
+					break;
+				}
+				start = col;
+				while (col <= numCols && isTaken(row, col)) {
+					col++;
+				}
+				runs[n++] = col - start;
+			}
+			rows[row - 1] = Arrays.copyOf(runs, n);
+		}
+		return rows;
+	}
+
+	public long getVersion() {
+		return version.get();
+	}
+
+	public int countTaken() {
+		int count = 0;
+		for (int i = 0; i < words.length(); i++) {
+			count += Long.bitCount(words.get(i));
+		}
+		return count;
+	}
+
+	public int getCapacity() {
+		return numRows * numCols;
+	}
+
+	public int getNumRows() {
+		return numRows;
+	}
+
+	public int getNumCols() {
+		return numCols;
+	}
+
+}
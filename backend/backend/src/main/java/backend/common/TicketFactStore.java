@@ -0,0 +1,301 @@
+package backend.common;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Karte za analitiku, po kolonama: svaka osobina karte je jedan niz primitivnih vrednosti,
+ * pa prolaz kroz milione karata cita samo nizove koji su potrebni upitu.
+ * Upis (append, setState) je pod bravom, a citanje bez nje: broj redova se objavljuje
+ * tek posle upisa reda, a nizovi se pri rastu kopiraju pre objavljivanja.
+ * Dan je broj dana od 1.1.1970, tip dogadjaja redni broj iz EventType (-1 ako ga nema),
+ * a lokacija bez id-ja je 0.
+ */
+public class TicketFactStore {
+
+	public static final byte RESERVED = 0;
+	public static final byte PURCHASED = 1;
+	public static final byte CANCELED = 2;
+
+	public enum Dimension {
+		EVENT, LOCATION, EVENT_SECTOR, EVENT_TYPE, DAY, DAY_OF_WEEK, STATE
+	}
+
+	// ispod ovog broja redova deo se sabira u jednoj niti
+	private static final int SPLIT = 1 << 16;
+
+	private static final class Columns {
+		private final long[] eventId;
+		private final long[] locationId;
+		private final long[] eventSectorId;
+		private final int[] day;
+		private final byte[] eventType;
+		private final double[] price;
+		private final byte[] state;
+
+		private Columns(int capacity) {
+			eventId = new long[capacity];
+			locationId = new long[capacity];
+			eventSectorId = new long[capacity];
+			day = new int[capacity];
+			eventType = new byte[capacity];
+			price = new double[capacity];
+			state = new byte[capacity];
+		}
+
+		private Columns(Columns c, int capacity) {
+			eventId = Arrays.copyOf(c.eventId, capacity);
+			locationId = Arrays.copyOf(c.locationId, capacity);
+			eventSectorId = Arrays.copyOf(c.eventSectorId, capacity);
+			day = Arrays.copyOf(c.day, capacity);
+			eventType = Arrays.copyOf(c.eventType, capacity);
+			price = Arrays.copyOf(c.price, capacity);
+			state = Arrays.copyOf(c.state, capacity);
+		}
+
+		private int capacity() {
+			return price.length;
+		}
+	}
+
+	/*
+	 * Uslovi upita. Nepostavljen uslov (null, odnosno Integer.MIN_VALUE/MAX_VALUE za dane)
+	 * propusta sve karte; otkazane karte se ne broje ako nisu izricito trazene.
+	 */
+	public static class Filter {
+		private int fromDay = Integer.MIN_VALUE;
+		private int toDay = Integer.MAX_VALUE;
+		private Long eventId;
+		private Long locationId;
+		private int eventType = -1;
+		private int states = (1 << RESERVED) | (1 << PURCHASED);
+
+		public Filter days(int fromDay, int toDay) {
+			this.fromDay = fromDay;
+			this.toDay = toDay;
+			return this;
+		}
+
+		public Filter event(Long eventId) {
+			this.eventId = eventId;
+			return this;
+		}
+
+		public Filter location(Long locationId) {
+			this.locationId = locationId;
+			return this;
+		}
+
+		public Filter eventType(int eventType) {
+			this.eventType = eventType;
+			return this;
+		}
+
+		public Filter states(byte... states) {
+			this.states = 0;
+			for (byte s : states) {
+				this.states |= 1 << s;
+			}
+			return this;
+		}
+	}
+
+	// rezultat grupisanja: kljuc grupe -> {broj karata, zbir cena}
+	public static class Groups {
+		private final Map<Long, double[]> groups = new HashMap<>();
+
+		private void add(long key, double price) {
+			double[] g = groups.get(key);
+			if (g == null) {
+				g = new double[2];
+				groups.put(key, g);
+			}
+			g[0]++;
+			g[1] += price;
+		}
+
+		private Groups merge(Groups other) {
+			for (Map.Entry<Long, double[]> e : other.groups.entrySet()) {
+				double[] g = groups.putIfAbsent(e.getKey(), e.getValue());
+				if (g != null) {
+					g[0] += e.getValue()[0];
+					g[1] += e.getValue()[1];
+				}
+			}
+			return this;
+		}
+
+		public Map<Long, double[]> asMap() {
+			return groups;
+		}
+	}
+
+	private final Object writeLock = new Object();
+	// id karte -> red, menja se samo pod bravom
+	private final Map<Long, Integer> rows = new HashMap<>();
+	private volatile Columns columns = new Columns(1024);
+	private volatile int size;
+
+	// nova karta, ili izmena postojece ako je karta vec upisana
+	public void append(long ticketId, long eventId, long locationId, long eventSectorId, int day, int eventType,
+			double price, byte state) {
+		synchronized (writeLock) {
+			Integer row = rows.get(ticketId);
+			int i = row != null ? row : size;
+			Columns c = columns;
+			if (i == c.capacity()) {
+				c = new Columns(c, c.capacity() * 2);
+				columns = c;
+			}
+			c.eventId[i] = eventId;
+			c.locationId[i] = locationId;
+			c.eventSectorId[i] = eventSectorId;
+			c.day[i] = day;
+			c.eventType[i] = (byte) eventType;
+			c.price[i] = price;
+			c.state[i] = state;
+			if (row == null) {
+				rows.put(ticketId, i);
+				size = i + 1;
+			}
+		}
+	}
+
+	// vraca false ako karta nije upisana
+	public boolean setState(long ticketId, byte state) {
+		synchronized (writeLock) {
+			Integer row = rows.get(ticketId);
+			if (row == null) {
+				return false;
+			}
+			columns.state[row] = state;
+			return true;
+		}
+	}
+
+	public void clear() {
+		synchronized (writeLock) {
+			rows.clear();
+			columns = new Columns(1024);
+			size = 0;
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Groups groupBy(Dimension dimension, Filter filter) {
+		// broj redova se cita pre nizova, pa su nizovi sigurno dovoljno dugi
+		int n = size;
+		Columns c = columns;
+		if (n < SPLIT) {
+			return scan(c, dimension, filter, 0, n);
+		}
+		return ForkJoinPool.commonPool().invoke(new ScanTask(c, dimension, filter, 0, n));
+	}
+
+	private static final class ScanTask extends RecursiveTask<Groups> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient Columns c;
+		private final Dimension dimension;
+		private final transient Filter filter;
+		private final int from;
+		private final int to;
+
+		private ScanTask(Columns c, Dimension dimension, Filter filter, int from, int to) {
+			this.c = c;
+			this.dimension = dimension;
+			this.filter = filter;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Groups compute() {
+			if (to - from <= SPLIT) {
+				return scan(c, dimension, filter, from, to);
+			}
+			int mid = (from + to) >>> 1;
+			ScanTask left = new ScanTask(c, dimension, filter, from, mid);
+			left.fork();
+			Groups right = new ScanTask(c, dimension, filter, mid, to).compute();
+			return left.join().merge(right);
+		}
+	}
+
+	private static Groups scan(Columns c, Dimension dimension, Filter f, int from, int to) {
+		Groups groups = new Groups();
+		// dimenzije sa malo vrednosti se sabiraju u nizove, bez mape
+		int small = smallCardinality(dimension);
+		double[] counts = small > 0 ? new double[small] : null;
+		double[] sums = small > 0 ? new double[small] : null;
+		// uslovi u lokalnim promenljivim, da petlja ne otpakuje Long za svaki red
+		int states = f.states;
+		int fromDay = f.fromDay;
+		int toDay = f.toDay;
+		boolean byEvent = f.eventId != null;
+		long eventId = byEvent ? f.eventId : 0;
+		boolean byLocation = f.locationId != null;
+		long locationId = byLocation ? f.locationId : 0;
+		int eventType = f.eventType;
+		for (int i = from; i < to; i++) {
+			if ((states & (1 << c.state[i])) == 0 || c.day[i] < fromDay || c.day[i] > toDay
+					|| (byEvent && c.eventId[i] != eventId) || (byLocation && c.locationId[i] != locationId)
+					|| (eventType >= 0 && c.eventType[i] != eventType)) {
+				continue;
+			}
+			if (small > 0) {
+				int k = (int) key(c, dimension, i) + 1;
+				counts[k]++;
+				sums[k] += c.price[i];
+			} else {
+				groups.add(key(c, dimension, i), c.price[i]);
+			}
+		}
+		for (int k = 0; small > 0 && k < small; k++) {
+			if (counts[k] > 0) {
+				groups.groups.put((long) k - 1, new double[] { counts[k], sums[k] });
+			}
+		}
+		return groups;
+	}
+
+	// broj mogucih kljuceva (pomerenih za 1 zbog tipa -1) ili 0 za id-jeve i dane
+	private static int smallCardinality(Dimension dimension) {
+		switch (dimension) {
+		case EVENT_TYPE:
+			return Byte.MAX_VALUE + 2;
+		case DAY_OF_WEEK:
+			return 8;
+		case STATE:
+			return 4;
+		default:
+			return 0;
+		}
+	}
+
+	private static long key(Columns c, Dimension dimension, int i) {
+		switch (dimension) {
+		case EVENT:
+			return c.eventId[i];
+		case LOCATION:
+			return c.locationId[i];
+		case EVENT_SECTOR:
+			return c.eventSectorId[i];
+		case EVENT_TYPE:
+			return c.eventType[i];
+		case DAY:
+			return c.day[i];
+		case DAY_OF_WEEK:
+			// 1.1.1970 je bio cetvrtak, 0 je ponedeljak
+			return Math.floorMod(c.day[i] + 3, 7);
+		default:
+			return c.state[i];
+		}
+	}
+}
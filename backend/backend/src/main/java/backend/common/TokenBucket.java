@@ -0,0 +1,50 @@
+package backend.common;
+
+/*
+ * Token bucket: tokeni se dopunjuju brzinom rate po sekundi, najvise do burst.
+ * Dopuna se racuna pri svakom uzimanju, pa nije potrebna posebna nit.
+ */
+public class TokenBucket {
+
+	private final double ratePerNano;
+	private final double burst;
+	private double tokens;
+	private long lastRefill;
+
+	public TokenBucket(double ratePerSecond, double burst) {
+		if (ratePerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+		}
+		this.ratePerNano = ratePerSecond / 1e9;
+		this.burst = burst;
+		this.tokens = burst;
+		this.lastRefill = System.nanoTime();
+	}
+
+	public synchronized boolean tryAcquire() {
+		return takeUpTo(1, System.nanoTime()) == 1;
+	}
+
+	// uzima najvise max celih tokena i vraca koliko je uzeto
+	public synchronized long takeUpTo(long max) {
+		return takeUpTo(max, System.nanoTime());
+	}
+
+	synchronized long takeUpTo(long max, long now) {
+		refill(now);
+		long taken = (long) Math.min(Math.floor(tokens), Math.max(0, max));
+		tokens -= taken;
+		return taken;
+	}
+
+	public double getRatePerSecond() {
+		return ratePerNano * 1e9;
+	}
+
+	private void refill(long now) {
+		if (now > lastRefill) {
+			tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+			lastRefill = now;
+		}
+	}
+}
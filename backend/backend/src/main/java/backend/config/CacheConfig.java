@@ -0,0 +1,78 @@
+package backend.config;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import backend.common.BoundedCache;
+
+/*
+ * Regioni kesa za @Cacheable: grafikoni, sistemske informacije, katalog (projekcije
+ * dogadjaja bez karata) i pretrage koje se ne menjaju. Velicina regiona je zbir tezina unosa
+ * (vidi BoundedCache). Sa cache.enabled=false nista se ne cuva.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig extends CachingConfigurerSupport {
+
+	public static final String CHARTS = "charts";
+	public static final String SYSINFO = "sysinfo";
+	public static final String CATALOG = "catalog";
+	public static final String LOOKUPS = "lookups";
+
+	@Value("${cache.enabled:true}")
+	private boolean enabled;
+
+	@Value("${cache.charts.size:10000}")
+	private long chartsSize;
+
+	@Value("${cache.charts.ttl.seconds:300}")
+	private long chartsTtl;
+
+	@Value("${charts.sysinfo.ttl.seconds:10}")
+	private long sysinfoTtl;
+
+	@Value("${cache.catalog.size:50000}")
+	private long catalogSize;
+
+	@Value("${cache.catalog.ttl.seconds:60}")
+	private long catalogTtl;
+
+	@Value("${cache.lookups.size:100000}")
+	private long lookupsSize;
+
+	@Value("${cache.lookups.ttl.seconds:3600}")
+	private long lookupsTtl;
+
+	@Bean
+	@Override
+	public CacheManager cacheManager() {
+		if (!enabled) {
+			return new NoOpCacheManager();
+		}
+		SimpleCacheManager manager = new SimpleCacheManager();
+		manager.setCaches(Arrays.asList(
+				new BoundedCache(CHARTS, chartsSize, TimeUnit.SECONDS.toMillis(chartsTtl)),
+				new BoundedCache(SYSINFO, 10, TimeUnit.SECONDS.toMillis(sysinfoTtl)),
+				new BoundedCache(CATALOG, catalogSize, TimeUnit.SECONDS.toMillis(catalogTtl)),
+				new BoundedCache(LOOKUPS, lookupsSize, TimeUnit.SECONDS.toMillis(lookupsTtl))));
+		return manager;
+	}
+
+	// metode bez parametara u istom regionu ne smeju imati isti kljuc
+	@Bean
+	@Override
+	public KeyGenerator keyGenerator() {
+		return (target, method, params) -> new SimpleKey(method.getName(), new SimpleKey(params));
+	}
+}
@@ -0,0 +1,49 @@
+package backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import backend.dto.CacheStatsDTO;
+import backend.dto.EntityCacheStatsDTO;
+import backend.exceptions.ResourceNotFoundException;
+import backend.service.CacheService;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+	@Autowired
+	CacheService cacheService;
+
+	/* size, hit/miss and eviction counts of every cache region */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN')")
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+		return ResponseEntity.ok().body(cacheService.stats());
+	}
+
+	/* size and hit/miss counts of every hibernate second-level cache region */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN')")
+	@GetMapping(value = "/entity", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<EntityCacheStatsDTO>> getEntityCacheStats() {
+		return ResponseEntity.ok().body(cacheService.entityStats());
+	}
+
+	/* emptying one cache region */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN')")
+	@DeleteMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<String> clearCache(@PathVariable(value = "name") String name)
+			throws ResourceNotFoundException {
+		cacheService.clear(name);
+		return ResponseEntity.ok().body("Cache " + name + " cleared");
+	}
+}
@@ -9,19 +9,29 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import backend.dto.charts.AnalyticsFilterDTO;
+import backend.dto.charts.AnalyticsGroupDTO;
+import backend.dto.charts.BuyerOverlapDTO;
+import backend.dto.charts.BuyerStatsDTO;
 import backend.dto.charts.ChartEventTicketsSoldDTO;
 import backend.dto.charts.ChartIncomeEventsDTO;
 import backend.dto.charts.ChartIncomeLocationsDTO;
 import backend.dto.charts.ChartLocationTicketsSoldDTO;
 import backend.dto.charts.DateIntervalDTO;
+import backend.dto.charts.SalesCounterMismatchDTO;
 import backend.dto.charts.SystemInformationsDTO;
 import backend.exceptions.BadRequestException;
+import backend.model.SalesScope;
+import backend.service.BuyerAnalyticsService;
 import backend.service.ChartService;
+import backend.service.SalesCounterService;
+import backend.service.TicketAnalyticsService;
 
 @RestController
 @RequestMapping("/api/charts")
@@ -30,6 +40,15 @@ public class ChartController {
 	@Autowired
 	ChartService chartService;
 
+	@Autowired
+	SalesCounterService salesCounterService;
+
+	@Autowired
+	TicketAnalyticsService ticketAnalyticsService;
+
+	@Autowired
+	BuyerAnalyticsService buyerAnalyticsService;
+
 	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN')")
 	@GetMapping(path = "/sysinfo", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<SystemInformationsDTO> getSysInfo() {
@@ -146,4 +165,77 @@ public class ChartController {
 
 	}
 
+	/* rebuilding sales counters from tickets, only if they went out of sync */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN')")
+	@PutMapping(path = "/counters/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Integer> rebuildSalesCounters() {
+		return ResponseEntity.ok().body(salesCounterService.rebuild());
+	}
+
+	/* sales counters that differ from tickets, empty if consistent */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN')")
+	@GetMapping(path = "/counters/check", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<SalesCounterMismatchDTO>> checkSalesCounters() {
+		return ResponseEntity.ok().body(salesCounterService.check());
+	}
+
+	/* tickets grouped by event, location, event_sector, event_type, day, day_of_week or state */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN', 'ROLE_ADMIN')")
+	@PutMapping(path = "/analytics/{dimension}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<AnalyticsGroupDTO>> getAnalytics(
+			@PathVariable(value = "dimension") String dimension,
+			@RequestBody(required = false) AnalyticsFilterDTO filter) throws BadRequestException {
+		return ResponseEntity.ok().body(ticketAnalyticsService.groupBy(dimension, filter));
+	}
+
+	/* reloading the in-memory analytics from tickets */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN')")
+	@PutMapping(path = "/analytics/reload", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Integer> reloadAnalytics() {
+		return ResponseEntity.ok().body(ticketAnalyticsService.reload());
+	}
+
+	/* estimated unique buyers and repeat rate of an event */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN', 'ROLE_ADMIN')")
+	@GetMapping(path = "/buyers/event/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<BuyerStatsDTO> getEventBuyers(@PathVariable(value = "id") Long eventId) {
+		return ResponseEntity.ok().body(buyerAnalyticsService.stats(SalesScope.EVENT, eventId));
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN', 'ROLE_ADMIN')")
+	@PutMapping(path = "/buyers/event/{id}/interval", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<BuyerStatsDTO> getEventBuyers(@PathVariable(value = "id") Long eventId,
+			@Valid @RequestBody DateIntervalDTO interval) throws BadRequestException {
+		return ResponseEntity.ok().body(buyerAnalyticsService.stats(SalesScope.EVENT, eventId, interval));
+	}
+
+	/* estimated unique buyers and repeat rate of a location */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN', 'ROLE_ADMIN')")
+	@GetMapping(path = "/buyers/location/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<BuyerStatsDTO> getLocationBuyers(@PathVariable(value = "id") Long locationId) {
+		return ResponseEntity.ok().body(buyerAnalyticsService.stats(SalesScope.LOCATION, locationId));
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN', 'ROLE_ADMIN')")
+	@PutMapping(path = "/buyers/location/{id}/interval", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<BuyerStatsDTO> getLocationBuyers(@PathVariable(value = "id") Long locationId,
+			@Valid @RequestBody DateIntervalDTO interval) throws BadRequestException {
+		return ResponseEntity.ok().body(buyerAnalyticsService.stats(SalesScope.LOCATION, locationId, interval));
+	}
+
+	/* estimated buyers that bought tickets for both events */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN', 'ROLE_ADMIN')")
+	@GetMapping(path = "/buyers/overlap/{first}/{second}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<BuyerOverlapDTO> getBuyerOverlap(@PathVariable(value = "first") Long firstEventId,
+			@PathVariable(value = "second") Long secondEventId) {
+		return ResponseEntity.ok().body(buyerAnalyticsService.overlap(firstEventId, secondEventId));
+	}
+
+	/* rebuilding buyer estimates from reservations, drops canceled ones */
+	@PreAuthorize("hasAnyRole('ROLE_SYS_ADMIN')")
+	@PutMapping(path = "/buyers/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Integer> rebuildBuyerSketches() {
+		return ResponseEntity.ok().body(buyerAnalyticsService.rebuild());
+	}
+
 }
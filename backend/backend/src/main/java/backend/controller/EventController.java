@@ -1,6 +1,7 @@
 package backend.controller;
 import java.io.IOException;
 //can copypaste everywhere
+import java.util.Date;
 import java.util.List;
 
 import javax.validation.Valid;
@@ -8,6 +9,8 @@ import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,14 +24,27 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import backend.converters.EventConverter;
+import backend.dto.CursorPageDTO;
 import backend.dto.EventDTO;
+import backend.dto.EventDetailsDTO;
+import backend.dto.EventNearDTO;
+import backend.dto.EventSearchResultDTO;
+import backend.dto.EventSummaryDTO;
 import backend.dto.EventUpdateDTO;
 import backend.dto.UrlDTO;
+import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Event;
+import backend.model.EventType;
+import backend.service.CatalogSnapshotService;
+import backend.service.CatalogVersionService;
+import backend.service.CatalogVersionService.Aggregate;
+import backend.service.EventGeoService;
+import backend.service.EventSearchService;
 import backend.service.EventService;
 import backend.service.FileUploadService;
 
@@ -46,6 +62,21 @@ public class EventController {
 
 	@Autowired
 	EventConverter eventConverter;
+
+	@Autowired
+	EventSearchService eventSearchService;
+
+	@Autowired
+	EventGeoService eventGeoService;
+
+	@Autowired
+	CatalogVersionService catalogVersionService;
+
+	@Autowired
+	CatalogSnapshotService catalogSnapshotService;
+
+	// katalog ne sadrzi karte, pa ne zavisi od prodaje
+	private static final Aggregate[] CATALOG = { Aggregate.EVENT, Aggregate.LOCATION, Aggregate.SECTOR };
 	/* saving event */
 	
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SYS_ADMIN')")
@@ -58,21 +89,80 @@ public class EventController {
 
 	/* get all events, permitted for all */
 	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<List<Event>> getAllEventes() {
-		return new ResponseEntity<>(eventService.findAll(), HttpStatus.OK);
+	public ResponseEntity<List<Event>> getAllEventes(WebRequest request) {
+		return catalogVersionService.conditional(request, () -> eventService.findAll(), Aggregate.values());
 	}
 	
 	/* get all active events, permitted for all */
 	@GetMapping(value = "/active", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<List<Event>> getAllActiveEvents() {
-		return new ResponseEntity<>(eventService.findAllNotDeleted(), HttpStatus.OK);
+	public ResponseEntity<byte[]> getAllActiveEvents(WebRequest request) {
+		return catalogVersionService.conditional(request, () -> catalogSnapshotService.activeEvents(), CATALOG);
+	}
+
+	/* rebuild the public catalog snapshot from the database */
+	@PreAuthorize("hasRole('ROLE_SYS_ADMIN')")
+	@PutMapping(value = "/snapshot/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Integer> rebuildSnapshot() {
+		return new ResponseEntity<>(catalogSnapshotService.rebuild(), HttpStatus.OK);
+	}
+
+	/* get a page of active events ordered by start date, permitted for all */
+	@GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<CursorPageDTO<EventSummaryDTO>> getEventPage(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false) Integer size, WebRequest request)
+			throws BadRequestException {
+		return catalogVersionService.conditional(request, () -> eventService.findSummaryPage(cursor, size), CATALOG);
+	}
+
+	/* search active events by text with type, city and start date filters, permitted for all */
+	@GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<EventSearchResultDTO> searchEvents(
+			@RequestParam(value = "q", required = false) String text,
+			@RequestParam(value = "type", required = false) EventType type,
+			@RequestParam(value = "city", required = false) String city,
+			@RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) Date from,
+			@RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) Date to,
+			@RequestParam(value = "size", required = false) Integer size, WebRequest request)
+			throws BadRequestException {
+		return catalogVersionService.conditional(request,
+				() -> eventSearchService.search(text, type, city, from, to, size), CATALOG);
+	}
+
+	/* rebuild the search index from the database */
+	@PreAuthorize("hasRole('ROLE_SYS_ADMIN')")
+	@PutMapping(value = "/search/reindex", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Integer> reindexEvents() {
+		return new ResponseEntity<>(eventSearchService.rebuild(), HttpStatus.OK);
+	}
+
+	/* get upcoming events ordered by distance from the given point, permitted for all */
+	@GetMapping(value = "/near", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<EventNearDTO>> getEventsNear(@RequestParam(value = "lat") Double lat,
+			@RequestParam(value = "lon") Double lon,
+			@RequestParam(value = "radius", required = false) Double radiusKm,
+			@RequestParam(value = "size", required = false) Integer size) throws BadRequestException {
+		return new ResponseEntity<>(eventGeoService.near(lat, lon, radiusKm, size), HttpStatus.OK);
+	}
+
+	/* get active events without sectors, days and tickets, permitted for all */
+	@GetMapping(value = "/catalog", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<EventSummaryDTO>> getCatalog(WebRequest request) {
+		return catalogVersionService.conditional(request, () -> eventService.findAllSummaries(), CATALOG);
+	}
+
+	/* get an active event with its sectors and days, without tickets, permitted for all */
+	@GetMapping(value = "/catalog/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<EventDetailsDTO> getCatalogEvent(
+			@PathVariable(value = "id") Long eventId, WebRequest request) throws ResourceNotFoundException {
+		return catalogVersionService.conditional(request, () -> eventService.findDetails(eventId), CATALOG);
 	}
 
 	/* get an event by id, permitted for all */
 	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Event> getEvent(
-			@PathVariable(value = "id") Long eventId) throws ResourceNotFoundException {
-		return new ResponseEntity<>(eventService.findOneNotDeleted(eventId), HttpStatus.OK);
+	public ResponseEntity<byte[]> getEvent(
+			@PathVariable(value = "id") Long eventId, WebRequest request) throws ResourceNotFoundException {
+		return catalogVersionService.conditional(request, () -> catalogSnapshotService.event(eventId), CATALOG);
 	}
 	
 	/* update event by id */
@@ -20,12 +20,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import backend.converters.HallConverter;
 import backend.dto.HallDTO;
 import backend.dto.HallUpdateDTO;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Hall;
+import backend.service.CatalogVersionService;
+import backend.service.CatalogVersionService.Aggregate;
 import backend.service.HallService;
 import backend.service.LocationService;
 
@@ -42,6 +45,12 @@ public class HallController {
 
 	@Autowired
 	HallConverter hallConverter;
+
+	@Autowired
+	CatalogVersionService catalogVersionService;
+
+	// sala se serijalizuje sa lokacijom i sektorima
+	private static final Aggregate[] VENUES = { Aggregate.LOCATION, Aggregate.HALL, Aggregate.SECTOR };
 	
 	/* saving hall */
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SYS_ADMIN')")
@@ -53,16 +62,15 @@ public class HallController {
 
 	/* get all halls, permitted for all */
 	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public List<Hall> getAllHalls() {
-		return hallService.findAllNotDeleted();
+	public ResponseEntity<List<Hall>> getAllHalls(WebRequest request) {
+		return catalogVersionService.conditional(request, () -> hallService.findAllNotDeleted(), VENUES);
 	}
 
 	/* get an hall by id, permitted for all */
 	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Hall> getHall(@PathVariable(value = "id") Long hallId) throws ResourceNotFoundException {
-		Hall hall = hallService.findOneNotDeleted(hallId);
-
-		return new ResponseEntity<>(hall, HttpStatus.OK);
+	public ResponseEntity<Hall> getHall(@PathVariable(value = "id") Long hallId, WebRequest request)
+			throws ResourceNotFoundException {
+		return catalogVersionService.conditional(request, () -> hallService.findOneNotDeleted(hallId), VENUES);
 	}
 
 	/* update hall by id */
@@ -2,7 +2,6 @@ package backend.controller;
 
 
 import java.util.Date;
-import java.util.List;
 
 import javax.validation.Valid;
 
@@ -23,6 +22,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import backend.converters.LocationConverter;
 import backend.dto.LocationDTO;
@@ -31,6 +31,9 @@ import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.exceptions.SavingException;
 import backend.model.Location;
+import backend.service.CatalogSnapshotService;
+import backend.service.CatalogVersionService;
+import backend.service.CatalogVersionService.Aggregate;
 import backend.service.AddressService;
 import backend.service.LocationService;
 
@@ -47,6 +50,15 @@ public class LocationController {
 
 	@Autowired
 	LocationConverter locationConverter;
+
+	@Autowired
+	CatalogVersionService catalogVersionService;
+
+	@Autowired
+	CatalogSnapshotService catalogSnapshotService;
+
+	// lokacije se salju sa salama, a sale sa sektorima
+	private static final Aggregate[] VENUES = { Aggregate.LOCATION, Aggregate.HALL, Aggregate.SECTOR };
 	
 	/* saving location */
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SYS_ADMIN')")
@@ -59,8 +71,8 @@ public class LocationController {
 
 	/* get all locations, permitted for all */
 	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<List<Location>> getAllLocations() {
-		return new ResponseEntity<>(locationService.findAllNotDeleted(), HttpStatus.OK);
+	public ResponseEntity<byte[]> getAllLocations(WebRequest request) {
+		return catalogVersionService.conditional(request, () -> catalogSnapshotService.locations(), VENUES);
 	}
 	/*
 	@GetMapping(value="/page", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -72,9 +84,9 @@ public class LocationController {
 
 	/* get a location by id, permitted for all */
 	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Location> getLocation(
-			@PathVariable(value = "id") Long locationId) throws ResourceNotFoundException {
-		return new ResponseEntity<>(locationService.findOneNotDeleted(locationId), HttpStatus.OK);
+	public ResponseEntity<byte[]> getLocation(
+			@PathVariable(value = "id") Long locationId, WebRequest request) throws ResourceNotFoundException {
+		return catalogVersionService.conditional(request, () -> catalogSnapshotService.location(locationId), VENUES);
 	}
 
 	/* update location by id */
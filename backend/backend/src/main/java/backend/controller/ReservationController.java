@@ -1,5 +1,6 @@
 package backend.controller;
 
+import java.net.URI;
 import java.security.Principal;
 //can copypaste everywhere
 import java.util.List;
@@ -16,14 +17,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import backend.dto.BestSeatsDTO;
+import backend.dto.CursorPageDTO;
 import backend.dto.ReservationDTO;
+import backend.dto.ReservationRequestDTO;
 import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Reservation;
+import backend.service.AsyncReservationService;
+import backend.service.IdempotencyService;
 import backend.service.ReservationService;
+import backend.service.SeatHoldService;
+import backend.service.WaitingRoomService;
 
 @RestController
 @RequestMapping("/api/reservation")
@@ -33,15 +43,83 @@ public class ReservationController {
 	@Autowired
 	ReservationService reservationService;
 
+	@Autowired
+	SeatHoldService seatHoldService;
+
+	@Autowired
+	WaitingRoomService waitingRoomService;
+
+	@Autowired
+	IdempotencyService idempotencyService;
+
+	@Autowired
+	AsyncReservationService asyncReservationService;
+
 	/* saving address */
 	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
 	@PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<Reservation> createReservation(
-			@Valid @RequestBody ReservationDTO reservationDTO, Principal user) throws BadRequestException, ResourceNotFoundException {
+			@Valid @RequestBody ReservationDTO reservationDTO, Principal user,
+			@RequestHeader(value = "X-Admission-Token", required = false) String admission,
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) throws BadRequestException, ResourceNotFoundException {
 		// provere: max selektovanih sedista, validnost podataka iz dto
 		// validno sediste
+		waitingRoomService.checkAdmission(reservationDTO.getEventDay_id(), admission, user.getName());
+
+		return new ResponseEntity<>(idempotencyService.createReservation(reservationDTO, user.getName(), idempotencyKey), HttpStatus.OK);
+	}
+
+	/* queueing a reservation, the result is read from the returned status url */
+	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
+	@PostMapping(value = "async", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ReservationRequestDTO> createReservationAsync(
+			@Valid @RequestBody ReservationDTO reservationDTO, Principal user,
+			@RequestHeader(value = "X-Admission-Token", required = false) String admission) throws BadRequestException, ResourceNotFoundException {
+		waitingRoomService.checkAdmission(reservationDTO.getEventDay_id(), admission, user.getName());
+		ReservationRequestDTO request = asyncReservationService.submit(reservationDTO, user.getName());
+		return ResponseEntity.accepted().location(URI.create(request.getStatusUrl())).body(request);
+	}
+
+	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
+	@GetMapping(value = "async/{requestId}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ReservationRequestDTO> getAsyncStatus(@PathVariable(value = "requestId") String requestId,
+			Principal user) throws ResourceNotFoundException {
+		return new ResponseEntity<>(asyncReservationService.status(requestId, user.getName()), HttpStatus.OK);
+	}
+
+	/* reserving n adjacent seats chosen by the server */
+	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
+	@PostMapping(value = "best", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Reservation> createBestAvailable(
+			@Valid @RequestBody BestSeatsDTO bestSeatsDTO, Principal user,
+			@RequestHeader(value = "X-Admission-Token", required = false) String admission) throws BadRequestException, ResourceNotFoundException {
+		waitingRoomService.checkAdmission(bestSeatsDTO.getEventDay_id(), admission, user.getName());
+		return new ResponseEntity<>(reservationService.createBestAvailable(bestSeatsDTO, user.getName()), HttpStatus.OK);
+	}
+
+	/* holding seats for a limited time, released automatically if not confirmed */
+	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
+	@PostMapping(value = "hold", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Reservation> holdSeats(
+			@Valid @RequestBody ReservationDTO reservationDTO, Principal user,
+			@RequestHeader(value = "X-Admission-Token", required = false) String admission) throws BadRequestException, ResourceNotFoundException {
+		waitingRoomService.checkAdmission(reservationDTO.getEventDay_id(), admission, user.getName());
+		return new ResponseEntity<>(seatHoldService.hold(reservationDTO, user.getName()), HttpStatus.CREATED);
+	}
 
-		return new ResponseEntity<>(reservationService.createReservation(reservationDTO, user.getName()), HttpStatus.OK);
+	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
+	@PutMapping(value = "hold/confirm/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Reservation> confirmHold(@PathVariable(value = "id") Long reservationId,
+			@RequestParam(value = "purchased", defaultValue = "false") boolean purchased, Principal user)
+			throws BadRequestException, ResourceNotFoundException {
+		return new ResponseEntity<>(seatHoldService.confirm(reservationId, user.getName(), purchased), HttpStatus.OK);
+	}
+
+	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
+	@PutMapping(value = "hold/release/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Reservation> releaseHold(@PathVariable(value = "id") Long reservationId, Principal user)
+			throws BadRequestException, ResourceNotFoundException {
+		return new ResponseEntity<>(seatHoldService.release(reservationId, user.getName()), HttpStatus.OK);
 	}
 
 	/* get all reservations, permitted for all */
@@ -51,6 +129,14 @@ public class ReservationController {
 		return reservationService.findAll();
 	}
 
+	/* get a page of reservations ordered by id, permitted for all */
+	@GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<CursorPageDTO<Reservation>> getReservationPage(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false) Integer size) throws BadRequestException {
+		return new ResponseEntity<>(reservationService.findPage(cursor, size), HttpStatus.OK);
+	}
+
 	//Nema smisla jer nema logicko brisanje
 	/* get all addresses, permitted for all */ 
 	/*
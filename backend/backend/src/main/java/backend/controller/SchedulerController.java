@@ -38,6 +38,20 @@ public class SchedulerController {
 			logger.error("ERROR while deleting unbought reservations!");
 		}
 		
+		try {
+			int deleted = schedulerService.deleteExpiredIdempotencyKeys();
+			logger.info("Deleting {} expired idempotency keys COMPLETED", deleted);
+		} catch (Exception e) {
+			logger.error("ERROR while deleting expired idempotency keys!");
+		}
+		
+		try {
+			int buckets = schedulerService.rollupDailySales();
+			logger.info("Daily sales rollup of {} buckets COMPLETED", buckets);
+		} catch (Exception e) {
+			logger.error("ERROR while rolling up daily sales!");
+		}
+		
 		try {
 			schedulerService.sendEventReminders();
 			logger.info("Sending event reminders for users COMPLETED!");
@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import backend.converters.SectorConverter;
 import backend.dto.SectorDTO;
@@ -28,6 +29,8 @@ import backend.exceptions.ResourceNotFoundException;
 import backend.model.Sector;
 import backend.model.SittingSector;
 import backend.model.StandingSector;
+import backend.service.CatalogVersionService;
+import backend.service.CatalogVersionService.Aggregate;
 import backend.service.SectorService;
 
 @RestController
@@ -39,6 +42,12 @@ public class SectorController {
 
 	@Autowired
 	SectorConverter sectorConverter;
+
+	@Autowired
+	CatalogVersionService catalogVersionService;
+
+	// sektor se serijalizuje sa salom i njenom lokacijom
+	private static final Aggregate[] VENUES = { Aggregate.LOCATION, Aggregate.HALL, Aggregate.SECTOR };
 	
 	/* saving sector */
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SYS_ADMIN')")
@@ -55,15 +64,15 @@ public class SectorController {
 
 	/* get all sectors, permitted for all */
 	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public List<Sector> getAllSectors() {
-		return sectorService.findAllNotDeleted();
+	public ResponseEntity<List<Sector>> getAllSectors(WebRequest request) {
+		return catalogVersionService.conditional(request, () -> sectorService.findAllNotDeleted(), VENUES);
 	}
 
 	/* get a sector by id, permitted for all */
 	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<?> getSector(@PathVariable(value = "id") Long sectorId) throws ResourceNotFoundException {
-		Sector sector = sectorService.findOneNotDeleted(sectorId);
-		return new ResponseEntity<>(sector, HttpStatus.OK);
+	public ResponseEntity<?> getSector(@PathVariable(value = "id") Long sectorId, WebRequest request)
+			throws ResourceNotFoundException {
+		return catalogVersionService.conditional(request, () -> sectorService.findOneNotDeleted(sectorId), VENUES);
 	}
 
 	/* update sector by id */
@@ -5,17 +5,25 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import backend.dto.CursorPageDTO;
+import backend.dto.EventDayAvailabilityDTO;
 import backend.dto.SimpleTicketDTO;
+import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Ticket;
+import backend.service.AvailabilityService;
 import backend.service.EventDayService;
 import backend.service.EventSectorService;
+import backend.service.SeatDeltaService;
 import backend.service.TicketService;
 
 @RestController
@@ -32,6 +40,12 @@ public class TicketController {
 	@Autowired
 	EventSectorService eventSectorService;
 
+	@Autowired
+	AvailabilityService availabilityService;
+
+	@Autowired
+	SeatDeltaService seatDeltaService;
+
 
 	/* get all tickets, permitted for all */
 	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
@@ -45,6 +59,14 @@ public class TicketController {
 		return ticketsDTO;
 	}
 
+	/* get a page of tickets ordered by id, permitted for all */
+	@GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<CursorPageDTO<SimpleTicketDTO>> getTicketPage(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false) Integer size) throws BadRequestException {
+		return new ResponseEntity<>(tisketService.findPage(cursor, size), HttpStatus.OK);
+	}
+
 	/* get all tickets, permitted for all */
 	@GetMapping(value = "/{ed_id}/{es_id}", produces = MediaType.APPLICATION_JSON_VALUE)
 	public List<SimpleTicketDTO> getAllTicketsEventDayIDEventSectorID(@PathVariable(value = "ed_id") Long ed_id, @PathVariable(value = "es_id") Long es_id) {
@@ -57,6 +79,20 @@ public class TicketController {
 		return ticketsDTO;
 	}
 	
+	/* free and total places of every sector of an event day, permitted for all */
+	@GetMapping(value = "/availability/{ed_id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<EventDayAvailabilityDTO> getAvailability(@PathVariable(value = "ed_id") Long ed_id)
+			throws ResourceNotFoundException {
+		return ResponseEntity.ok().body(availabilityService.getAvailability(ed_id));
+	}
+
+	/* live seat changes of one sector as server-sent events, permitted for all */
+	@GetMapping(value = "/stream/{ed_id}/{es_id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamSeatChanges(@PathVariable(value = "ed_id") Long ed_id,
+			@PathVariable(value = "es_id") Long es_id) {
+		return seatDeltaService.subscribe(ed_id, es_id);
+	}
+
 	/* get an tickets by id, permitted for all */
 	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<SimpleTicketDTO> getTicket(
@@ -18,6 +18,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import backend.dto.CursorPageDTO;
+import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.User;
 import backend.service.FileUploadService;
@@ -54,6 +56,13 @@ public class UserController {
 		return this.userService.findAll();
 	}
 
+	@GetMapping("/user/page")
+	@PreAuthorize("hasRole('ROLE_ADMIN')")
+	public ResponseEntity<CursorPageDTO<User>> loadPage(@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false) Integer size) throws BadRequestException {
+		return new ResponseEntity<>(this.userService.findPage(cursor, size), HttpStatus.OK);
+	}
+
 	@RequestMapping("/whoami")
 	//@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
 	public User user(Principal user) {
@@ -0,0 +1,62 @@
+package backend.controller;
+
+import java.security.Principal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import backend.dto.QueueStatusDTO;
+import backend.exceptions.BadRequestException;
+import backend.service.WaitingRoomService;
+
+@RestController
+@RequestMapping("/api/queue")
+public class WaitingRoomController {
+
+	@Autowired
+	WaitingRoomService waitingRoomService;
+
+	/* opening waiting room for an event, rate is number of admitted users per second */
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SYS_ADMIN')")
+	@PutMapping(value = "/{eventId}/open", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<String> openWaitingRoom(@PathVariable(value = "eventId") Long eventId,
+			@RequestParam(value = "rate", required = false) Double rate,
+			@RequestParam(value = "burst", required = false) Integer burst) throws BadRequestException {
+		waitingRoomService.open(eventId, rate, burst);
+		return new ResponseEntity<>("Waiting room opened", HttpStatus.OK);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SYS_ADMIN')")
+	@PutMapping(value = "/{eventId}/close", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<String> closeWaitingRoom(@PathVariable(value = "eventId") Long eventId) {
+		waitingRoomService.close(eventId);
+		return new ResponseEntity<>("Waiting room closed", HttpStatus.OK);
+	}
+
+	/* entering the queue, returned token is sent back when checking status */
+	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
+	@PostMapping(value = "/{eventId}/join", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<QueueStatusDTO> joinQueue(@PathVariable(value = "eventId") Long eventId, Principal user)
+			throws BadRequestException {
+		return new ResponseEntity<>(waitingRoomService.join(eventId, user.getName()), HttpStatus.OK);
+	}
+
+	/* position in the queue, admission token when admitted */
+	@PreAuthorize("hasRole('ROLE_REGISTERED_USER')")
+	@GetMapping(value = "/{eventId}/status", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<QueueStatusDTO> queueStatus(@PathVariable(value = "eventId") Long eventId,
+			@RequestHeader(value = "X-Queue-Token") String queueToken, Principal user) throws BadRequestException {
+		return new ResponseEntity<>(waitingRoomService.status(eventId, queueToken, user.getName()), HttpStatus.OK);
+	}
+}
@@ -0,0 +1,66 @@
+package backend.dto;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class BestSeatsDTO {
+
+	@NotNull
+	private boolean purchased;
+
+	@NotNull(message = "Event day is mandatory")
+	@Min(value = 1, message = "Invalid event day")
+	private Long eventDay_id;
+
+	@NotNull(message = "Event sector is mandatory")
+	@Min(value = 1, message = "Invalid event sector")
+	private Long eventSector_id;
+
+	@Min(value = 1, message = "Number of seats must be greater than or equal to {value}")
+	private int numOfSeats;
+
+	public BestSeatsDTO() {
+		super();
+	}
+
+	public BestSeatsDTO(boolean purchased, Long eventDay_id, Long eventSector_id, int numOfSeats) {
+		super();
+		this.purchased = purchased;
+		this.eventDay_id = eventDay_id;
+		this.eventSector_id = eventSector_id;
+		this.numOfSeats = numOfSeats;
+	}
+
+	public boolean isPurchased() {
+		return purchased;
+	}
+
+	public void setPurchased(boolean purchased) {
+		this.purchased = purchased;
+	}
+
+	public Long getEventDay_id() {
+		return eventDay_id;
+	}
+
+	public void setEventDay_id(Long eventDay_id) {
+		this.eventDay_id = eventDay_id;
+	}
+
+	public Long getEventSector_id() {
+		return eventSector_id;
+	}
+
+	public void setEventSector_id(Long eventSector_id) {
+		this.eventSector_id = eventSector_id;
+	}
+
+	public int getNumOfSeats() {
+		return numOfSeats;
+	}
+
+	public void setNumOfSeats(int numOfSeats) {
+		this.numOfSeats = numOfSeats;
+	}
+
+}
@@ -0,0 +1,135 @@
+package backend.dto;
+
+import backend.common.BoundedCache;
+
+public class CacheStatsDTO {
+	private String name;
+	private int entries;
+	private long weight;
+	private long maxWeight;
+	private long ttlSeconds;
+	private long hits;
+	private long misses;
+	private double hitRate;
+	private long puts;
+	private long evictions;
+	private long expirations;
+	private long invalidations;
+
+	public CacheStatsDTO() {
+		super();
+	}
+
+	public CacheStatsDTO(BoundedCache cache) {
+		super();
+		this.name = cache.getName();
+		this.entries = cache.getEntries();
+		this.weight = cache.getWeight();
+		this.maxWeight = cache.getMaxWeight();
+		this.ttlSeconds = cache.getTtlMillis() / 1000;
+		this.hits = cache.getHits();
+		this.misses = cache.getMisses();
+		this.hitRate = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+		this.puts = cache.getPuts();
+		this.evictions = cache.getEvictions();
+		this.expirations = cache.getExpirations();
+		this.invalidations = cache.getInvalidations();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getEntries() {
+		return entries;
+	}
+
+	public void setEntries(int entries) {
+		this.entries = entries;
+	}
+
+	public long getWeight() {
+		return weight;
+	}
+
+	public void setWeight(long weight) {
+		this.weight = weight;
+	}
+
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	public void setMaxWeight(long maxWeight) {
+		this.maxWeight = maxWeight;
+	}
+
+	public long getTtlSeconds() {
+		return ttlSeconds;
+	}
+
+	public void setTtlSeconds(long ttlSeconds) {
+		this.ttlSeconds = ttlSeconds;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public void setHits(long hits) {
+		this.hits = hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public void setMisses(long misses) {
+		this.misses = misses;
+	}
+
+	public double getHitRate() {
+		return hitRate;
+	}
+
+	public void setHitRate(double hitRate) {
+		this.hitRate = hitRate;
+	}
+
+	public long getPuts() {
+		return puts;
+	}
+
+	public void setPuts(long puts) {
+		this.puts = puts;
+	}
+
+	public long getEvictions() {
+		return evictions;
+	}
+
+	public void setEvictions(long evictions) {
+		this.evictions = evictions;
+	}
+
+	public long getExpirations() {
+		return expirations;
+	}
+
+	public void setExpirations(long expirations) {
+		this.expirations = expirations;
+	}
+
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	public void setInvalidations(long invalidations) {
+		this.invalidations = invalidations;
+	}
+
+}
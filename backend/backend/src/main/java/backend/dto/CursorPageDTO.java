@@ -0,0 +1,46 @@
+package backend.dto;
+
+import java.util.List;
+
+// jedna strana liste; nextCursor je null na poslednjoj strani
+public class CursorPageDTO<T> {
+
+	private List<T> items;
+	private String nextCursor;
+	private int size;
+
+	public CursorPageDTO() {
+		super();
+	}
+
+	public CursorPageDTO(List<T> items, String nextCursor, int size) {
+		super();
+		this.items = items;
+		this.nextCursor = nextCursor;
+		this.size = size;
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public void setItems(List<T> items) {
+		this.items = items;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+}
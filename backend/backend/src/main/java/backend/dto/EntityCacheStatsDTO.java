@@ -0,0 +1,75 @@
+package backend.dto;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+public class EntityCacheStatsDTO {
+	private String name;
+	private long entries;
+	private long hits;
+	private long misses;
+	private double hitRate;
+	private long puts;
+
+	public EntityCacheStatsDTO() {
+		super();
+	}
+
+	public EntityCacheStatsDTO(CacheRegionStatistics region) {
+		super();
+		this.name = region.getRegionName();
+		this.entries = region.getElementCountInMemory();
+		this.hits = region.getHitCount();
+		this.misses = region.getMissCount();
+		this.hitRate = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+		this.puts = region.getPutCount();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public long getEntries() {
+		return entries;
+	}
+
+	public void setEntries(long entries) {
+		this.entries = entries;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public void setHits(long hits) {
+		this.hits = hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public void setMisses(long misses) {
+		this.misses = misses;
+	}
+
+	public double getHitRate() {
+		return hitRate;
+	}
+
+	public void setHitRate(double hitRate) {
+		this.hitRate = hitRate;
+	}
+
+	public long getPuts() {
+		return puts;
+	}
+
+	public void setPuts(long puts) {
+		this.puts = puts;
+	}
+
+}
@@ -0,0 +1,36 @@
+package backend.dto;
+
+import java.util.List;
+
+// slobodna mesta svih sektora jednog dana dogadjaja
+public class EventDayAvailabilityDTO {
+
+	private Long eventDay_id;
+	private List<SectorAvailabilityDTO> sectors;
+
+	public EventDayAvailabilityDTO() {
+		super();
+	}
+
+	public EventDayAvailabilityDTO(Long eventDay_id, List<SectorAvailabilityDTO> sectors) {
+		super();
+		this.eventDay_id = eventDay_id;
+		this.sectors = sectors;
+	}
+
+	public Long getEventDay_id() {
+		return eventDay_id;
+	}
+
+	public void setEventDay_id(Long eventDay_id) {
+		this.eventDay_id = eventDay_id;
+	}
+
+	public List<SectorAvailabilityDTO> getSectors() {
+		return sectors;
+	}
+
+	public void setSectors(List<SectorAvailabilityDTO> sectors) {
+		this.sectors = sectors;
+	}
+}
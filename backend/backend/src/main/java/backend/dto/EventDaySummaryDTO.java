@@ -0,0 +1,67 @@
+package backend.dto;
+
+import java.util.Date;
+
+import backend.model.EventStatus;
+
+public class EventDaySummaryDTO {
+
+	private Long id;
+	private String name;
+	private String description;
+	private Date date;
+	private EventStatus status;
+
+	public EventDaySummaryDTO() {
+		super();
+	}
+
+	public EventDaySummaryDTO(Long id, String name, String description, Date date, EventStatus status) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.description = description;
+		this.date = date;
+		this.status = status;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public Date getDate() {
+		return date;
+	}
+
+	public void setDate(Date date) {
+		this.date = date;
+	}
+
+	public EventStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(EventStatus status) {
+		this.status = status;
+	}
+}
@@ -0,0 +1,49 @@
+package backend.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import backend.model.EventType;
+
+// jedan dogadjaj sa sektorima i danima, bez karata
+public class EventDetailsDTO extends EventSummaryDTO {
+
+	private List<String> video_paths = new ArrayList<>();
+	private List<EventSectorSummaryDTO> sectors = new ArrayList<>();
+	private List<EventDaySummaryDTO> event_days = new ArrayList<>();
+
+	public EventDetailsDTO() {
+		super();
+	}
+
+	public EventDetailsDTO(Long id, String name, String description, EventType event_type, Date start_date,
+			Date end_date, int max_tickets, int num_days, Long location_id, String location_name) {
+		super(id, name, description, event_type, start_date, end_date, max_tickets, num_days, location_id,
+				location_name);
+	}
+
+	public List<String> getVideo_paths() {
+		return video_paths;
+	}
+
+	public void setVideo_paths(List<String> video_paths) {
+		this.video_paths = video_paths;
+	}
+
+	public List<EventSectorSummaryDTO> getSectors() {
+		return sectors;
+	}
+
+	public void setSectors(List<EventSectorSummaryDTO> sectors) {
+		this.sectors = sectors;
+	}
+
+	public List<EventDaySummaryDTO> getEvent_days() {
+		return event_days;
+	}
+
+	public void setEvent_days(List<EventDaySummaryDTO> event_days) {
+		this.event_days = event_days;
+	}
+}
@@ -0,0 +1,127 @@
+package backend.dto;
+
+import java.util.Date;
+
+// dogadjaj sa udaljenoscu njegove lokacije od zadate tacke
+public class EventNearDTO {
+
+	private Long id;
+	private String name;
+	private String event_type;
+	private Date start_date;
+	private Date end_date;
+	private Long location_id;
+	private String location_name;
+	private String city;
+	private double latitude;
+	private double longitude;
+	private double distance_km;
+
+	public EventNearDTO() {
+		super();
+	}
+
+	public EventNearDTO(Long id, String name, String event_type, Date start_date, Date end_date, Long location_id,
+			String location_name, String city, double latitude, double longitude, double distance_km) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.event_type = event_type;
+		this.start_date = start_date;
+		this.end_date = end_date;
+		this.location_id = location_id;
+		this.location_name = location_name;
+		this.city = city;
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.distance_km = distance_km;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getEvent_type() {
+		return event_type;
+	}
+
+	public void setEvent_type(String event_type) {
+		this.event_type = event_type;
+	}
+
+	public Date getStart_date() {
+		return start_date;
+	}
+
+	public void setStart_date(Date start_date) {
+		this.start_date = start_date;
+	}
+
+	public Date getEnd_date() {
+		return end_date;
+	}
+
+	public void setEnd_date(Date end_date) {
+		this.end_date = end_date;
+	}
+
+	public Long getLocation_id() {
+		return location_id;
+	}
+
+	public void setLocation_id(Long location_id) {
+		this.location_id = location_id;
+	}
+
+	public String getLocation_name() {
+		return location_name;
+	}
+
+	public void setLocation_name(String location_name) {
+		this.location_name = location_name;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+	}
+
+	public double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(double latitude) {
+		this.latitude = latitude;
+	}
+
+	public double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(double longitude) {
+		this.longitude = longitude;
+	}
+
+	public double getDistance_km() {
+		return distance_km;
+	}
+
+	public void setDistance_km(double distance_km) {
+		this.distance_km = distance_km;
+	}
+}
@@ -0,0 +1,96 @@
+package backend.dto;
+
+import java.util.Date;
+
+public class EventSearchHitDTO {
+
+	private Long id;
+	private String name;
+	private String description;
+	private String event_type;
+	private String location_name;
+	private String city;
+	private Date start_date;
+	private int score;
+
+	public EventSearchHitDTO() {
+		super();
+	}
+
+	public EventSearchHitDTO(Long id, String name, String description, String event_type, String location_name,
+			String city, Date start_date, int score) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.description = description;
+		this.event_type = event_type;
+		this.location_name = location_name;
+		this.city = city;
+		this.start_date = start_date;
+		this.score = score;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public String getEvent_type() {
+		return event_type;
+	}
+
+	public void setEvent_type(String event_type) {
+		this.event_type = event_type;
+	}
+
+	public String getLocation_name() {
+		return location_name;
+	}
+
+	public void setLocation_name(String location_name) {
+		this.location_name = location_name;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+	}
+
+	public Date getStart_date() {
+		return start_date;
+	}
+
+	public void setStart_date(Date start_date) {
+		this.start_date = start_date;
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public void setScore(int score) {
+		this.score = score;
+	}
+}
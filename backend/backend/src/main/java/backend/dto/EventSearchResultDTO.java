@@ -0,0 +1,68 @@
+package backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// pogoci pretrage i broj dogadjaja po tipu, gradu i mesecu pocetka
+public class EventSearchResultDTO {
+
+	private int total;
+	private List<EventSearchHitDTO> hits;
+	private Map<String, Long> types;
+	private Map<String, Long> cities;
+	private Map<String, Long> months;
+
+	public EventSearchResultDTO() {
+		super();
+	}
+
+	public EventSearchResultDTO(int total, List<EventSearchHitDTO> hits, Map<String, Long> types,
+			Map<String, Long> cities, Map<String, Long> months) {
+		super();
+		this.total = total;
+		this.hits = hits;
+		this.types = types;
+		this.cities = cities;
+		this.months = months;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public void setTotal(int total) {
+		this.total = total;
+	}
+
+	public List<EventSearchHitDTO> getHits() {
+		return hits;
+	}
+
+	public void setHits(List<EventSearchHitDTO> hits) {
+		this.hits = hits;
+	}
+
+	public Map<String, Long> getTypes() {
+		return types;
+	}
+
+	public void setTypes(Map<String, Long> types) {
+		this.types = types;
+	}
+
+	public Map<String, Long> getCities() {
+		return cities;
+	}
+
+	public void setCities(Map<String, Long> cities) {
+		this.cities = cities;
+	}
+
+	public Map<String, Long> getMonths() {
+		return months;
+	}
+
+	public void setMonths(Map<String, Long> months) {
+		this.months = months;
+	}
+}
@@ -0,0 +1,53 @@
+package backend.dto;
+
+public class EventSectorSummaryDTO {
+
+	private Long id;
+	private double price;
+	private Long sector_id;
+	private String sector_name;
+
+	public EventSectorSummaryDTO() {
+		super();
+	}
+
+	public EventSectorSummaryDTO(Long id, double price, Long sector_id, String sector_name) {
+		super();
+		this.id = id;
+		this.price = price;
+		this.sector_id = sector_id;
+		this.sector_name = sector_name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public double getPrice() {
+		return price;
+	}
+
+	public void setPrice(double price) {
+		this.price = price;
+	}
+
+	public Long getSector_id() {
+		return sector_id;
+	}
+
+	public void setSector_id(Long sector_id) {
+		this.sector_id = sector_id;
+	}
+
+	public String getSector_name() {
+		return sector_name;
+	}
+
+	public void setSector_name(String sector_name) {
+		this.sector_name = sector_name;
+	}
+}
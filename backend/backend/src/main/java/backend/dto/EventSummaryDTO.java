@@ -0,0 +1,130 @@
+package backend.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import backend.model.EventType;
+
+// dogadjaj u katalogu: samo njegova polja i slike, bez sektora, dana i karata
+public class EventSummaryDTO {
+
+	private Long id;
+	private String name;
+	private String description;
+	private EventType event_type;
+	private Date start_date;
+	private Date end_date;
+	private int max_tickets;
+	private int num_days;
+	private Long location_id;
+	private String location_name;
+	private List<String> image_paths = new ArrayList<>();
+
+	public EventSummaryDTO() {
+		super();
+	}
+
+	public EventSummaryDTO(Long id, String name, String description, EventType event_type, Date start_date,
+			Date end_date, int max_tickets, int num_days, Long location_id, String location_name) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.description = description;
+		this.event_type = event_type;
+		this.start_date = start_date;
+		this.end_date = end_date;
+		this.max_tickets = max_tickets;
+		this.num_days = num_days;
+		this.location_id = location_id;
+		this.location_name = location_name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public EventType getEvent_type() {
+		return event_type;
+	}
+
+	public void setEvent_type(EventType event_type) {
+		this.event_type = event_type;
+	}
+
+	public Date getStart_date() {
+		return start_date;
+	}
+
+	public void setStart_date(Date start_date) {
+		this.start_date = start_date;
+	}
+
+	public Date getEnd_date() {
+		return end_date;
+	}
+
+	public void setEnd_date(Date end_date) {
+		this.end_date = end_date;
+	}
+
+	public int getMax_tickets() {
+		return max_tickets;
+	}
+
+	public void setMax_tickets(int max_tickets) {
+		this.max_tickets = max_tickets;
+	}
+
+	public int getNum_days() {
+		return num_days;
+	}
+
+	public void setNum_days(int num_days) {
+		this.num_days = num_days;
+	}
+
+	public Long getLocation_id() {
+		return location_id;
+	}
+
+	public void setLocation_id(Long location_id) {
+		this.location_id = location_id;
+	}
+
+	public String getLocation_name() {
+		return location_name;
+	}
+
+	public void setLocation_name(String location_name) {
+		this.location_name = location_name;
+	}
+
+	public List<String> getImage_paths() {
+		return image_paths;
+	}
+
+	public void setImage_paths(List<String> image_paths) {
+		this.image_paths = image_paths;
+	}
+}
@@ -0,0 +1,76 @@
+package backend.dto;
+
+public class QueueStatusDTO {
+
+	private Long eventId;
+	private long position;
+	private long ahead;
+	private long estimatedWaitSeconds;
+	private boolean admitted;
+	// token za proveru mesta u redu, odnosno token za rezervaciju kad je korisnik pusten
+	private String token;
+
+	public QueueStatusDTO() {
+		super();
+	}
+
+	public QueueStatusDTO(Long eventId, long position, long ahead, long estimatedWaitSeconds, boolean admitted,
+			String token) {
+		super();
+		this.eventId = eventId;
+		this.position = position;
+		this.ahead = ahead;
+		this.estimatedWaitSeconds = estimatedWaitSeconds;
+		this.admitted = admitted;
+		this.token = token;
+	}
+
+	public Long getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(Long eventId) {
+		this.eventId = eventId;
+	}
+
+	public long getPosition() {
+		return position;
+	}
+
+	public void setPosition(long position) {
+		this.position = position;
+	}
+
+	public long getAhead() {
+		return ahead;
+	}
+
+	public void setAhead(long ahead) {
+		this.ahead = ahead;
+	}
+
+	public long getEstimatedWaitSeconds() {
+		return estimatedWaitSeconds;
+	}
+
+	public void setEstimatedWaitSeconds(long estimatedWaitSeconds) {
+		this.estimatedWaitSeconds = estimatedWaitSeconds;
+	}
+
+	public boolean isAdmitted() {
+		return admitted;
+	}
+
+	public void setAdmitted(boolean admitted) {
+		this.admitted = admitted;
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	public void setToken(String token) {
+		this.token = token;
+	}
+
+}
@@ -0,0 +1,69 @@
+package backend.dto;
+
+// stanje zahteva za rezervaciju u asinhronom rezimu
+public class ReservationRequestDTO {
+
+	public enum Status {
+		QUEUED, DONE, FAILED
+	}
+
+	private String id;
+	private Status status;
+	private Long reservationId;
+	private String error;
+	private String statusUrl;
+
+	public ReservationRequestDTO() {
+		super();
+	}
+
+	public ReservationRequestDTO(String id, Status status, Long reservationId, String error, String statusUrl) {
+		super();
+		this.id = id;
+		this.status = status;
+		this.reservationId = reservationId;
+		this.error = error;
+		this.statusUrl = statusUrl;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public Long getReservationId() {
+		return reservationId;
+	}
+
+	public void setReservationId(Long reservationId) {
+		this.reservationId = reservationId;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	public String getStatusUrl() {
+		return statusUrl;
+	}
+
+	public void setStatusUrl(String statusUrl) {
+		this.statusUrl = statusUrl;
+	}
+
+}
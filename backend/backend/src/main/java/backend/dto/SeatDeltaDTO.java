@@ -0,0 +1,68 @@
+package backend.dto;
+
+import java.util.List;
+
+// promene zauzetosti jednog sektora od prethodne poruke
+public class SeatDeltaDTO {
+
+	private Long eventDay_id;
+	private Long eventSector_id;
+	private List<SeatDTO> taken;
+	private List<SeatDTO> freed;
+	// za stajace sektore: ukupan broj prodatih karata
+	private Integer sold;
+
+	public SeatDeltaDTO() {
+		super();
+	}
+
+	public SeatDeltaDTO(Long eventDay_id, Long eventSector_id, List<SeatDTO> taken, List<SeatDTO> freed,
+			Integer sold) {
+		super();
+		this.eventDay_id = eventDay_id;
+		this.eventSector_id = eventSector_id;
+		this.taken = taken;
+		this.freed = freed;
+		this.sold = sold;
+	}
+
+	public Long getEventDay_id() {
+		return eventDay_id;
+	}
+
+	public void setEventDay_id(Long eventDay_id) {
+		this.eventDay_id = eventDay_id;
+	}
+
+	public Long getEventSector_id() {
+		return eventSector_id;
+	}
+
+	public void setEventSector_id(Long eventSector_id) {
+		this.eventSector_id = eventSector_id;
+	}
+
+	public List<SeatDTO> getTaken() {
+		return taken;
+	}
+
+	public void setTaken(List<SeatDTO> taken) {
+		this.taken = taken;
+	}
+
+	public List<SeatDTO> getFreed() {
+		return freed;
+	}
+
+	public void setFreed(List<SeatDTO> freed) {
+		this.freed = freed;
+	}
+
+	public Integer getSold() {
+		return sold;
+	}
+
+	public void setSold(Integer sold) {
+		this.sold = sold;
+	}
+}
@@ -0,0 +1,116 @@
+package backend.dto;
+
+// slobodna mesta jednog sektora dogadjaja
+public class SectorAvailabilityDTO {
+
+	private Long eventSector_id;
+	private Long sector_id;
+	private String name;
+	private String type;
+	private double price;
+	private int total;
+	private int free;
+	private Integer numRows;
+	private Integer numCols;
+	// za sedece sektore: po redu naizmenicno broj slobodnih pa zauzetih sedista
+	private int[][] freeRuns;
+
+	public SectorAvailabilityDTO() {
+		super();
+	}
+
+	public SectorAvailabilityDTO(Long eventSector_id, Long sector_id, String name, String type, double price,
+			int total, int free, Integer numRows, Integer numCols, int[][] freeRuns) {
+		super();
+		this.eventSector_id = eventSector_id;
+		this.sector_id = sector_id;
+		this.name = name;
+		this.type = type;
+		this.price = price;
+		this.total = total;
+		this.free = free;
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.freeRuns = freeRuns;
+	}
+
+	public Long getEventSector_id() {
+		return eventSector_id;
+	}
+
+	public void setEventSector_id(Long eventSector_id) {
+		this.eventSector_id = eventSector_id;
+	}
+
+	public Long getSector_id() {
+		return sector_id;
+	}
+
+	public void setSector_id(Long sector_id) {
+		this.sector_id = sector_id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public double getPrice() {
+		return price;
+	}
+
+	public void setPrice(double price) {
+		this.price = price;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public void setTotal(int total) {
+		this.total = total;
+	}
+
+	public int getFree() {
+		return free;
+	}
+
+	public void setFree(int free) {
+		this.free = free;
+	}
+
+	public Integer getNumRows() {
+		return numRows;
+	}
+
+	public void setNumRows(Integer numRows) {
+		this.numRows = numRows;
+	}
+
+	public Integer getNumCols() {
+		return numCols;
+	}
+
+	public void setNumCols(Integer numCols) {
+		this.numCols = numCols;
+	}
+
+	public int[][] getFreeRuns() {
+		return freeRuns;
+	}
+
+	public void setFreeRuns(int[][] freeRuns) {
+		this.freeRuns = freeRuns;
+	}
+}
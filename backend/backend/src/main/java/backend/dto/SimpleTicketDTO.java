@@ -11,6 +11,7 @@ public class SimpleTicketDTO implements Serializable {
 	@JsonIgnore
 	private static final long serialVersionUID = 1L;
 
+	private Long id;
 	private boolean hasSeat;
 
 	private Integer numRow;
@@ -31,6 +32,7 @@ public class SimpleTicketDTO implements Serializable {
 
 	public SimpleTicketDTO(Ticket t) {
 		super();
+		this.id = t.getId();
 		this.hasSeat = t.isHasSeat();
 		this.numRow = t.getNumRow();
 		this.numCol = t.getNumCol();
@@ -45,6 +47,14 @@ public class SimpleTicketDTO implements Serializable {
 		this.price = t.getEventSector().getPrice();
 	}
 
+	public SimpleTicketDTO(Long id, boolean hasSeat, Integer numRow, Integer numCol, String sectorName,
+			String hallName, String locationName, String nameEvent, String nameED, Long reservationID, Date dateED,
+			Double price) {
+		this(hasSeat, numRow, numCol, sectorName, hallName, locationName, nameEvent, nameED, reservationID, dateED,
+				price);
+		this.id = id;
+	}
+
 	public SimpleTicketDTO(boolean hasSeat, Integer numRow, Integer numCol,
 			String sectorName, String hallName, String locationName,
 			String nameEvent, String nameED, Long reservationID, Date dateED,
@@ -63,6 +73,14 @@ public class SimpleTicketDTO implements Serializable {
 		this.price = price;
 	}
 
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
 	public boolean isHasSeat() {
 		return hasSeat;
 	}
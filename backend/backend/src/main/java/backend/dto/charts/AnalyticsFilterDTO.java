@@ -0,0 +1,78 @@
+package backend.dto.charts;
+
+import java.util.Date;
+
+import backend.model.EventType;
+
+// uslovi analitike karata, nepostavljeni uslov propusta sve karte
+public class AnalyticsFilterDTO {
+	private Date startDate;
+	private Date endDate;
+	private Long eventId;
+	private Long locationId;
+	private EventType eventType;
+	// null: rezervisane i kupljene, true: samo kupljene, false: samo rezervisane
+	private Boolean purchased;
+	private boolean includeCanceled;
+
+	public AnalyticsFilterDTO() {
+		super();
+	}
+
+	public Date getStartDate() {
+		return startDate;
+	}
+
+	public void setStartDate(Date startDate) {
+		this.startDate = startDate;
+	}
+
+	public Date getEndDate() {
+		return endDate;
+	}
+
+	public void setEndDate(Date endDate) {
+		this.endDate = endDate;
+	}
+
+	public Long getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(Long eventId) {
+		this.eventId = eventId;
+	}
+
+	public Long getLocationId() {
+		return locationId;
+	}
+
+	public void setLocationId(Long locationId) {
+		this.locationId = locationId;
+	}
+
+	public EventType getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(EventType eventType) {
+		this.eventType = eventType;
+	}
+
+	public Boolean getPurchased() {
+		return purchased;
+	}
+
+	public void setPurchased(Boolean purchased) {
+		this.purchased = purchased;
+	}
+
+	public boolean isIncludeCanceled() {
+		return includeCanceled;
+	}
+
+	public void setIncludeCanceled(boolean includeCanceled) {
+		this.includeCanceled = includeCanceled;
+	}
+
+}
@@ -0,0 +1,54 @@
+package backend.dto.charts;
+
+// jedna grupa analitike: id grupe (dogadjaj, lokacija, sektor) ili naziv (tip, dan, stanje)
+public class AnalyticsGroupDTO {
+	private Long id;
+	private String name;
+	private long tickets;
+	private double income;
+
+	public AnalyticsGroupDTO() {
+		super();
+	}
+
+	public AnalyticsGroupDTO(Long id, String name, long tickets, double income) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.tickets = tickets;
+		this.income = income;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public long getTickets() {
+		return tickets;
+	}
+
+	public void setTickets(long tickets) {
+		this.tickets = tickets;
+	}
+
+	public double getIncome() {
+		return income;
+	}
+
+	public void setIncome(double income) {
+		this.income = income;
+	}
+
+}
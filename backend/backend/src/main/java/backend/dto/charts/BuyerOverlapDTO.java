@@ -0,0 +1,75 @@
+package backend.dto.charts;
+
+// procena kupaca koji su kupovali za oba dogadjaja
+public class BuyerOverlapDTO {
+	private Long firstEventId;
+	private Long secondEventId;
+	private long firstBuyers;
+	private long secondBuyers;
+	private long commonBuyers;
+	private double jaccard;
+
+	public BuyerOverlapDTO() {
+		super();
+	}
+
+	public BuyerOverlapDTO(Long firstEventId, Long secondEventId, long firstBuyers, long secondBuyers,
+			long commonBuyers, double jaccard) {
+		super();
+		this.firstEventId = firstEventId;
+		this.secondEventId = secondEventId;
+		this.firstBuyers = firstBuyers;
+		this.secondBuyers = secondBuyers;
+		this.commonBuyers = commonBuyers;
+		this.jaccard = jaccard;
+	}
+
+	public Long getFirstEventId() {
+		return firstEventId;
+	}
+
+	public void setFirstEventId(Long firstEventId) {
+		this.firstEventId = firstEventId;
+	}
+
+	public Long getSecondEventId() {
+		return secondEventId;
+	}
+
+	public void setSecondEventId(Long secondEventId) {
+		this.secondEventId = secondEventId;
+	}
+
+	public long getFirstBuyers() {
+		return firstBuyers;
+	}
+
+	public void setFirstBuyers(long firstBuyers) {
+		this.firstBuyers = firstBuyers;
+	}
+
+	public long getSecondBuyers() {
+		return secondBuyers;
+	}
+
+	public void setSecondBuyers(long secondBuyers) {
+		this.secondBuyers = secondBuyers;
+	}
+
+	public long getCommonBuyers() {
+		return commonBuyers;
+	}
+
+	public void setCommonBuyers(long commonBuyers) {
+		this.commonBuyers = commonBuyers;
+	}
+
+	public double getJaccard() {
+		return jaccard;
+	}
+
+	public void setJaccard(double jaccard) {
+		this.jaccard = jaccard;
+	}
+
+}
@@ -0,0 +1,64 @@
+package backend.dto.charts;
+
+// procena razlicitih kupaca dogadjaja ili lokacije
+public class BuyerStatsDTO {
+	private String scope;
+	private Long id;
+	private long uniqueBuyers;
+	private long reservations;
+	private double repeatRate;
+
+	public BuyerStatsDTO() {
+		super();
+	}
+
+	public BuyerStatsDTO(String scope, Long id, long uniqueBuyers, long reservations, double repeatRate) {
+		super();
+		this.scope = scope;
+		this.id = id;
+		this.uniqueBuyers = uniqueBuyers;
+		this.reservations = reservations;
+		this.repeatRate = repeatRate;
+	}
+
+	public String getScope() {
+		return scope;
+	}
+
+	public void setScope(String scope) {
+		this.scope = scope;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public long getUniqueBuyers() {
+		return uniqueBuyers;
+	}
+
+	public void setUniqueBuyers(long uniqueBuyers) {
+		this.uniqueBuyers = uniqueBuyers;
+	}
+
+	public long getReservations() {
+		return reservations;
+	}
+
+	public void setReservations(long reservations) {
+		this.reservations = reservations;
+	}
+
+	public double getRepeatRate() {
+		return repeatRate;
+	}
+
+	public void setRepeatRate(double repeatRate) {
+		this.repeatRate = repeatRate;
+	}
+
+}
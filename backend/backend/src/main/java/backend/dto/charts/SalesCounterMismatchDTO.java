@@ -0,0 +1,74 @@
+package backend.dto.charts;
+
+// brojac prodaje koji se ne slaze sa kartama u bazi
+public class SalesCounterMismatchDTO {
+	private String scope;
+	private Long scopeId;
+	private long expectedTickets;
+	private long actualTickets;
+	private double expectedIncome;
+	private double actualIncome;
+
+	public SalesCounterMismatchDTO() {
+		super();
+	}
+
+	public SalesCounterMismatchDTO(String scope, Long scopeId, long expectedTickets, long actualTickets,
+			double expectedIncome, double actualIncome) {
+		super();
+		this.scope = scope;
+		this.scopeId = scopeId;
+		this.expectedTickets = expectedTickets;
+		this.actualTickets = actualTickets;
+		this.expectedIncome = expectedIncome;
+		this.actualIncome = actualIncome;
+	}
+
+	public String getScope() {
+		return scope;
+	}
+
+	public void setScope(String scope) {
+		this.scope = scope;
+	}
+
+	public Long getScopeId() {
+		return scopeId;
+	}
+
+	public void setScopeId(Long scopeId) {
+		this.scopeId = scopeId;
+	}
+
+	public long getExpectedTickets() {
+		return expectedTickets;
+	}
+
+	public void setExpectedTickets(long expectedTickets) {
+		this.expectedTickets = expectedTickets;
+	}
+
+	public long getActualTickets() {
+		return actualTickets;
+	}
+
+	public void setActualTickets(long actualTickets) {
+		this.actualTickets = actualTickets;
+	}
+
+	public double getExpectedIncome() {
+		return expectedIncome;
+	}
+
+	public void setExpectedIncome(double expectedIncome) {
+		this.expectedIncome = expectedIncome;
+	}
+
+	public double getActualIncome() {
+		return actualIncome;
+	}
+
+	public void setActualIncome(double actualIncome) {
+		this.actualIncome = actualIncome;
+	}
+}
@@ -1,11 +1,17 @@
 package backend.dto.charts;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+import backend.model.EventStatus;
+
 public class SystemInformationsDTO {
 	private int numberOfEvents;
 	private int numberOfAdmins;
 	private int numberOfUsers;
 	private double allTimeIncome;
 	private int allTimeTickets;
+	private Map<EventStatus, Long> eventDaysByStatus = new EnumMap<>(EventStatus.class);
 
 	public SystemInformationsDTO() {
 		super();
@@ -61,4 +67,12 @@ public class SystemInformationsDTO {
 		this.allTimeTickets = allTimeTickets;
 	}
 
+	public Map<EventStatus, Long> getEventDaysByStatus() {
+		return eventDaysByStatus;
+	}
+
+	public void setEventDaysByStatus(Map<EventStatus, Long> eventDaysByStatus) {
+		this.eventDaysByStatus = eventDaysByStatus;
+	}
+
 }
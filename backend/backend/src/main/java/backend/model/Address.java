@@ -2,9 +2,14 @@ package backend.model;
 
 import javax.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import backend.dto.AddressDTO;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "adresses")
 public class Address {
 	private static final String googleMapsAPIKey = "insertKeyHere";
@@ -0,0 +1,106 @@
+package backend.model;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
+
+/*
+ * Kupci dogadjaja ili lokacije za jedan dan odrzavanja, kao HyperLogLog procena
+ * (registers, vidi HyperLogLog.toBytes) i broj rezervacija tog dana.
+ */
+@Entity
+@Table(name = "buyer_sketches", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "scope", "scope_id", "sales_day" }) })
+public class BuyerSketch {
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "scope", nullable = false, length = 20)
+	private SalesScope scope;
+
+	@Column(name = "scope_id", nullable = false)
+	private Long scopeId;
+
+	@Temporal(TemporalType.DATE)
+	@Column(name = "sales_day", nullable = false)
+	private Date day;
+
+	@Column(name = "registers", nullable = false, length = 4097)
+	private byte[] registers;
+
+	@Column(name = "reservations", nullable = false)
+	private long reservations;
+
+	public BuyerSketch() {
+		super();
+	}
+
+	public BuyerSketch(SalesScope scope, Long scopeId, Date day) {
+		super();
+		this.scope = scope;
+		this.scopeId = scopeId;
+		this.day = day;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public SalesScope getScope() {
+		return scope;
+	}
+
+	public void setScope(SalesScope scope) {
+		this.scope = scope;
+	}
+
+	public Long getScopeId() {
+		return scopeId;
+	}
+
+	public void setScopeId(Long scopeId) {
+		this.scopeId = scopeId;
+	}
+
+	public Date getDay() {
+		return day;
+	}
+
+	public void setDay(Date day) {
+		this.day = day;
+	}
+
+	public byte[] getRegisters() {
+		return registers;
+	}
+
+	public void setRegisters(byte[] registers) {
+		this.registers = registers;
+	}
+
+	public long getReservations() {
+		return reservations;
+	}
+
+	public void setReservations(long reservations) {
+		this.reservations = reservations;
+	}
+
+}
@@ -14,6 +14,7 @@ import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -25,7 +26,8 @@ import backend.dto.EventDayDTO;
 public class EventDay {
 	@Id
 	@Column(name = "id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "event_days_gen")
+	@TableGenerator(name = "event_days_gen", table = "id_generators", pkColumnName = "gen_name", valueColumnName = "gen_value", pkColumnValue = "event_days", initialValue = 1000, allocationSize = 50)
 	private Long id;
 
 	@Column(name = "name", nullable = false, length = 70)
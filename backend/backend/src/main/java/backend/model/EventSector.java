@@ -11,15 +11,19 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Version;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "event_sectors")
 public class EventSector {
 	@Id
 	@Column(name = "id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "event_sectors_gen")
+	@TableGenerator(name = "event_sectors_gen", table = "id_generators", pkColumnName = "gen_name", valueColumnName = "gen_value", pkColumnValue = "event_sectors", initialValue = 1000, allocationSize = 50)
 	private Long id;
 
 	@Column(name = "price", nullable = false)
@@ -35,6 +39,12 @@ public class EventSector {
 
 	@Column(name = "deleted", nullable = false)
 	private boolean deleted = false;
+
+	// optimisticko zakljucavanje, postojeci redovi iz data.sql dobijaju 0
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+	@JsonIgnore
+	private long version;
 	
 	public EventSector() {
 		super();
@@ -100,6 +110,14 @@ public class EventSector {
 		this.deleted = deleted;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
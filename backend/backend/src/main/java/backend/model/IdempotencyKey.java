@@ -0,0 +1,88 @@
+package backend.model;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.UniqueConstraint;
+
+// kljuc ponovljenog zahteva i rezervacija koju je prvi zahtev napravio
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "username", "idempotency_key" }) })
+public class IdempotencyKey {
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "idempotency_keys_gen")
+	@TableGenerator(name = "idempotency_keys_gen", table = "id_generators", pkColumnName = "gen_name", valueColumnName = "gen_value", pkColumnValue = "idempotency_keys", initialValue = 1000, allocationSize = 50)
+	private Long id;
+
+	@Column(name = "username", nullable = false, length = 45)
+	private String username;
+
+	@Column(name = "idempotency_key", nullable = false, length = 100)
+	private String key;
+
+	@Column(name = "reservation_id")
+	private Long reservationId;
+
+	@Column(name = "created", nullable = false)
+	private Date created;
+
+	public IdempotencyKey() {
+		super();
+	}
+
+	public IdempotencyKey(String username, String key, Date created) {
+		super();
+		this.username = username;
+		this.key = key;
+		this.created = created;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public void setUsername(String username) {
+		this.username = username;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public void setKey(String key) {
+		this.key = key;
+	}
+
+	public Long getReservationId() {
+		return reservationId;
+	}
+
+	public void setReservationId(Long reservationId) {
+		this.reservationId = reservationId;
+	}
+
+	public Date getCreated() {
+		return created;
+	}
+
+	public void setCreated(Date created) {
+		this.created = created;
+	}
+
+}
@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -20,9 +21,14 @@ import javax.persistence.OneToOne;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "locations", uniqueConstraints = {
 		@UniqueConstraint(columnNames = {"address_id", "deleted"}) })
 public class Location {
@@ -40,6 +46,7 @@ public class Location {
 
 	@OneToMany(mappedBy = "location", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
 	@JsonIgnoreProperties("location")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	//@JsonBackReference
 	private Set<Hall> halls = new HashSet<>();
 
@@ -14,8 +14,11 @@ import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Version;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
@@ -23,7 +26,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 public class Reservation {
 	@Id
 	@Column(name = "id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "reservations_gen")
+	@TableGenerator(name = "reservations_gen", table = "id_generators", pkColumnName = "gen_name", valueColumnName = "gen_value", pkColumnValue = "reservations", initialValue = 1000, allocationSize = 50)
 	private Long id;
 	@Column(name = "purchased", nullable = false)
 	private boolean purchased;
@@ -43,6 +47,16 @@ public class Reservation {
 
 	@Column(name = "canceled", nullable = false)
 	private boolean canceled = false;
+
+	// rok privremenog drzanja mesta, null za obicnu rezervaciju
+	@Column(name = "hold_until")
+	private Date holdUntil;
+
+	// optimisticko zakljucavanje, postojeci redovi iz data.sql dobijaju 0
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+	@JsonIgnore
+	private long version;
 	
 
 	public Reservation() {
@@ -127,6 +141,22 @@ public class Reservation {
 		this.canceled = canceled;
 	}
 
+	public Date getHoldUntil() {
+		return holdUntil;
+	}
+
+	public void setHoldUntil(Date holdUntil) {
+		this.holdUntil = holdUntil;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
@@ -0,0 +1,117 @@
+package backend.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+/*
+ * Broj karata i prihod neotkazanih rezervacija po dogadjaju, lokaciji ili danu dogadjaja.
+ * Jedna vrednost je podeljena na vise redova (slot), da istovremene rezervacije istog
+ * dogadjaja ne cekaju na zakljucavanje jednog reda; ukupno je zbir svih slotova.
+ */
+@Entity
+@Table(name = "sales_counters", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "scope", "scope_id", "slot" }) })
+public class SalesCounter {
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "scope", nullable = false, length = 20)
+	private SalesScope scope;
+
+	@Column(name = "scope_id", nullable = false)
+	private Long scopeId;
+
+	@Column(name = "slot", nullable = false)
+	private int slot;
+
+	@Column(name = "tickets", nullable = false)
+	private long tickets;
+
+	@Column(name = "income", nullable = false)
+	private double income;
+
+	@Column(name = "purchased_tickets", nullable = false)
+	private long purchasedTickets;
+
+	@Column(name = "purchased_income", nullable = false)
+	private double purchasedIncome;
+
+	public SalesCounter() {
+		super();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public SalesScope getScope() {
+		return scope;
+	}
+
+	public void setScope(SalesScope scope) {
+		this.scope = scope;
+	}
+
+	public Long getScopeId() {
+		return scopeId;
+	}
+
+	public void setScopeId(Long scopeId) {
+		this.scopeId = scopeId;
+	}
+
+	public int getSlot() {
+		return slot;
+	}
+
+	public void setSlot(int slot) {
+		this.slot = slot;
+	}
+
+	public long getTickets() {
+		return tickets;
+	}
+
+	public void setTickets(long tickets) {
+		this.tickets = tickets;
+	}
+
+	public double getIncome() {
+		return income;
+	}
+
+	public void setIncome(double income) {
+		this.income = income;
+	}
+
+	public long getPurchasedTickets() {
+		return purchasedTickets;
+	}
+
+	public void setPurchasedTickets(long purchasedTickets) {
+		this.purchasedTickets = purchasedTickets;
+	}
+
+	public double getPurchasedIncome() {
+		return purchasedIncome;
+	}
+
+	public void setPurchasedIncome(double purchasedIncome) {
+		this.purchasedIncome = purchasedIncome;
+	}
+
+}
@@ -0,0 +1,110 @@
+package backend.model;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
+
+/*
+ * Prodaja dogadjaja ili lokacije za jedan dan odrzavanja (datum dana dogadjaja).
+ * Grafikoni za interval sabiraju dane iz intervala; slot ima istu ulogu kao u SalesCounter.
+ */
+@Entity
+@Table(name = "sales_daily", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "scope", "scope_id", "sales_day", "slot" }) })
+public class SalesDailyBucket {
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "scope", nullable = false, length = 20)
+	private SalesScope scope;
+
+	@Column(name = "scope_id", nullable = false)
+	private Long scopeId;
+
+	@Temporal(TemporalType.DATE)
+	@Column(name = "sales_day", nullable = false)
+	private Date day;
+
+	@Column(name = "slot", nullable = false)
+	private int slot;
+
+	@Column(name = "tickets", nullable = false)
+	private long tickets;
+
+	@Column(name = "income", nullable = false)
+	private double income;
+
+	public SalesDailyBucket() {
+		super();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public SalesScope getScope() {
+		return scope;
+	}
+
+	public void setScope(SalesScope scope) {
+		this.scope = scope;
+	}
+
+	public Long getScopeId() {
+		return scopeId;
+	}
+
+	public void setScopeId(Long scopeId) {
+		this.scopeId = scopeId;
+	}
+
+	public Date getDay() {
+		return day;
+	}
+
+	public void setDay(Date day) {
+		this.day = day;
+	}
+
+	public int getSlot() {
+		return slot;
+	}
+
+	public void setSlot(int slot) {
+		this.slot = slot;
+	}
+
+	public long getTickets() {
+		return tickets;
+	}
+
+	public void setTickets(long tickets) {
+		this.tickets = tickets;
+	}
+
+	public double getIncome() {
+		return income;
+	}
+
+	public void setIncome(double income) {
+		this.income = income;
+	}
+
+}
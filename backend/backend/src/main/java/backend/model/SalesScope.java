@@ -0,0 +1,6 @@
+package backend.model;
+
+// po cemu se vode brojaci prodaje
+public enum SalesScope {
+	EVENT, LOCATION, EVENT_DAY
+}
@@ -0,0 +1,79 @@
+package backend.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+// broj prodatih stajacih karata po (dan dogadjaja, sektor dogadjaja)
+@Entity
+@Table(name = "standing_capacities", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "event_day_id", "event_sector_id" }) })
+public class StandingCapacity {
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "event_day_id", nullable = false)
+	private EventDay eventDay;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "event_sector_id", nullable = false)
+	private EventSector eventSector;
+
+	@Column(name = "sold", nullable = false)
+	private int sold;
+
+	public StandingCapacity() {
+		super();
+	}
+
+	public StandingCapacity(Long id, EventDay eventDay, EventSector eventSector, int sold) {
+		super();
+		this.id = id;
+		this.eventDay = eventDay;
+		this.eventSector = eventSector;
+		this.sold = sold;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public EventDay getEventDay() {
+		return eventDay;
+	}
+
+	public void setEventDay(EventDay eventDay) {
+		this.eventDay = eventDay;
+	}
+
+	public EventSector getEventSector() {
+		return eventSector;
+	}
+
+	public void setEventSector(EventSector eventSector) {
+		this.eventSector = eventSector;
+	}
+
+	public int getSold() {
+		return sold;
+	}
+
+	public void setSold(int sold) {
+		this.sold = sold;
+	}
+
+}
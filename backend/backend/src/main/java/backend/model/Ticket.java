@@ -10,24 +10,36 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.UniqueConstraint;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "event_day_id", "sector_id", "num_row", "num_col", "seat_taken" }) })
 public class Ticket {
 	@Id
 	@Column(name = "id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// id se dodeljuje iz tabele u blokovima od 50, pa Hibernate moze da grupise insert-e (IDENTITY to onemogucava)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "tickets_gen")
+	@TableGenerator(name = "tickets_gen", table = "id_generators", pkColumnName = "gen_name", valueColumnName = "gen_value", pkColumnValue = "tickets", initialValue = 1000, allocationSize = 50)
 	private Long id;
 	@Column(name = "", nullable = true)
 	private boolean hasSeat;
 
-	@Column(name = "", nullable = true)
+	@Column(name = "num_row", nullable = true)
 	private Integer numRow;
-	@Column(name = "", nullable = true)
+	@Column(name = "num_col", nullable = true)
 	private Integer numCol;
 
+	// TRUE dok je karta vazeca, NULL kada se rezervacija otkaze (MySQL dozvoljava vise NULL vrednosti
+	// u jedinstvenom ogranicenju), pa isto sediste ne moze biti prodato dva puta; karte iz data.sql dobijaju 1
+	@Column(name = "seat_taken", nullable = true, columnDefinition = "bit default 1")
+	@JsonIgnore
+	private Boolean seatTaken = Boolean.TRUE;
+
 	@ManyToOne(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
 	@JsonBackReference(value = "eventday")
 	private EventDay eventDay;
@@ -106,6 +118,14 @@ public class Ticket {
 		this.reservation = reservation;
 	}
 
+	public Boolean getSeatTaken() {
+		return seatTaken;
+	}
+
+	public void setSeatTaken(Boolean seatTaken) {
+		this.seatTaken = seatTaken;
+	}
+
 	public EventSector getEventSector() {
 		return eventSector;
 	}
@@ -1,18 +1,25 @@
 package backend.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import backend.model.Address;
 
 public interface AddressRepository extends JpaRepository<Address, Long> {
 
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	Optional<Address> findByIdAndDeleted(Long id, boolean deleted);
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	List<Address> findAllByDeleted(boolean deleted);
 	
 	Page<Address> findAllByDeleted(boolean deleted, Pageable pageable);
@@ -0,0 +1,30 @@
+package backend.repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import backend.model.BuyerSketch;
+import backend.model.SalesScope;
+
+public interface BuyerSketchRepository extends JpaRepository<BuyerSketch, Long> {
+
+	Optional<BuyerSketch> findByScopeAndScopeIdAndDay(SalesScope scope, Long scopeId, Date day);
+
+	List<BuyerSketch> findByScopeAndScopeId(SalesScope scope, Long scopeId);
+
+	List<BuyerSketch> findByScopeAndScopeIdAndDayBetween(SalesScope scope, Long scopeId, Date startDate, Date endDate);
+
+	@Modifying
+	@Query("delete from BuyerSketch")
+	public int deleteAllSketches();
+
+	// {rezervacija, kupac, dogadjaj, lokacija, dan} za rezervacije koje nisu otkazane
+	@Query("select distinct r.id, r.buyer.id, e.id, l.id, ed.date from Ticket t join t.reservation r join t.eventDay ed "
+			+ "join ed.event e left join e.location l where r.canceled = false and r.buyer is not null")
+	public List<Object[]> findBuyerFacts();
+}
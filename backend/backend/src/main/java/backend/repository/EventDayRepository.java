@@ -6,7 +6,9 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import backend.dto.EventDaySummaryDTO;
 import backend.model.EventDay;
 
 public interface EventDayRepository extends JpaRepository<EventDay, Long> {
@@ -14,4 +16,19 @@ public interface EventDayRepository extends JpaRepository<EventDay, Long> {
 	Optional<EventDay> findByIdAndDeleted(Long id, boolean deleted);
 	List<EventDay> findAllByDeleted(boolean deleted);
 	Page<EventDay> findAllByDeleted(boolean deleted, Pageable pageable);
+
+	@Query("select ed.event.id from EventDay ed where ed.id = ?1")
+	Optional<Long> findEventIdById(Long id);
+
+	// {status, broj dana dogadjaja}
+	@Query("select ed.status, count(ed) from EventDay ed group by ed.status")
+	List<Object[]> countByStatus();
+
+	// {id dogadjaja, id lokacije, datum, tip dogadjaja}
+	@Query("select e.id, l.id, ed.date, e.eventType from EventDay ed join ed.event e left join e.location l where ed.id = ?1")
+	List<Object[]> findEventAndLocationIdById(Long id);
+
+	@Query("select new backend.dto.EventDaySummaryDTO(ed.id, ed.name, ed.description, ed.date, ed.status) "
+			+ "from EventDay ed where ed.event.id = ?1 and ed.deleted = false order by ed.date, ed.id")
+	List<EventDaySummaryDTO> findSummariesByEventId(Long eventId);
 }
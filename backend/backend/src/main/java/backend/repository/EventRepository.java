@@ -1,5 +1,6 @@
 package backend.repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -9,6 +10,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import backend.dto.EventDetailsDTO;
+import backend.dto.EventSummaryDTO;
 import backend.model.Event;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -22,4 +25,66 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 	Optional<Event> findByIdAndDeleted(Long id, boolean deleted);
 	List<Event> findAllByDeleted(boolean deleted);
 	Page<Event> findAllByDeleted(boolean deleted, Pageable pageable);
+
+	// katalog se cita projekcijama, pa se ne ucitavaju EAGER sektori, dani i karte dogadjaja
+	@Query("select new backend.dto.EventSummaryDTO(e.id, e.name, e.description, e.eventType, e.startDate, e.endDate, "
+			+ "e.maxTickets, e.numDays, l.id, l.name) from Event e left join e.location l where e.deleted = false "
+			+ "order by e.startDate, e.id")
+	List<EventSummaryDTO> findAllSummaries();
+
+	@Query("select new backend.dto.EventDetailsDTO(e.id, e.name, e.description, e.eventType, e.startDate, e.endDate, "
+			+ "e.maxTickets, e.numDays, l.id, l.name) from Event e left join e.location l where e.id = ?1 and e.deleted = false")
+	Optional<EventDetailsDTO> findDetailsById(Long id);
+
+	// dogadjaji u koje je ugradjena lokacija
+	@Query("select e.id from Event e where e.location.id in ?1 and e.deleted = false")
+	List<Long> findIdsByLocationIds(Collection<Long> locationIds);
+
+	// snapshot kataloga, po id-ju
+	@Query("select new backend.dto.EventDetailsDTO(e.id, e.name, e.description, e.eventType, e.startDate, e.endDate, "
+			+ "e.maxTickets, e.numDays, l.id, l.name) from Event e left join e.location l where e.deleted = false order by e.id")
+	List<EventDetailsDTO> findAllDetails();
+
+	// strane kataloga po (pocetak, id); sledeca strana pocinje posle poslednjeg procitanog dogadjaja
+	@Query("select new backend.dto.EventSummaryDTO(e.id, e.name, e.description, e.eventType, e.startDate, e.endDate, "
+			+ "e.maxTickets, e.numDays, l.id, l.name) from Event e left join e.location l where e.deleted = false "
+			+ "order by e.startDate, e.id")
+	List<EventSummaryDTO> findSummaryPage(Pageable pageable);
+
+	@Query("select new backend.dto.EventSummaryDTO(e.id, e.name, e.description, e.eventType, e.startDate, e.endDate, "
+			+ "e.maxTickets, e.numDays, l.id, l.name) from Event e left join e.location l where e.deleted = false "
+			+ "and (e.startDate > ?1 or (e.startDate = ?1 and e.id > ?2)) order by e.startDate, e.id")
+	List<EventSummaryDTO> findSummaryPageAfter(Date startDate, Long id, Pageable pageable);
+
+	// {id dogadjaja, putanja slike}
+	@Query("select e.id, i from Event e join e.imagePaths i where e.id in ?1")
+	List<Object[]> findImagePaths(Collection<Long> ids);
+
+	// dogadjaji za pretragu: {id, naziv, opis, tip, pocetak, lokacija, grad, obrisan}
+	@Query("select e.id, e.name, e.description, e.eventType, e.startDate, l.name, a.city, e.deleted from Event e "
+			+ "left join e.location l left join l.address a where e.deleted = false")
+	List<Object[]> findSearchFacts();
+
+	@Query("select e.id, e.name, e.description, e.eventType, e.startDate, l.name, a.city, e.deleted from Event e "
+			+ "left join e.location l left join l.address a where e.id = ?1")
+	List<Object[]> findSearchFactsById(Long id);
+
+	@Query("select e.id, e.name, e.description, e.eventType, e.startDate, l.name, a.city, e.deleted from Event e "
+			+ "join e.location l left join l.address a where l.id = ?1")
+	List<Object[]> findSearchFactsByLocationId(Long locationId);
+
+	// dogadjaji koji nisu zavrseni, za pretragu po udaljenosti: {id, naziv, tip, pocetak, kraj, lokacija}
+	@Query("select e.id, e.name, e.eventType, e.startDate, e.endDate, l.id from Event e join e.location l "
+			+ "where e.deleted = false and e.endDate >= ?1")
+	List<Object[]> findUpcomingGeoFacts(Date now);
+
+	@Query("select e.id, e.name, e.eventType, e.startDate, e.endDate, l.id from Event e join e.location l "
+			+ "where l.id = ?1 and e.deleted = false and e.endDate >= ?2")
+	List<Object[]> findUpcomingGeoFactsByLocationId(Long locationId, Date now);
+
+	@Query("select e.location.id from Event e where e.id = ?1")
+	Optional<Long> findLocationIdById(Long id);
+
+	@Query("select v from Event e join e.videoPaths v where e.id = ?1")
+	List<String> findVideoPaths(Long id);
 }
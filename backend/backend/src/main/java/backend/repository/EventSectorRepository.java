@@ -6,7 +6,9 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import backend.dto.EventSectorSummaryDTO;
 import backend.model.EventSector;
 
 public interface EventSectorRepository extends JpaRepository<EventSector, Long> {
@@ -14,4 +16,12 @@ public interface EventSectorRepository extends JpaRepository<EventSector, Long>
 	Optional<EventSector> findByIdAndDeleted(Long id, boolean deleted);
 	List<EventSector> findAllByDeleted(boolean deleted);
 	Page<EventSector> findAllByDeleted(boolean deleted, Pageable pageable);
+
+	// {id sektora dogadjaja, cena, sektor} bez ucitavanja dogadjaja i njegovih dana
+	@Query("select es.id, es.price, s from EventSector es join es.sector s where es.event.id = ?1 and es.deleted = false order by es.id")
+	List<Object[]> findLayoutByEventId(Long eventId);
+
+	@Query("select new backend.dto.EventSectorSummaryDTO(es.id, es.price, s.id, s.name) from EventSector es "
+			+ "join es.sector s where es.event.id = ?1 and es.deleted = false order by es.id")
+	List<EventSectorSummaryDTO> findSummariesByEventId(Long eventId);
 }
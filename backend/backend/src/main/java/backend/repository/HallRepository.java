@@ -1,17 +1,28 @@
 package backend.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import backend.model.Hall;
 
 public interface HallRepository extends JpaRepository<Hall, Long> {
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	Optional<Hall> findByIdAndDeleted(Long id, boolean deleted);
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	List<Hall> findAllByDeleted(boolean deleted);
 	
 	Page<Hall> findAllByDeleted(boolean deleted, Pageable pageable);
+
+	@Query("select h.location.id from Hall h where h.id = ?1")
+	Optional<Long> findLocationIdById(Long id);
 }
@@ -0,0 +1,19 @@
+package backend.repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import backend.model.IdempotencyKey;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+	public Optional<IdempotencyKey> findByUsernameAndKey(String username, String key);
+
+	@Modifying
+	@Query("delete from IdempotencyKey k where k.created < ?1")
+	public int deleteOlderThan(Date date);
+}
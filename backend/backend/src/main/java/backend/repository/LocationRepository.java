@@ -1,19 +1,38 @@
 package backend.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import backend.model.Location;
 
 public interface LocationRepository extends JpaRepository<Location, Long> {
 
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	Optional<Location> findByIdAndDeleted(Long id, Timestamp deleted);
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	List<Location> findAllByDeleted(Timestamp deleted);
 	
 	Page<Location> findAllByDeleted(Timestamp deleted, Pageable pageable);
+
+	// lokacije za pretragu po udaljenosti: {id, naziv, grad, sirina, duzina}
+	@Query("select l.id, l.name, a.city, a.latitude, a.longitude from Location l join l.address a where l.deleted = ?1")
+	List<Object[]> findGeoFacts(Timestamp deleted);
+
+	@Query("select l.id, l.name, a.city, a.latitude, a.longitude from Location l join l.address a "
+			+ "where l.id = ?1 and l.deleted = ?2")
+	List<Object[]> findGeoFactsById(Long id, Timestamp deleted);
+
+	@Query("select l.id from Location l where l.address.id = ?1")
+	List<Long> findIdsByAddressId(Long addressId);
 }
@@ -0,0 +1,10 @@
+package backend.repository;
+
+/*
+ * Native upis sa navedenim tabelama. Spring Data @Modifying native upit ne zna koje tabele
+ * menja, pa Hibernate posle njega prazni ceo second-level kes (lokacije, sale, sektori).
+ */
+public interface NativeUpdates {
+
+	int executeUpdate(String sql, String table, Object... parameters);
+}
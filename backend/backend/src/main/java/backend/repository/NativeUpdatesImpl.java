@@ -0,0 +1,23 @@
+package backend.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.query.NativeQuery;
+
+public class NativeUpdatesImpl implements NativeUpdates {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public int executeUpdate(String sql, String table, Object... parameters) {
+		NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+		// flush i praznjenje kesa samo za ovu tabelu
+		query.addSynchronizedQuerySpace(table);
+		for (int i = 0; i < parameters.length; i++) {
+			query.setParameter(i + 1, parameters[i]);
+		}
+		return query.executeUpdate();
+	}
+}
@@ -1,5 +1,6 @@
 package backend.repository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import backend.model.Reservation;
@@ -25,4 +27,15 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 	public List<Reservation> findAllByCanceled(boolean b);
 
 	public Page<Reservation> findAllByCanceled(boolean b, Pageable pageable);
+
+	public List<Reservation> findAllByHoldUntilIsNotNullAndCanceled(boolean b);
+
+	@Query("select r from Reservation r where r.id > ?1 order by r.id")
+	public List<Reservation> findPageAfter(Long id, Pageable pageable);
+
+	// drzanje postaje rezervacija jednim update-om, samo ako nije isteklo
+	@Modifying
+	@Query("update Reservation r set r.holdUntil = null, r.purchased = ?2, r.version = r.version + 1 "
+			+ "where r.id = ?1 and r.buyer.id = ?3 and r.canceled = false and r.holdUntil > ?4")
+	public int confirmHold(Long id, boolean purchased, Long buyer_id, Date now);
 }
@@ -0,0 +1,67 @@
+package backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import backend.model.SalesCounter;
+
+public interface SalesCounterRepository extends JpaRepository<SalesCounter, Long>, NativeUpdates {
+
+	// prodaja iz karata u bazi, isti upit pravi brojace i proverava ih
+	public static final String EXPECTED = "select 'EVENT' as scope, ed.event_id as scope_id, count(t.id) as tickets, sum(es.price) as income, "
+			+ "sum(case when r.purchased then 1 else 0 end) as purchased_tickets, sum(case when r.purchased then es.price else 0 end) as purchased_income "
+			+ "from tickets t join reservations r on t.reservation_id = r.id join event_sectors es on t.sector_id = es.id "
+			+ "join event_days ed on t.event_day_id = ed.id where r.canceled = false group by ed.event_id "
+			+ "union all "
+			+ "select 'LOCATION', e.location_id, count(t.id), sum(es.price), "
+			+ "sum(case when r.purchased then 1 else 0 end), sum(case when r.purchased then es.price else 0 end) "
+			+ "from tickets t join reservations r on t.reservation_id = r.id join event_sectors es on t.sector_id = es.id "
+			+ "join event_days ed on t.event_day_id = ed.id join events e on ed.event_id = e.id "
+			+ "where r.canceled = false and e.location_id is not null group by e.location_id "
+			+ "union all "
+			+ "select 'EVENT_DAY', t.event_day_id, count(t.id), sum(es.price), "
+			+ "sum(case when r.purchased then 1 else 0 end), sum(case when r.purchased then es.price else 0 end) "
+			+ "from tickets t join reservations r on t.reservation_id = r.id join event_sectors es on t.sector_id = es.id "
+			+ "where r.canceled = false group by t.event_day_id";
+
+	public static final String ADD = "insert into sales_counters (scope, scope_id, slot, tickets, income, purchased_tickets, purchased_income) "
+			+ "values (?1, ?2, ?3, ?4, ?5, ?6, ?7) on duplicate key update tickets = tickets + ?4, income = income + ?5, "
+			+ "purchased_tickets = purchased_tickets + ?6, purchased_income = purchased_income + ?7";
+
+	// uvecava brojac, red se pravi pri prvoj prodaji; poziva se pri svakoj prodaji, pa ne sme da prazni kes
+	public default int add(String scope, Long scopeId, int slot, long tickets, double income, long purchasedTickets,
+			double purchasedIncome) {
+		return executeUpdate(ADD, "sales_counters", scope, scopeId, slot, tickets, income, purchasedTickets,
+				purchasedIncome);
+	}
+
+	@Modifying
+	@Query(value = "delete from sales_counters", nativeQuery = true)
+	public int deleteAllCounters();
+
+	@Modifying
+	@Query(value = "insert into sales_counters (scope, scope_id, slot, tickets, income, purchased_tickets, purchased_income) "
+			+ "select x.scope, x.scope_id, 0, x.tickets, x.income, x.purchased_tickets, x.purchased_income from (" + EXPECTED
+			+ ") x", nativeQuery = true)
+	public int rebuild();
+
+	// {oblast, id, broj karata, prihod, kupljene karte, prihod kupljenih}
+	@Query(value = EXPECTED, nativeQuery = true)
+	public List<Object[]> findExpected();
+
+	@Query("select c.scope, c.scopeId, sum(c.tickets), sum(c.income), sum(c.purchasedTickets), sum(c.purchasedIncome) "
+			+ "from SalesCounter c group by c.scope, c.scopeId")
+	public List<Object[]> findTotals();
+
+	// {id, naziv, prihod, broj karata}, kao upiti u TicketRepository
+	@Query("select e.id, e.name, sum(c.income), sum(c.tickets) from Event e left join SalesCounter c "
+			+ "on c.scope = backend.model.SalesScope.EVENT and c.scopeId = e.id group by e.id, e.name order by e.id")
+	public List<Object[]> sumByEvent();
+
+	@Query("select l.id, l.name, sum(c.income), sum(c.tickets) from Location l left join SalesCounter c "
+			+ "on c.scope = backend.model.SalesScope.LOCATION and c.scopeId = l.id group by l.id, l.name order by l.id")
+	public List<Object[]> sumByLocation();
+}
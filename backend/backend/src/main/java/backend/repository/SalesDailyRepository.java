@@ -0,0 +1,55 @@
+package backend.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import backend.model.SalesDailyBucket;
+
+public interface SalesDailyRepository extends JpaRepository<SalesDailyBucket, Long>, NativeUpdates {
+
+	public static final String ADD = "insert into sales_daily (scope, scope_id, sales_day, slot, tickets, income) values (?1, ?2, ?3, ?4, ?5, ?6) "
+			+ "on duplicate key update tickets = tickets + ?5, income = income + ?6";
+
+	public default int add(String scope, Long scopeId, Date day, int slot, long tickets, double income) {
+		return executeUpdate(ADD, "sales_daily", scope, scopeId, day, slot, tickets, income);
+	}
+
+	@Modifying
+	@Query(value = "delete from sales_daily where sales_day >= ?1", nativeQuery = true)
+	public int deleteFrom(Date day);
+
+	// dani od zadatog datuma se racunaju ponovo iz karata
+	@Modifying
+	@Query(value = "insert into sales_daily (scope, scope_id, sales_day, slot, tickets, income) "
+			+ "select 'EVENT', ed.event_id, date(ed.day_date), 0, count(t.id), sum(es.price) "
+			+ "from tickets t join reservations r on t.reservation_id = r.id join event_sectors es on t.sector_id = es.id "
+			+ "join event_days ed on t.event_day_id = ed.id where r.canceled = false and ed.day_date >= ?1 "
+			+ "group by ed.event_id, date(ed.day_date) "
+			+ "union all "
+			+ "select 'LOCATION', e.location_id, date(ed.day_date), 0, count(t.id), sum(es.price) "
+			+ "from tickets t join reservations r on t.reservation_id = r.id join event_sectors es on t.sector_id = es.id "
+			+ "join event_days ed on t.event_day_id = ed.id join events e on ed.event_id = e.id "
+			+ "where r.canceled = false and ed.day_date >= ?1 and e.location_id is not null "
+			+ "group by e.location_id, date(ed.day_date)", nativeQuery = true)
+	public int rebuildFrom(Date day);
+
+	/*
+	 * {id, naziv, prihod, broj karata} za dogadjaje koji imaju bar jedan dan u intervalu,
+	 * sabiraju se samo dani iz intervala
+	 */
+	@Query("select e.id, e.name, sum(d.income), sum(d.tickets) from Event e left join SalesDailyBucket d "
+			+ "on d.scope = backend.model.SalesScope.EVENT and d.scopeId = e.id and d.day between ?1 and ?2 "
+			+ "where exists (select ed.id from EventDay ed where ed.event = e and ed.date between ?1 and ?2) "
+			+ "group by e.id, e.name order by e.id")
+	public List<Object[]> sumByEvent(Date startDate, Date endDate);
+
+	@Query("select l.id, l.name, sum(d.income), sum(d.tickets) from Location l left join SalesDailyBucket d "
+			+ "on d.scope = backend.model.SalesScope.LOCATION and d.scopeId = l.id and d.day between ?1 and ?2 "
+			+ "where exists (select ed.id from EventDay ed where ed.event.location = l and ed.date between ?1 and ?2) "
+			+ "group by l.id, l.name order by l.id")
+	public List<Object[]> sumByLocation(Date startDate, Date endDate);
+}
@@ -1,11 +1,17 @@
 package backend.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import backend.model.Sector;
 import backend.model.User;
@@ -14,8 +20,13 @@ public interface SectorRepository extends JpaRepository<Sector, Long> {
 
 	User findByName(String name);  //??
 	
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	Optional<Sector> findByIdAndDeleted(Long id, boolean deleted);
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	List<Sector> findAllByDeleted(boolean deleted);
 	
 	Page<Sector> findAllByDeleted(boolean deleted, Pageable pageable);
+
+	@Query("select h.location.id from Sector s join s.hall h where s.id = ?1")
+	Optional<Long> findLocationIdById(Long id);
 }
@@ -0,0 +1,39 @@
+package backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import backend.model.StandingCapacity;
+
+public interface StandingCapacityRepository extends JpaRepository<StandingCapacity, Long> {
+
+	// brojac se pravi jednom, od karata koje vec postoje; ako ga je drugi cvor vec napravio ne radi nista
+	@Modifying
+	@Query(value = "insert ignore into standing_capacities (event_day_id, event_sector_id, sold) "
+			+ "select ?1, ?2, count(t.id) from tickets t join reservations r on t.reservation_id = r.id "
+			+ "where t.event_day_id = ?1 and t.sector_id = ?2 and t.has_seat = false and r.canceled = false", nativeQuery = true)
+	public int createIfAbsent(Long ed_id, Long es_id);
+
+	@Modifying
+	@Query("update StandingCapacity c set c.sold = c.sold + ?3 where c.eventDay.id = ?1 and c.eventSector.id = ?2 and c.sold + ?3 <= ?4")
+	public int reserve(Long ed_id, Long es_id, int count, int capacity);
+
+	@Modifying
+	@Query("update StandingCapacity c set c.sold = c.sold - ?3 where c.eventDay.id = ?1 and c.eventSector.id = ?2 and c.sold >= ?3")
+	public int release(Long ed_id, Long es_id, int count);
+
+	@Query("select c.sold from StandingCapacity c where c.eventDay.id = ?1 and c.eventSector.id = ?2")
+	public Optional<Integer> findSold(Long ed_id, Long es_id);
+
+	// isto sto i createIfAbsent upisuje, za citanje dok brojac jos ne postoji
+	@Query("select count(t) from Ticket t where t.eventDay.id = ?1 and t.eventSector.id = ?2 and t.hasSeat = false and t.reservation.canceled = false")
+	public long countSold(Long ed_id, Long es_id);
+
+	// brojac se pri sledecoj rezervaciji pravi ponovo iz karata
+	@Modifying
+	@Query("delete from StandingCapacity c where c.eventDay.id = ?1 and c.eventSector.id = ?2")
+	public int reset(Long ed_id, Long es_id);
+}
@@ -3,9 +3,11 @@ package backend.repository;
 import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import backend.dto.SimpleTicketDTO;
 import backend.model.Ticket;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -15,6 +17,12 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 	@Query("select t from Ticket t where t.eventDay.id = ?1 and t.eventSector.id = ?2 ")
 	public List<Ticket> findAllByEventDayIDEventSectorID(Long ed_id, Long es_id);
 	
+	@Query("select t.numRow, t.numCol from Ticket t where t.eventDay.id = ?1 and t.eventSector.id = ?2 and t.hasSeat = true and t.reservation.canceled = false")
+	public List<Object[]> findTakenSeats(Long ed_id, Long es_id);
+	
+	@Query("select count(t) from Ticket t where t.eventDay.id = ?1 and t.eventSector.id = ?2 and t.reservation.canceled = false")
+	public long countByEventDayIDEventSectorID(Long ed_id, Long es_id);
+	
 	@Query("select t from Ticket t where t.eventDay.event.location.id = ?1 and t.eventDay.date >= ?2")
 	public List<Ticket> findAllByLocationDate(Long loc_id, Date date);
 	
@@ -24,6 +32,22 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 	@Query ("select t from Ticket t where t.eventDay.event.id = ?1")
 	public List<Ticket> findAllByEvent(Long event_id);
 	
+	// {broj karata, zbir cena}, bez obzira na stanje rezervacije
+	@Query("select count(t), sum(es.price) from Ticket t join t.eventSector es")
+	public List<Object[]> countAndSumPrices();
+
+	// karte za analitiku: {id, dogadjaj, lokacija, sektor dogadjaja, tip dogadjaja, dan, cena, kupljena, otkazana}
+	@Query("select t.id, e.id, l.id, es.id, e.eventType, ed.date, es.price, r.purchased, r.canceled from Ticket t "
+			+ "join t.eventDay ed join ed.event e left join e.location l join t.eventSector es left join t.reservation r")
+	public List<Object[]> findAllFacts();
+
+	// strana karata posle karte ?1, bez ucitavanja dogadjaja i rezervacija
+	@Query("select new backend.dto.SimpleTicketDTO(t.id, t.hasSeat, t.numRow, t.numCol, s.name, h.name, l.name, e.name, "
+			+ "ed.name, r.id, ed.date, es.price) from Ticket t join t.eventSector es join es.sector s left join s.hall h "
+			+ "join t.eventDay ed join ed.event e left join e.location l left join t.reservation r where t.id > ?1 "
+			+ "order by t.id")
+	public List<SimpleTicketDTO> findPageAfter(Long id, Pageable pageable);
+
 	@Query ("select t from Ticket t where t.reservation.id = ?1")
 	public List<Ticket> findAllByReservation(Long res_id);
 }
@@ -1,6 +1,10 @@
 package backend.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import backend.model.User;
 
@@ -8,5 +12,12 @@ public interface UserRepository extends JpaRepository<User,Long> {
 
 	User findByUsername(String username);
 
+	// {uloga, broj korisnika}
+	@Query("select a.role, count(distinct u.id) from User u join u.authorities a group by a.role")
+	List<Object[]> countByRole();
+
+	@Query("select u from User u where u.id > ?1 order by u.id")
+	List<User> findPageAfter(Long id, Pageable pageable);
+
 
 }
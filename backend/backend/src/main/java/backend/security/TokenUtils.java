@@ -104,10 +104,16 @@ public class TokenUtils {
 		final String username = getUsernameFromToken(token);
 		final Date created = getIssuedAtDateFromToken(token);
 		
-		return (username != null && username.equals(userDetails.getUsername())
+		return (username != null && isLoginAudience(getAudienceFromToken(token)) && username.equals(userDetails.getUsername())
 				&& !isCreatedBeforeLastPasswordReset(created, user.getLastPasswordResetDate()));
 	}
 
+	// za prijavu vaze samo tokeni koje izdaje generateToken, ne i tokeni drugih namena (npr. cekaonice)
+	public Boolean isLoginAudience(String audience) {
+		return AUDIENCE_WEB.equals(audience) || AUDIENCE_MOBILE.equals(audience) || AUDIENCE_TABLET.equals(audience)
+				|| AUDIENCE_UNKNOWN.equals(audience);
+	}
+
 	private Boolean isCreatedBeforeLastPasswordReset(Date created, Date lastPasswordReset) {
 		return (lastPasswordReset != null && created.before(lastPasswordReset));
 	}
@@ -38,7 +38,8 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 			// uzmi username iz tokena
 			username = tokenUtils.getUsernameFromToken(authToken);
 			
-			if (username != null) {
+			// tokeni koji nisu izdati pri prijavi se ne prihvataju
+			if (username != null && tokenUtils.isLoginAudience(tokenUtils.getAudienceFromToken(authToken))) {
 				// uzmi user-a na osnovu username-a
 				UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 				// proveri da li je prosledjeni token validan
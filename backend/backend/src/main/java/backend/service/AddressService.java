@@ -10,6 +10,8 @@ import org.springframework.stereotype.Service;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Address;
 import backend.repository.AddressRepository;
+import backend.repository.LocationRepository;
+import backend.service.CatalogVersionService.Aggregate;
 
 @Service
 public class AddressService {
@@ -17,8 +19,24 @@ public class AddressService {
 	@Autowired
 	private AddressRepository addressRepository;
 
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private EventGeoService eventGeoService;
+
+	@Autowired
+	private CatalogVersionService catalogVersionService;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
 	public Address save(Address b) {
-		return addressRepository.save(b);
+		Address saved = addressRepository.save(b);
+		eventGeoService.addressChanged(b.getId());
+		catalogSnapshotService.locationsChanged(locationRepository.findIdsByAddressId(saved.getId()));
+		catalogVersionService.changed(Aggregate.LOCATION);
+		return saved;
 	}
 
 	/* DULE BUDZI */
@@ -0,0 +1,187 @@
+package backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import backend.common.ExpiringLruCache;
+import backend.common.RingBuffer;
+import backend.dto.ReservationDTO;
+import backend.dto.ReservationRequestDTO;
+import backend.dto.ReservationRequestDTO.Status;
+import backend.exceptions.BadRequestException;
+import backend.exceptions.ResourceNotFoundException;
+import backend.service.ReservationService.PreparedReservation;
+
+/*
+ * Asinhrone rezervacije. Zahtev se stavlja u prsten dogadjaja i klijent odmah dobija
+ * adresu za proveru stanja. Jedna nit po dogadjaju uzima zahteve redom, proverava ih
+ * nad sedistima u memoriji i upisuje ih u grupama, pa zahtevi istog dogadjaja ne cekaju
+ * jedni na druge na bravama i ne drze servlet niti ni konekcije.
+ */
+@Service
+public class AsyncReservationService {
+	private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	private static final String STATUS_URL = "/api/reservation/async/";
+
+	private static final class Request {
+		private final String id = UUID.randomUUID().toString();
+		private final String username;
+		private final ReservationDTO dto;
+		private volatile Status status = Status.QUEUED;
+		private volatile Long reservationId;
+		private volatile String error;
+
+		private Request(String username, ReservationDTO dto) {
+			this.username = username;
+			this.dto = dto;
+		}
+	}
+
+	private final class Pipeline implements Runnable {
+		private final RingBuffer<Request> ring = new RingBuffer<>(bufferSize);
+		private final Thread thread;
+		private volatile boolean running = true;
+
+		private Pipeline(Long eventId) {
+			thread = new Thread(this, "reservation-allocator-" + eventId);
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		@Override
+		public void run() {
+			List<Request> batch = new ArrayList<>(batchSize);
+			while (running) {
+				batch.clear();
+				if (ring.drainTo(batch, batchSize) == 0) {
+					LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(10));
+					continue;
+				}
+				try {
+					process(batch);
+				} catch (RuntimeException e) {
+					logger.error("ERROR in reservation allocator", e);
+					for (Request r : batch) {
+						if (r.status == Status.QUEUED) {
+							fail(r, "Reservation could not be saved");
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	EventDayService eventDayService;
+
+	@Value("${reservation.async.buffer:4096}")
+	private int bufferSize;
+
+	@Value("${reservation.async.batch:64}")
+	private int batchSize;
+
+	private final ConcurrentHashMap<Long, Pipeline> pipelines = new ConcurrentHashMap<>();
+	private final ExpiringLruCache<String, Request> requests = new ExpiringLruCache<>(100000,
+			TimeUnit.HOURS.toMillis(1));
+
+	public ReservationRequestDTO submit(ReservationDTO dto, String username)
+			throws BadRequestException, ResourceNotFoundException {
+		Long eventId = eventDayService.findEventId(dto.getEventDay_id());
+		Pipeline pipeline = pipelines.computeIfAbsent(eventId, Pipeline::new);
+		Request r = new Request(username, dto);
+		requests.put(r.id, r);
+		if (!pipeline.ring.offer(r)) {
+			requests.remove(r.id);
+			throw new BadRequestException("Too many pending reservations, try again later");
+		}
+		LockSupport.unpark(pipeline.thread);
+		return toDTO(r);
+	}
+
+	public ReservationRequestDTO status(String id, String username) throws ResourceNotFoundException {
+		Request r = requests.get(id);
+		if (r == null || !r.username.equals(username)) {
+			throw new ResourceNotFoundException("Could not find requested reservation request");
+		}
+		return toDTO(r);
+	}
+
+	@PreDestroy
+	public void stop() {
+		for (Pipeline p : pipelines.values()) {
+			p.running = false;
+			LockSupport.unpark(p.thread);
+		}
+	}
+
+	private void process(List<Request> batch) {
+		List<PreparedReservation> prepared = new ArrayList<>();
+		List<Request> owners = new ArrayList<>();
+		for (Request r : batch) {
+			try {
+				prepared.add(reservationService.prepare(r.dto, r.username, null));
+				owners.add(r);
+			} catch (Exception e) {
+				fail(r, e.getMessage());
+			}
+		}
+		if (prepared.isEmpty()) {
+			return;
+		}
+		try {
+			reservationService.persistBatch(prepared);
+			for (int i = 0; i < prepared.size(); i++) {
+				finish(owners.get(i), prepared.get(i));
+			}
+		} catch (Exception e) {
+			// grupa nije upisana (npr. sediste je prodato na drugom cvoru), upis jedan po jedan
+			for (int i = 0; i < prepared.size(); i++) {
+				PreparedReservation p = prepared.get(i);
+				if (p.getError() != null) {
+					fail(owners.get(i), p.getError());
+					continue;
+				}
+				try {
+					owners.get(i).reservationId = reservationService.persistOne(p).getId();
+					owners.get(i).status = Status.DONE;
+				} catch (Exception ex) {
+					fail(owners.get(i), ex.getMessage());
+				}
+			}
+		}
+	}
+
+	private void finish(Request r, PreparedReservation p) {
+		if (p.getError() != null) {
+			fail(r, p.getError());
+		} else {
+			r.reservationId = p.getReservation().getId();
+			r.status = Status.DONE;
+		}
+	}
+
+	private void fail(Request r, String error) {
+		r.error = error;
+		r.status = Status.FAILED;
+	}
+
+	private ReservationRequestDTO toDTO(Request r) {
+		return new ReservationRequestDTO(r.id, r.status, r.reservationId, r.error, STATUS_URL + r.id);
+	}
+}
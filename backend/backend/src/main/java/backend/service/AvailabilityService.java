@@ -0,0 +1,121 @@
+package backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import backend.common.EventDaySectorKey;
+import backend.common.ExpiringLruCache;
+import backend.common.SeatBitmap;
+import backend.dto.EventDayAvailabilityDTO;
+import backend.dto.SectorAvailabilityDTO;
+import backend.exceptions.ResourceNotFoundException;
+import backend.model.Sector;
+import backend.model.SittingSector;
+import backend.model.StandingSector;
+import backend.repository.EventSectorRepository;
+
+/*
+ * Pregled slobodnih mesta po sektorima jednog dana dogadjaja.
+ * Zauzetost se cita iz bitmapa sedista i brojaca stajacih mesta koji se vec odrzavaju
+ * pri svakoj rezervaciji, pa se karte ne ucitavaju. Kodirani prikaz sedeceg sektora se
+ * cuva i pravi ponovo samo kad se bitmapa promeni, a raspored sektora se pamti kratko.
+ */
+@Service
+public class AvailabilityService {
+
+	private static final class SectorLayout {
+		private final Long eventSectorId;
+		private final double price;
+		private final Sector sector;
+
+		private SectorLayout(Long eventSectorId, double price, Sector sector) {
+			this.eventSectorId = eventSectorId;
+			this.price = price;
+			this.sector = sector;
+		}
+	}
+
+	private static final class EncodedSeats {
+		private final SeatBitmap seats;
+		private final long version;
+		private final int free;
+		private final int[][] freeRuns;
+
+		private EncodedSeats(SeatBitmap seats, long version, int free, int[][] freeRuns) {
+			this.seats = seats;
+			this.version = version;
+			this.free = free;
+			this.freeRuns = freeRuns;
+		}
+	}
+
+	@Autowired
+	EventDayService eventDayService;
+
+	@Autowired
+	EventSectorRepository eventSectorRepository;
+
+	@Autowired
+	SeatOccupancyService seatOccupancyService;
+
+	@Autowired
+	StandingCapacityService standingCapacityService;
+
+	private final ExpiringLruCache<Long, List<SectorLayout>> layouts = new ExpiringLruCache<>(1000,
+			TimeUnit.MINUTES.toMillis(1));
+	private final ConcurrentHashMap<EventDaySectorKey, EncodedSeats> encoded = new ConcurrentHashMap<>();
+
+	public EventDayAvailabilityDTO getAvailability(Long ed_id) throws ResourceNotFoundException {
+		List<SectorAvailabilityDTO> sectors = new ArrayList<>();
+		for (SectorLayout l : getLayout(ed_id)) {
+			if (l.sector instanceof SittingSector) {
+				SittingSector s = (SittingSector) l.sector;
+				EncodedSeats e = encode(ed_id, l.eventSectorId, s);
+				sectors.add(new SectorAvailabilityDTO(l.eventSectorId, s.getId(), s.getName(), "sitting", l.price,
+						e.seats.getCapacity(), e.free, s.getNumRows(), s.getNumCols(), e.freeRuns));
+			} else if (l.sector instanceof StandingSector) {
+				StandingSector s = (StandingSector) l.sector;
+				int sold = standingCapacityService.getSold(ed_id, l.eventSectorId);
+				sectors.add(new SectorAvailabilityDTO(l.eventSectorId, s.getId(), s.getName(), "standing", l.price,
+						s.getCapacity(), Math.max(0, s.getCapacity() - sold), null, null, null));
+			}
+		}
+		return new EventDayAvailabilityDTO(ed_id, sectors);
+	}
+
+	// sektori dogadjaja su izmenjeni
+	public void evictLayouts() {
+		layouts.clear();
+	}
+
+	private List<SectorLayout> getLayout(Long ed_id) throws ResourceNotFoundException {
+		List<SectorLayout> layout = layouts.get(ed_id);
+		if (layout == null) {
+			layout = new ArrayList<>();
+			for (Object[] row : eventSectorRepository.findLayoutByEventId(eventDayService.findEventId(ed_id))) {
+				layout.add(new SectorLayout((Long) row[0], (Double) row[1], (Sector) row[2]));
+			}
+			layouts.put(ed_id, layout);
+		}
+		return layout;
+	}
+
+	private EncodedSeats encode(Long ed_id, Long es_id, SittingSector sector) {
+		EventDaySectorKey key = EventDaySectorKey.of(ed_id, es_id);
+		SeatBitmap seats = seatOccupancyService.getSeats(ed_id, es_id, sector);
+		EncodedSeats e = encoded.get(key);
+		if (e != null && e.seats == seats && e.version == seats.getVersion()) {
+			return e;
+		}
+		// verzija se cita pre kodiranja, izmena tokom kodiranja ce izazvati novo kodiranje
+		long version = seats.getVersion();
+		e = new EncodedSeats(seats, version, seats.getCapacity() - seats.countTaken(), seats.encodeFreeRuns());
+		encoded.put(key, e);
+		return e;
+	}
+}
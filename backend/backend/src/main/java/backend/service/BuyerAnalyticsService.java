@@ -0,0 +1,252 @@
+package backend.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import backend.common.HyperLogLog;
+import backend.common.TransactionHooks;
+import backend.dto.charts.BuyerOverlapDTO;
+import backend.dto.charts.BuyerStatsDTO;
+import backend.dto.charts.DateIntervalDTO;
+import backend.exceptions.BadRequestException;
+import backend.model.BuyerSketch;
+import backend.model.Reservation;
+import backend.model.SalesScope;
+import backend.model.Ticket;
+import backend.repository.BuyerSketchRepository;
+import backend.repository.EventDayRepository;
+
+/*
+ * Broj razlicitih kupaca po dogadjaju i lokaciji, za svaki dan odrzavanja jedna
+ * HyperLogLog procena. Rezervacije se posle commit-a dodaju u procene u memoriji,
+ * koje se povremeno spajaju sa redovima u bazi; interval je unija procena njegovih dana.
+ * Procena ne moze da zaboravi kupca, pa otkazane rezervacije ostaju do rebuild-a.
+ */
+@Service
+public class BuyerAnalyticsService {
+
+	@Autowired
+	private BuyerSketchRepository buyerSketchRepository;
+
+	@Autowired
+	private EventDayRepository eventDayRepository;
+
+	private static final class SketchKey {
+		private final SalesScope scope;
+		private final Long id;
+		private final Date day;
+
+		private SketchKey(SalesScope scope, Long id, Date day) {
+			this.scope = scope;
+			this.id = id;
+			this.day = day;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(scope, id, day.getTime());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof SketchKey)) {
+				return false;
+			}
+			SketchKey o = (SketchKey) obj;
+			return scope == o.scope && id.equals(o.id) && day.getTime() == o.day.getTime();
+		}
+	}
+
+	private static final class Pending {
+		private final HyperLogLog buyers = new HyperLogLog();
+		private long reservations;
+	}
+
+	// promene koje jos nisu upisane u bazu; procena se menja samo unutar compute
+	private final ConcurrentHashMap<SketchKey, Pending> pending = new ConcurrentHashMap<>();
+
+	// dan dogadjaja -> {dogadjaj, lokacija, datum}
+	private final ConcurrentHashMap<Long, Object[]> eventDays = new ConcurrentHashMap<>();
+
+	// poziva se iz transakcije koja upisuje rezervaciju
+	public void add(Reservation r) {
+		if (r.getBuyer() == null || r.getBuyer().getId() == null || r.isCanceled() || r.getTickets() == null) {
+			return;
+		}
+		Set<SketchKey> keys = new HashSet<>();
+		for (Ticket t : r.getTickets()) {
+			if (t.getEventDay() == null) {
+				continue;
+			}
+			Object[] ed = resolve(t.getEventDay().getId());
+			if (ed[2] == null) {
+				continue;
+			}
+			keys.add(new SketchKey(SalesScope.EVENT, (Long) ed[0], (Date) ed[2]));
+			if (ed[1] != null) {
+				keys.add(new SketchKey(SalesScope.LOCATION, (Long) ed[1], (Date) ed[2]));
+			}
+		}
+		long buyer = r.getBuyer().getId();
+		TransactionHooks.afterCommit(() -> {
+			for (SketchKey key : keys) {
+				pending.compute(key, (k, p) -> {
+					Pending value = p != null ? p : new Pending();
+					value.buyers.add(buyer);
+					value.reservations++;
+					return value;
+				});
+			}
+		});
+	}
+
+	// spajanje promena iz memorije sa procenama u bazi
+	@Scheduled(fixedDelayString = "${buyers.sketch.flush.ms:30000}")
+	@Transactional(rollbackFor = Exception.class)
+	public int flush() {
+		int flushed = 0;
+		for (SketchKey key : new ArrayList<>(pending.keySet())) {
+			Pending p = pending.remove(key);
+			if (p == null) {
+				continue;
+			}
+			BuyerSketch sketch = buyerSketchRepository.findByScopeAndScopeIdAndDay(key.scope, key.id, key.day)
+					.orElseGet(() -> new BuyerSketch(key.scope, key.id, key.day));
+			sketch.setRegisters(HyperLogLog.fromBytes(sketch.getRegisters()).merge(p.buyers).toBytes());
+			sketch.setReservations(sketch.getReservations() + p.reservations);
+			buyerSketchRepository.save(sketch);
+			// ako upis ne uspe, promene se vracaju za sledeci pokusaj
+			TransactionHooks.afterRollback(() -> restore(key, p));
+			flushed++;
+		}
+		return flushed;
+	}
+
+	// procene se prave ponovo iz rezervacija koje nisu otkazane
+	@Transactional(rollbackFor = Exception.class)
+	public int rebuild() {
+		Map<SketchKey, Pending> sketches = new HashMap<>();
+		for (Object[] row : buyerSketchRepository.findBuyerFacts()) {
+			Date day = SalesRollupService.truncate((Date) row[4]);
+			add(sketches, new SketchKey(SalesScope.EVENT, (Long) row[2], day), (Long) row[1]);
+			if (row[3] != null) {
+				add(sketches, new SketchKey(SalesScope.LOCATION, (Long) row[3], day), (Long) row[1]);
+			}
+		}
+		pending.clear();
+		buyerSketchRepository.deleteAllSketches();
+		List<BuyerSketch> rows = new ArrayList<>();
+		for (Map.Entry<SketchKey, Pending> e : sketches.entrySet()) {
+			BuyerSketch sketch = new BuyerSketch(e.getKey().scope, e.getKey().id, e.getKey().day);
+			sketch.setRegisters(e.getValue().buyers.toBytes());
+			sketch.setReservations(e.getValue().reservations);
+			rows.add(sketch);
+		}
+		buyerSketchRepository.saveAll(rows);
+		return rows.size();
+	}
+
+	public BuyerStatsDTO stats(SalesScope scope, Long id) {
+		HyperLogLog buyers = new HyperLogLog();
+		long reservations = union(scope, id, null, null, buyers);
+		return stats(scope, id, buyers.estimate(), reservations);
+	}
+
+	public BuyerStatsDTO stats(SalesScope scope, Long id, DateIntervalDTO interval) throws BadRequestException {
+		if (interval.getStartDate().after(interval.getEndDate())) {
+			throw new BadRequestException("Start date must be after end date!");
+		}
+		HyperLogLog buyers = new HyperLogLog();
+		long reservations = union(scope, id, SalesRollupService.truncate(interval.getStartDate()),
+				SalesRollupService.truncate(interval.getEndDate()), buyers);
+		return stats(scope, id, buyers.estimate(), reservations);
+	}
+
+	// zajednicki kupci dva dogadjaja: |A| + |B| - |A u B|
+	public BuyerOverlapDTO overlap(Long firstEventId, Long secondEventId) {
+		HyperLogLog first = new HyperLogLog();
+		union(SalesScope.EVENT, firstEventId, null, null, first);
+		HyperLogLog second = new HyperLogLog();
+		union(SalesScope.EVENT, secondEventId, null, null, second);
+		long a = first.estimate();
+		long b = second.estimate();
+		long all = first.copy().merge(second).estimate();
+		long common = Math.max(0, Math.min(Math.min(a, b), a + b - all));
+		return new BuyerOverlapDTO(firstEventId, secondEventId, a, b, common,
+				all == 0 ? 0 : (double) common / all);
+	}
+
+	private BuyerStatsDTO stats(SalesScope scope, Long id, long buyers, long reservations) {
+		// udeo rezervacija koje su napravili kupci koji su vec kupovali
+		double repeatRate = reservations == 0 ? 0 : Math.max(0, 1 - (double) buyers / reservations);
+		return new BuyerStatsDTO(scope.name(), id, buyers, reservations, repeatRate);
+	}
+
+	// spaja procene dana u intervalu (null je bez granice) u buyers, vraca broj rezervacija
+	private long union(SalesScope scope, Long id, Date start, Date end, HyperLogLog buyers) {
+		List<BuyerSketch> rows = start == null ? buyerSketchRepository.findByScopeAndScopeId(scope, id)
+				: buyerSketchRepository.findByScopeAndScopeIdAndDayBetween(scope, id, start, end);
+		long[] reservations = { 0 };
+		for (BuyerSketch sketch : rows) {
+			buyers.merge(HyperLogLog.fromBytes(sketch.getRegisters()));
+			reservations[0] += sketch.getReservations();
+		}
+		for (SketchKey key : pending.keySet()) {
+			if (key.scope != scope || !key.id.equals(id)
+					|| (start != null && (key.day.before(start) || key.day.after(end)))) {
+				continue;
+			}
+			pending.computeIfPresent(key, (k, p) -> {
+				buyers.merge(p.buyers);
+				reservations[0] += p.reservations;
+				return p;
+			});
+		}
+		return reservations[0];
+	}
+
+	private void restore(SketchKey key, Pending p) {
+		pending.compute(key, (k, current) -> {
+			if (current == null) {
+				return p;
+			}
+			current.buyers.merge(p.buyers);
+			current.reservations += p.reservations;
+			return current;
+		});
+	}
+
+	private static void add(Map<SketchKey, Pending> sketches, SketchKey key, Long buyer) {
+		Pending p = sketches.computeIfAbsent(key, k -> new Pending());
+		p.buyers.add(buyer);
+		p.reservations++;
+	}
+
+	private Object[] resolve(Long ed_id) {
+		Object[] ed = eventDays.get(ed_id);
+		if (ed == null) {
+			ed = new Object[3];
+			List<Object[]> rows = eventDayRepository.findEventAndLocationIdById(ed_id);
+			if (!rows.isEmpty()) {
+				Object[] row = rows.get(0);
+				ed[0] = row[0];
+				ed[1] = row[1];
+				ed[2] = row[2] == null ? null : SalesRollupService.truncate((Date) row[2]);
+				eventDays.put(ed_id, ed);
+			}
+		}
+		return ed;
+	}
+}
@@ -0,0 +1,100 @@
+package backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import backend.common.BoundedCache;
+import backend.common.TransactionHooks;
+import backend.config.CacheConfig;
+import backend.dto.CacheStatsDTO;
+import backend.dto.EntityCacheStatsDTO;
+import backend.exceptions.ResourceNotFoundException;
+
+/*
+ * Pregled i praznjenje regiona kesa. Upisi rezervacija i kataloga javljaju promenu ovde,
+ * a regioni koji od nje zavise se prazne tek posle commit-a, da citanje izmedju ne bi
+ * vratilo u kes staro stanje.
+ */
+@Service
+public class CacheService {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	// katalog cuva samo projekcije bez karata, pa ga prodaja ne menja
+	public void salesChanged() {
+		clearAfterCommit(CacheConfig.CHARTS, CacheConfig.SYSINFO);
+	}
+
+	// nazivi dogadjaja i lokacija su i u grafikonima
+	public void catalogChanged() {
+		clearAfterCommit(CacheConfig.CATALOG, CacheConfig.CHARTS, CacheConfig.SYSINFO, CacheConfig.LOOKUPS);
+	}
+
+	/*
+	 * Location.halls i Hall.sectors su na strani mappedBy: Hibernate ih u second-level kesu
+	 * ne menja kada se sacuva ili obrise sala ili sektor, pa se prazne ovde.
+	 */
+	public void venueChanged() {
+		TransactionHooks.afterCommit(() -> {
+			org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+			cache.evictCollectionData("backend.model.Location.halls");
+			cache.evictCollectionData("backend.model.Hall.sectors");
+		});
+	}
+
+	// regioni Hibernate second-level kesa (entiteti, kolekcije i upiti)
+	public List<EntityCacheStatsDTO> entityStats() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		List<EntityCacheStatsDTO> stats = new ArrayList<>();
+		for (String name : statistics.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+			if (region != null) {
+				stats.add(new EntityCacheStatsDTO(region));
+			}
+		}
+		return stats;
+	}
+
+	public List<CacheStatsDTO> stats() {
+		List<CacheStatsDTO> stats = new ArrayList<>();
+		for (String name : cacheManager.getCacheNames()) {
+			Cache cache = cacheManager.getCache(name);
+			if (cache instanceof BoundedCache) {
+				stats.add(new CacheStatsDTO((BoundedCache) cache));
+			}
+		}
+		return stats;
+	}
+
+	public void clear(String name) throws ResourceNotFoundException {
+		if (!cacheManager.getCacheNames().contains(name)) {
+			throw new ResourceNotFoundException("Could not find cache " + name);
+		}
+		cacheManager.getCache(name).clear();
+	}
+
+	private void clearAfterCommit(String... names) {
+		TransactionHooks.afterCommit(() -> {
+			for (String name : names) {
+				Cache cache = cacheManager.getCache(name);
+				if (cache != null) {
+					cache.clear();
+				}
+			}
+		});
+	}
+}
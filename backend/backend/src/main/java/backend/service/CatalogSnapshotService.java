@@ -0,0 +1,411 @@
+package backend.service;
+
+import static backend.constants.Constants.FIRST_TIMESTAMP;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import backend.common.TransactionHooks;
+import backend.dto.EventDaySummaryDTO;
+import backend.dto.EventDetailsDTO;
+import backend.dto.EventSectorSummaryDTO;
+import backend.exceptions.ResourceNotFoundException;
+import backend.model.Event;
+import backend.model.EventDay;
+import backend.model.EventSector;
+import backend.model.Location;
+import backend.model.Sector;
+import backend.repository.EventDayRepository;
+import backend.repository.EventRepository;
+import backend.repository.EventSectorRepository;
+import backend.repository.LocationRepository;
+import backend.repository.SectorRepository;
+
+/*
+ * Javni katalog (aktivni dogadjaji i lokacije) kao vec serijalizovan JSON u memoriji.
+ * Dogadjaj ima isti oblik kao entitet Event, sa lokacijom, salama i sektorima, ali bez
+ * karata dana: sastavlja se od projekcija i entiteta mesta, pa se karte ne ucitavaju
+ * i prodaja ne menja snapshot. Snapshot se ne menja, citanja idu kroz volatile referencu
+ * bez zakljucavanja. Posle commit-a ponovo se serijalizuju samo izmenjeni dogadjaji, a
+ * izmena lokacije, sale, sektora ili adrese osvezava tu lokaciju i njene dogadjaje. Dok
+ * snapshot ne postoji (pokretanje, greska, catalog.snapshot.enabled=false) cita se iz baze.
+ */
+@Service
+public class CatalogSnapshotService {
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private EventDayRepository eventDayRepository;
+
+	@Autowired
+	private EventSectorRepository eventSectorRepository;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private SectorRepository sectorRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${catalog.snapshot.enabled:true}")
+	private boolean enabled;
+
+	private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	// karte dana nisu deo kataloga
+	@JsonIgnoreProperties("tickets")
+	private abstract static class WithoutTickets {
+	}
+
+	private volatile ObjectMapper catalogMapper;
+
+	private static final class Snapshot {
+		// id -> JSON, po id-ju kao i upit iz baze
+		private final Map<Long, byte[]> events;
+		private final Map<Long, byte[]> locations;
+		private final byte[] eventList;
+		private final byte[] locationList;
+
+		private Snapshot(TreeMap<Long, byte[]> events, Map<Long, byte[]> locations, byte[] locationList) {
+			this.events = Collections.unmodifiableMap(events);
+			this.locations = Collections.unmodifiableMap(locations);
+			this.eventList = array(events.values());
+			this.locationList = locationList == null ? array(locations.values()) : locationList;
+		}
+	}
+
+	private volatile Snapshot snapshot;
+
+	// izmene koje cekaju; obradjuje ih prvi refresh posle commit-a
+	private final Set<Long> pendingEvents = new HashSet<>();
+	private final Set<Long> pendingLocations = new HashSet<>();
+	private boolean pendingFull;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void init() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			// aplikacija radi i bez snapshot-a, citanjem iz baze
+			logger.error("Catalog snapshot build failed", e);
+		}
+	}
+
+	public synchronized int rebuild() {
+		pendingEvents.clear();
+		pendingLocations.clear();
+		pendingFull = false;
+		try {
+			snapshot = read(() -> {
+				TreeMap<Long, byte[]> events = events(eventRepository.findAllDetails());
+				TreeMap<Long, byte[]> locations = new TreeMap<>();
+				for (Location l : locationRepository.findAllByDeleted(FIRST_TIMESTAMP)) {
+					locations.put(l.getId(), json(l));
+				}
+				return new Snapshot(events, locations, null);
+			});
+			return snapshot.events.size();
+		} catch (RuntimeException e) {
+			snapshot = null;
+			throw e;
+		}
+	}
+
+	// poziva se iz transakcije koja menja dogadjaj, njegove dane ili sektore
+	public void eventChanged(Long eventId) {
+		if (eventId != null) {
+			eventsChanged(Collections.singleton(eventId));
+		}
+	}
+
+	public void eventsChanged(Collection<Long> eventIds) {
+		if (!enabled || eventIds == null || eventIds.isEmpty()) {
+			return;
+		}
+		Set<Long> ids = new HashSet<>(eventIds);
+		TransactionHooks.afterCommit(() -> {
+			synchronized (this) {
+				pendingEvents.addAll(ids);
+			}
+			refresh();
+		});
+	}
+
+	// poziva se iz transakcije koja menja lokaciju, njenu adresu, sale ili sektore
+	public void locationChanged(Long locationId) {
+		if (locationId != null) {
+			locationsChanged(Collections.singleton(locationId));
+		}
+	}
+
+	public void locationsChanged(Collection<Long> locationIds) {
+		if (!enabled || locationIds == null || locationIds.isEmpty()) {
+			return;
+		}
+		Set<Long> ids = new HashSet<>(locationIds);
+		TransactionHooks.afterCommit(() -> {
+			synchronized (this) {
+				pendingLocations.addAll(ids);
+			}
+			refresh();
+		});
+	}
+
+	public byte[] activeEvents() {
+		Snapshot current = snapshot;
+		if (current != null) {
+			return current.eventList;
+		}
+		return read(() -> array(events(eventRepository.findAllDetails()).values()));
+	}
+
+	public byte[] event(Long id) throws ResourceNotFoundException {
+		Snapshot current = snapshot;
+		byte[] json = current != null ? current.events.get(id)
+				: read(() -> eventJson(id));
+		if (json == null) {
+			throw new ResourceNotFoundException("Could not find requested event");
+		}
+		return json;
+	}
+
+	public byte[] locations() {
+		Snapshot current = snapshot;
+		if (current != null) {
+			return current.locationList;
+		}
+		return read(() -> {
+			TreeMap<Long, byte[]> locations = new TreeMap<>();
+			for (Location l : locationRepository.findAllByDeleted(FIRST_TIMESTAMP)) {
+				locations.put(l.getId(), json(l));
+			}
+			return array(locations.values());
+		});
+	}
+
+	public byte[] location(Long id) throws ResourceNotFoundException {
+		Snapshot current = snapshot;
+		byte[] json = current != null ? current.locations.get(id)
+				: read(() -> locationRepository.findByIdAndDeleted(id, FIRST_TIMESTAMP).map(this::json).orElse(null));
+		if (json == null) {
+			throw new ResourceNotFoundException("Could not find requested location");
+		}
+		return json;
+	}
+
+	/*
+	 * Novi snapshot se pravi od starog: menjaju se samo izmenjene lokacije i dogadjaji, a liste
+	 * su spoj vec serijalizovanih elemenata. Ako pravljenje ne uspe, citanja idu u bazu do
+	 * sledece izmene, koja onda pravi ceo snapshot.
+	 */
+	private synchronized void refresh() {
+		if (!pendingFull && pendingEvents.isEmpty() && pendingLocations.isEmpty()) {
+			return;
+		}
+		Snapshot current = snapshot;
+		if (pendingFull || current == null) {
+			try {
+				rebuild();
+			} catch (RuntimeException e) {
+				pendingFull = true;
+				logger.error("Catalog snapshot rebuild failed", e);
+			}
+			return;
+		}
+		Set<Long> eventIds = new HashSet<>(pendingEvents);
+		Set<Long> locationIds = new HashSet<>(pendingLocations);
+		pendingEvents.clear();
+		pendingLocations.clear();
+		try {
+			snapshot = read(() -> {
+				TreeMap<Long, byte[]> locations = new TreeMap<>(current.locations);
+				byte[] locationList = current.locationList;
+				if (!locationIds.isEmpty()) {
+					for (Long id : locationIds) {
+						Optional<Location> l = locationRepository.findByIdAndDeleted(id, FIRST_TIMESTAMP);
+						if (l.isPresent()) {
+							locations.put(id, json(l.get()));
+						} else {
+							locations.remove(id);
+						}
+					}
+					locationList = null;
+					// lokacija je ugradjena u svoje dogadjaje
+					eventIds.addAll(eventRepository.findIdsByLocationIds(locationIds));
+				}
+				TreeMap<Long, byte[]> events = new TreeMap<>(current.events);
+				for (Long id : eventIds) {
+					byte[] json = eventJson(id);
+					if (json != null) {
+						events.put(id, json);
+					} else {
+						events.remove(id);
+					}
+				}
+				return new Snapshot(events, locations, locationList);
+			});
+		} catch (RuntimeException e) {
+			snapshot = null;
+			pendingFull = true;
+			logger.error("Catalog snapshot refresh failed", e);
+		}
+	}
+
+	// lenje kolekcije (sale lokacije) se ucitavaju pri serijalizaciji, pa treba sesija
+	private <T> T read(Supplier<T> body) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		template.setReadOnly(true);
+		return template.execute(status -> body.get());
+	}
+
+	// null ako dogadjaj ne postoji ili je obrisan
+	private byte[] eventJson(Long id) {
+		Optional<EventDetailsDTO> e = eventRepository.findDetailsById(id);
+		return e.isPresent() ? events(Collections.singletonList(e.get())).get(id) : null;
+	}
+
+	/*
+	 * Skalari, slike, videi, dani i sektori dogadjaja dolaze iz projekcija, a lokacija i
+	 * sektori sale su entiteti iz L2 kesa, ucitani jednom za sve dogadjaje.
+	 */
+	private TreeMap<Long, byte[]> events(List<EventDetailsDTO> events) {
+		TreeMap<Long, byte[]> json = new TreeMap<>();
+		if (events.isEmpty()) {
+			return json;
+		}
+		Map<Long, EventDetailsDTO> byId = new HashMap<>();
+		Set<Long> locationIds = new HashSet<>();
+		for (EventDetailsDTO e : events) {
+			byId.put(e.getId(), e);
+			if (e.getLocation_id() != null) {
+				locationIds.add(e.getLocation_id());
+			}
+		}
+		for (Object[] row : eventRepository.findImagePaths(new ArrayList<>(byId.keySet()))) {
+			byId.get(row[0]).getImage_paths().add((String) row[1]);
+		}
+		Set<Long> sectorIds = new HashSet<>();
+		for (EventDetailsDTO e : events) {
+			e.setVideo_paths(eventRepository.findVideoPaths(e.getId()));
+			e.setSectors(eventSectorRepository.findSummariesByEventId(e.getId()));
+			e.setEvent_days(eventDayRepository.findSummariesByEventId(e.getId()));
+			for (EventSectorSummaryDTO es : e.getSectors()) {
+				sectorIds.add(es.getSector_id());
+			}
+		}
+		Map<Long, Location> locations = new HashMap<>();
+		for (Location l : locationRepository.findAllById(locationIds)) {
+			locations.put(l.getId(), l);
+		}
+		Map<Long, Sector> sectors = new HashMap<>();
+		for (Sector s : sectorRepository.findAllById(sectorIds)) {
+			sectors.put(s.getId(), s);
+		}
+		for (EventDetailsDTO e : events) {
+			json.put(e.getId(), json(toEvent(e, locations, sectors)));
+		}
+		return json;
+	}
+
+	// Event van sesije, samo za serijalizaciju
+	private static Event toEvent(EventDetailsDTO dto, Map<Long, Location> locations, Map<Long, Sector> sectors) {
+		Event e = new Event();
+		e.setId(dto.getId());
+		e.setName(dto.getName());
+		e.setDescription(dto.getDescription());
+		e.setEventType(dto.getEvent_type());
+		e.setStartDate(dto.getStart_date());
+		e.setEndDate(dto.getEnd_date());
+		e.setMaxTickets(dto.getMax_tickets());
+		e.setNumDays(dto.getNum_days());
+		e.setLocation(dto.getLocation_id() == null ? null : locations.get(dto.getLocation_id()));
+		e.setImagePaths(new LinkedHashSet<>(dto.getImage_paths()));
+		e.setVideoPaths(new LinkedHashSet<>(dto.getVideo_paths()));
+		e.setEventSectors(new LinkedHashSet<>());
+		for (EventSectorSummaryDTO s : dto.getSectors()) {
+			e.getEventSectors().add(new EventSector(s.getId(), s.getPrice(), e, sectors.get(s.getSector_id()), false));
+		}
+		e.setEventDays(new LinkedHashSet<>());
+		for (EventDaySummaryDTO d : dto.getEvent_days()) {
+			EventDay day = new EventDay();
+			day.setId(d.getId());
+			day.setName(d.getName());
+			day.setDescription(d.getDescription());
+			day.setDate(d.getDate());
+			day.setStatus(d.getStatus());
+			day.setEvent(e);
+			e.getEventDays().add(day);
+		}
+		return e;
+	}
+
+	private byte[] json(Object value) {
+		ObjectMapper mapper = catalogMapper;
+		if (mapper == null) {
+			mapper = objectMapper.copy().addMixIn(EventDay.class, WithoutTickets.class);
+			catalogMapper = mapper;
+		}
+		try {
+			return mapper.writeValueAsBytes(value);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static byte[] array(Collection<byte[]> items) {
+		int size = 2 + Math.max(0, items.size() - 1);
+		for (byte[] item : items) {
+			size += item.length;
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+		out.write('[');
+		boolean first = true;
+		for (byte[] item : items) {
+			if (!first) {
+				out.write(',');
+			}
+			out.write(item, 0, item.length);
+			first = false;
+		}
+		out.write(']');
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,81 @@
+package backend.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import backend.common.TransactionHooks;
+
+/*
+ * Brojac verzije za svaki deo kataloga, povecava se posle commit-a upisa. ETag odgovora
+ * je spoj verzija delova od kojih odgovor zavisi, pa se If-None-Match proverava bez baze.
+ * Verzije su u memoriji, zato ETag sadrzi i vreme pokretanja.
+ */
+@Service
+public class CatalogVersionService {
+
+	public enum Aggregate {
+		EVENT, LOCATION, HALL, SECTOR, SALES
+	}
+
+	public interface Body<T, E extends Exception> {
+		T get() throws E;
+	}
+
+	private static final class Version {
+		private final AtomicLong counter = new AtomicLong();
+		private volatile long modified;
+	}
+
+	private final long started = System.currentTimeMillis();
+	private final Map<Aggregate, Version> versions = new EnumMap<>(Aggregate.class);
+
+	public CatalogVersionService() {
+		for (Aggregate a : Aggregate.values()) {
+			Version v = new Version();
+			v.modified = started;
+			versions.put(a, v);
+		}
+	}
+
+	// poziva se iz transakcije koja menja deo kataloga
+	public void changed(Aggregate aggregate) {
+		TransactionHooks.afterCommit(() -> {
+			Version v = versions.get(aggregate);
+			v.modified = System.currentTimeMillis();
+			v.counter.incrementAndGet();
+		});
+	}
+
+	public String etag(Aggregate... aggregates) {
+		StringBuilder sb = new StringBuilder("\"").append(Long.toString(started, 36));
+		for (Aggregate a : aggregates) {
+			sb.append('-').append(a.ordinal()).append('.').append(versions.get(a).counter.get());
+		}
+		return sb.append('"').toString();
+	}
+
+	public long lastModified(Aggregate... aggregates) {
+		long modified = started;
+		for (Aggregate a : aggregates) {
+			modified = Math.max(modified, versions.get(a).modified);
+		}
+		return modified;
+	}
+
+	/*
+	 * Ako klijent ima trenutnu verziju, checkNotModified postavlja 304 i vraca se null, pa se
+	 * body ne racuna. Inace su ETag i Last-Modified vec postavljeni na odgovor.
+	 */
+	public <T, E extends Exception> ResponseEntity<T> conditional(WebRequest request, Body<T, E> body,
+			Aggregate... aggregates) throws E {
+		if (request.checkNotModified(etag(aggregates), lastModified(aggregates))) {
+			return null;
+		}
+		return ResponseEntity.ok(body.get());
+	}
+}
@@ -3,16 +3,16 @@ package backend.service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import backend.config.CacheConfig;
 import backend.dto.charts.ChartEventTicketsSoldDTO;
 import backend.dto.charts.ChartIncomeEventsDTO;
 import backend.dto.charts.ChartIncomeLocationsDTO;
@@ -20,11 +20,8 @@ import backend.dto.charts.ChartLocationTicketsSoldDTO;
 import backend.dto.charts.DateIntervalDTO;
 import backend.dto.charts.SystemInformationsDTO;
 import backend.exceptions.BadRequestException;
-import backend.model.Authority;
-import backend.model.Event;
-import backend.model.Location;
-import backend.model.Ticket;
-import backend.model.User;
+import backend.model.EventStatus;
+import backend.model.Role;
 
 @Service
 @Transactional
@@ -40,278 +37,232 @@ public class ChartService {
 	EventService eventService;
 
 	@Autowired
-	LocationService locationService;
+	SalesCounterService salesCounterService;
 
+	@Autowired
+	SalesRollupService salesRollupService;
+
+	@Autowired
+	EventDayService eventDayService;
+
+	// brojevi se racunaju u bazi i cuvaju kratko, jer se stranica cesto osvezava
+	@Cacheable(CacheConfig.SYSINFO)
 	public SystemInformationsDTO systemInformations() {
 		SystemInformationsDTO info = new SystemInformationsDTO();
 
-		List<User> users = userService.findAll();
-		List<Ticket> tickets = ticketService.findAll();
-		List<Event> events = eventService.findAll();
-
-		int adminCount = 0;
-		int userCount = 0;
-		for (User user : users) {
-			List<String> roles = user
-					.getAuthorities()
-					.stream()
-					.map(authority -> ((Authority) authority).getRole()
-							.toString()).collect(Collectors.toList());
-			if (roles.contains("ROLE_REGISTERED_USER")) {
-				userCount++;
-			} else if (roles.contains("ROLE_ADMIN")) {
-				adminCount++;
+		for (Object[] row : userService.countByRole()) {
+			if (row[0] == Role.ROLE_REGISTERED_USER) {
+				info.setNumberOfUsers(((Long) row[1]).intValue());
+			} else if (row[0] == Role.ROLE_ADMIN) {
+				info.setNumberOfAdmins(((Long) row[1]).intValue());
 			}
 		}
 
-		double[] income = { 0.0 };
-		tickets.stream().forEach(
-				c -> income[0] += c.getEventSector().getPrice());
-
-		info.setNumberOfAdmins(adminCount);
-		info.setNumberOfUsers(userCount);
-		info.setNumberOfEvents(events.size());
-		info.setAllTimeTickets(tickets.size());
-		info.setAllTimeIncome(income[0]);
+		List<Object[]> tickets = ticketService.countAndSumPrices();
+		if (!tickets.isEmpty()) {
+			info.setAllTimeTickets(((Long) tickets.get(0)[0]).intValue());
+			Double income = (Double) tickets.get(0)[1];
+			info.setAllTimeIncome(income == null ? 0 : income);
+		}
+		info.setNumberOfEvents((int) eventService.count());
+		for (Object[] row : eventDayService.countByStatus()) {
+			if (row[0] != null) {
+				info.getEventDaysByStatus().put((EventStatus) row[0], (Long) row[1]);
+			}
+		}
 
 		return info;
 
 	}
 
+	@Cacheable(CacheConfig.CHARTS)
 	public List<ChartIncomeEventsDTO> incomeByEvents() {
 		// List of eventName + event income, PLUS average + average_event_income
 		ArrayList<ChartIncomeEventsDTO> info = new ArrayList<ChartIncomeEventsDTO>();
 
-		List<Event> events = eventService.findAll();
+		// one row per event, read from the sales counters
+		List<Object[]> rows = salesCounterService.sumByEvent();
 
-		if (events == null || events.isEmpty()) {
+		if (rows == null || rows.isEmpty()) {
 			return info;
 		}
 
 		double sum = 0;
-		for (Event event : events) {
-			double[] income = { 0.0 };
-			List<Ticket> eventTickets = ticketService.findAllByEvent(event
-					.getId());
-			eventTickets.stream().forEach(
-					c -> income[0] += c.getEventSector().getPrice());
-			sum += income[0];
-			info.add(new ChartIncomeEventsDTO(event.getName(), income[0]));
+		for (Object[] row : rows) {
+			sum += income(row);
+			info.add(new ChartIncomeEventsDTO((String) row[1], income(row)));
 		}
-		 BigDecimal bd = new BigDecimal(sum / (double) events.size()).setScale(2, RoundingMode.HALF_UP);
+		BigDecimal bd = new BigDecimal(sum / (double) rows.size()).setScale(2, RoundingMode.HALF_UP);
 		info.add(new ChartIncomeEventsDTO("Average", bd.doubleValue()));
 		return info;
 	}
 
+	@Cacheable(CacheConfig.CHARTS)
 	public List<ChartEventTicketsSoldDTO> soldTicketsByEvents() {
 		// List of eventName + event_tickets_sold, PLUS average +
 		// average_event_tickets_sold
 		ArrayList<ChartEventTicketsSoldDTO> info = new ArrayList<ChartEventTicketsSoldDTO>();
 
-		List<Event> events = eventService.findAll();
+		List<Object[]> rows = salesCounterService.sumByEvent();
 
-		if (events == null || events.isEmpty()) {
+		if (rows == null || rows.isEmpty()) {
 			return info;
 		}
 
 		double sum = 0.0;
-		for (Event event : events) {
-			double soldTickets = (double) ticketService.findAllByEvent(
-					event.getId()).size();
-			sum += soldTickets;
-			info.add(new ChartEventTicketsSoldDTO(event.getName(), soldTickets));
+		for (Object[] row : rows) {
+			sum += count(row);
+			info.add(new ChartEventTicketsSoldDTO((String) row[1], count(row)));
 		}
-		BigDecimal bd = new BigDecimal(sum/(double) events.size()).setScale(2, RoundingMode.HALF_UP);
+		BigDecimal bd = new BigDecimal(sum/(double) rows.size()).setScale(2, RoundingMode.HALF_UP);
 		info.add(new ChartEventTicketsSoldDTO("Average", bd.doubleValue()));
 		return info;
 	}
 
 	// Only interested in events in given interval
+	@Cacheable(CacheConfig.CHARTS)
 	public List<ChartIncomeEventsDTO> incomeByEvents(
 			@Valid DateIntervalDTO interval) throws BadRequestException {
 		ArrayList<ChartIncomeEventsDTO> info = new ArrayList<ChartIncomeEventsDTO>();
 
-		if (interval.getStartDate().after(interval.getEndDate())) {
-			throw new BadRequestException("Start date must be after end date!");
-		}
-
-		List<Event> events = eventService.findByInterval(interval);
+		List<Object[]> rows = eventRows(interval);
 
-		if (events == null || events.isEmpty()) {
+		if (rows == null || rows.isEmpty()) {
 			return info;
 		}
 
 		double sum = 0;
-		for (Event event : events) {
-			double[] income = { 0.0 };
-			List<Ticket> eventTickets = ticketService.findAllByEvent(event
-					.getId());
-			eventTickets.stream().forEach(
-					c -> income[0] += c.getEventSector().getPrice());
-			sum += income[0];
-			info.add(new ChartIncomeEventsDTO(event.getName(), income[0]));
+		for (Object[] row : rows) {
+			sum += income(row);
+			info.add(new ChartIncomeEventsDTO((String) row[1], income(row)));
 		}
-		info.add(new ChartIncomeEventsDTO("Average", sum / (double) events.size()));
+		info.add(new ChartIncomeEventsDTO("Average", sum / (double) rows.size()));
 		return info;
 	}
 
+	@Cacheable(CacheConfig.CHARTS)
 	public List<ChartEventTicketsSoldDTO> soldTicketsByEvents(
 			@Valid DateIntervalDTO interval) throws BadRequestException {
 		ArrayList<ChartEventTicketsSoldDTO> info = new ArrayList<ChartEventTicketsSoldDTO>();
 
-		if (interval.getStartDate().after(interval.getEndDate())) {
-			throw new BadRequestException("Start date must be after end date!");
-		}
+		List<Object[]> rows = eventRows(interval);
 
-		List<Event> events = eventService.findByInterval(interval);
-
-		if (events == null || events.isEmpty()) {
+		if (rows == null || rows.isEmpty()) {
 			return info;
 		}
 
 		double sum = 0;
-		for (Event event : events) {
-			double soldTickets = ticketService.findAllByEvent(event.getId())
-					.size();
-			sum += soldTickets;
-			info.add(new ChartEventTicketsSoldDTO(event.getName(), soldTickets));
+		for (Object[] row : rows) {
+			sum += count(row);
+			info.add(new ChartEventTicketsSoldDTO((String) row[1], count(row)));
 		}
-		info.add(new ChartEventTicketsSoldDTO("Average", sum / (double) events.size()));
+		info.add(new ChartEventTicketsSoldDTO("Average", sum / (double) rows.size()));
 		return info;
 	}
 
+	@Cacheable(CacheConfig.CHARTS)
 	public List<ChartIncomeLocationsDTO> incomeByLocations() {
 		ArrayList<ChartIncomeLocationsDTO> info = new ArrayList<ChartIncomeLocationsDTO>();
 
-		List<Location> locations = locationService.findAll();
+		List<Object[]> rows = salesCounterService.sumByLocation();
 
-		if (locations == null || locations.isEmpty()) {
+		if (rows == null || rows.isEmpty()) {
 			return info;
 		}
 
 		double sum = 0;
-		for (Location location : locations) {
-			List<Ticket> locationTickets = ticketService
-					.findAllByLocation(location.getId());
-
-			double inc = locationTickets.stream()
-					.mapToDouble(c -> c.getEventSector().getPrice()).sum();
-
-			sum += inc;
-			info.add(new ChartIncomeLocationsDTO(location.getName(), inc));
+		for (Object[] row : rows) {
+			sum += income(row);
+			info.add(new ChartIncomeLocationsDTO((String) row[1], income(row)));
 		}
-		info.add(new ChartIncomeLocationsDTO("Average", sum / (double) locations.size()));
+		info.add(new ChartIncomeLocationsDTO("Average", sum / (double) rows.size()));
 		return info;
 	}
 
+	@Cacheable(CacheConfig.CHARTS)
 	public List<ChartLocationTicketsSoldDTO> soldTicketsByLocations() {
 		ArrayList<ChartLocationTicketsSoldDTO> info = new ArrayList<ChartLocationTicketsSoldDTO>();
 
-		List<Location> locations = locationService.findAll();
+		List<Object[]> rows = salesCounterService.sumByLocation();
 
-		if (locations == null || locations.isEmpty()) {
+		if (rows == null || rows.isEmpty()) {
 			return info;
 		}
 
 		double sum = 0;
-		for (Location location : locations) {
-			double soldTickets = ticketService.findAllByLocation(location.getId())
-					.size();
-			sum += soldTickets;
-			info.add(new ChartLocationTicketsSoldDTO(location.getName(),
-					soldTickets));
+		for (Object[] row : rows) {
+			sum += count(row);
+			info.add(new ChartLocationTicketsSoldDTO((String) row[1], count(row)));
 		}
 		info.add(new ChartLocationTicketsSoldDTO("Average", sum
-				/ (double) locations.size()));
+				/ (double) rows.size()));
 		return info;
 	}
 
+	@Cacheable(CacheConfig.CHARTS)
 	public List<ChartIncomeLocationsDTO> incomeByLocations(
 			DateIntervalDTO interval) throws BadRequestException {
 		ArrayList<ChartIncomeLocationsDTO> info = new ArrayList<ChartIncomeLocationsDTO>();
-		// List of locations that had events at given interval
-		HashMap<Location, Double> locations = new HashMap<Location, Double>();
-
-		if (interval.getStartDate().after(interval.getEndDate())) {
-			throw new BadRequestException("Start date must be after end date!");
-		}
-
-		List<Event> events = eventService.findByInterval(interval);
+		// locations that had events at given interval
+		List<Object[]> rows = locationRows(interval);
 
 		// if there wasn't any event then no location made profit
-		if (events == null || events.isEmpty()) {
+		if (rows == null || rows.isEmpty()) {
 			return info;
 		}
 
 		double sum = 0;
-		for (Event e : events) {
-			if (!locations.containsKey(e.getLocation())) {
-				List<Ticket> locationTickets = ticketService.findAllByEvent(e
-						.getId());
-
-				double inc = locationTickets.stream()
-						.mapToDouble(c -> c.getEventSector().getPrice()).sum();
-
-				sum += inc;
-				locations.put(e.getLocation(), inc);
-			} else {
-				List<Ticket> locationTickets = ticketService.findAllByEvent(e
-						.getId());
-
-				double inc = locationTickets.stream()
-						.mapToDouble(c -> c.getEventSector().getPrice()).sum();
-
-				sum += inc;
-				locations.put(e.getLocation(), locations.get(e.getLocation())
-						+ inc);
-			}
-		}
-		for (Location l : locations.keySet()) {
-			info.add(new ChartIncomeLocationsDTO(l.getName(), locations.get(l)));
+		for (Object[] row : rows) {
+			sum += income(row);
+			info.add(new ChartIncomeLocationsDTO((String) row[1], income(row)));
 		}
-		info.add(new ChartIncomeLocationsDTO("Average", sum / (double) locations.size()));
+		info.add(new ChartIncomeLocationsDTO("Average", sum / (double) rows.size()));
 		return info;
 	}
 
+	@Cacheable(CacheConfig.CHARTS)
 	public List<ChartLocationTicketsSoldDTO> soldTicketsByLocations(
 			DateIntervalDTO interval) throws BadRequestException {
 		ArrayList<ChartLocationTicketsSoldDTO> info = new ArrayList<ChartLocationTicketsSoldDTO>();
-		// List of locations that had events at given interval
-		HashMap<Location, Double> locations = new HashMap<Location, Double>();
-
-		if (interval.getStartDate().after(interval.getEndDate())) {
-			throw new BadRequestException("Start date must be after end date!");
-		}
-
-		List<Event> events = eventService.findByInterval(interval);
+		// locations that had events at given interval
+		List<Object[]> rows = locationRows(interval);
 
 		// if there wasn't any event then no location made profit
-		if (events == null || events.isEmpty()) {
+		if (rows == null || rows.isEmpty()) {
 			return info;
 		}
 
 		double sum = 0;
-		for (Event e : events) {
-			if (!locations.containsKey(e.getLocation())) {
-				double count = ticketService.findAllByEvent(e.getId()).size();
-
-				sum += count;
-				locations.put(e.getLocation(), count);
-			} else {
-				double count = ticketService.findAllByEvent(e.getId()).size();
-
-				sum += count;
-				locations.put(e.getLocation(), locations.get(e.getLocation())
-						+ count);
-			}
-		}
-		for (Location l : locations.keySet()) {
-			info.add(new ChartLocationTicketsSoldDTO(l.getName(), locations
-					.get(l)));
+		for (Object[] row : rows) {
+			sum += count(row);
+			info.add(new ChartLocationTicketsSoldDTO((String) row[1], count(row)));
 		}
 		info.add(new ChartLocationTicketsSoldDTO("Average", sum
-				/ (double) locations.size()));
+				/ (double) rows.size()));
 		return info;
 	}
 
+	private List<Object[]> eventRows(DateIntervalDTO interval) throws BadRequestException {
+		if (interval.getStartDate().after(interval.getEndDate())) {
+			throw new BadRequestException("Start date must be after end date!");
+		}
+		return salesRollupService.sumByEvent(interval.getStartDate(), interval.getEndDate());
+	}
+
+	private List<Object[]> locationRows(DateIntervalDTO interval) throws BadRequestException {
+		if (interval.getStartDate().after(interval.getEndDate())) {
+			throw new BadRequestException("Start date must be after end date!");
+		}
+		return salesRollupService.sumByLocation(interval.getStartDate(), interval.getEndDate());
+	}
+
+	// row: {id, name, sum of prices, ticket count}
+	private static double income(Object[] row) {
+		return row[2] == null ? 0.0 : ((Number) row[2]).doubleValue();
+	}
+
+	private static double count(Object[] row) {
+		return row[3] == null ? 0.0 : ((Number) row[3]).doubleValue();
+	}
+
 }
@@ -5,22 +5,39 @@ import java.util.List;
 import javax.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import backend.config.CacheConfig;
+import backend.dto.EventDaySummaryDTO;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.EventDay;
 import backend.model.EventStatus;
 import backend.repository.EventDayRepository;
+import backend.service.CatalogVersionService.Aggregate;
 
 @Service
 public class EventDayService {
 	@Autowired
 	private EventDayRepository eventDayRepository;
 
+	@Autowired
+	private CacheService cacheService;
+
+	@Autowired
+	private CatalogVersionService catalogVersionService;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
 	public EventDay save(EventDay b) {
-		return eventDayRepository.save(b);
+		cacheService.catalogChanged();
+		EventDay saved = eventDayRepository.save(b);
+		catalogSnapshotService.eventChanged(b.getEvent() == null ? null : b.getEvent().getId());
+		catalogVersionService.changed(Aggregate.EVENT);
+		return saved;
 	}
 
 	public EventDay findOne(Long id) throws ResourceNotFoundException {
@@ -28,6 +45,18 @@ public class EventDayService {
 				.orElseThrow(() -> new ResourceNotFoundException("Could not find requested event day"));
 	}
 
+	// samo id dogadjaja, bez ucitavanja dana sa kartama
+	@Cacheable(CacheConfig.LOOKUPS)
+	public Long findEventId(Long id) throws ResourceNotFoundException {
+		return eventDayRepository.findEventIdById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Could not find requested event day"));
+	}
+
+	// referenca bez upita, za vezivanje novih karata u tekucoj transakciji
+	public EventDay getReference(Long id) {
+		return eventDayRepository.getOne(id);
+	}
+
 	public EventDay findOneNotDeleted(Long id) throws ResourceNotFoundException {
 		return eventDayRepository.findByIdAndDeleted(id, false)
 				.orElseThrow(() -> new ResourceNotFoundException("Could not find requested event day"));
@@ -37,6 +66,14 @@ public class EventDayService {
 		return eventDayRepository.findAll();
 	}
 
+	public List<EventDaySummaryDTO> findSummariesByEventId(Long eventId) {
+		return eventDayRepository.findSummariesByEventId(eventId);
+	}
+
+	public List<Object[]> countByStatus() {
+		return eventDayRepository.countByStatus();
+	}
+
 	public List<EventDay> findAllNotDeleted() {
 		return eventDayRepository.findAllByDeleted(false);
 	}
@@ -51,7 +88,12 @@ public class EventDayService {
 
 	@Transactional
 	public void remove(Long id) {
+		cacheService.catalogChanged();
+		// deleteById ionako ucitava dan, pa ovo ne pravi novi upit
+		eventDayRepository.findById(id)
+				.ifPresent(d -> catalogSnapshotService.eventChanged(d.getEvent() == null ? null : d.getEvent().getId()));
 		eventDayRepository.deleteById(id);
+		catalogVersionService.changed(Aggregate.EVENT);
 	}
 
 	public void delete(Long ID) throws ResourceNotFoundException {
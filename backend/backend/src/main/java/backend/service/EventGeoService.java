@@ -0,0 +1,232 @@
+package backend.service;
+
+import static backend.constants.Constants.FIRST_TIMESTAMP;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import backend.common.GeoIndex;
+import backend.common.GeoIndex.Neighbor;
+import backend.common.TransactionHooks;
+import backend.dto.EventNearDTO;
+import backend.exceptions.BadRequestException;
+import backend.model.EventType;
+import backend.repository.EventRepository;
+import backend.repository.LocationRepository;
+
+/*
+ * Dogadjaji blizu zadate tacke. U GeoIndex-u su samo lokacije koje imaju dogadjaj koji nije
+ * zavrsen, a uz svaku se cuvaju njeni dogadjaji po pocetku. Posle commit-a izmene dogadjaja,
+ * lokacije ili adrese ponovo se ucitava samo lokacija na koju se izmena odnosi.
+ */
+@Service
+public class EventGeoService {
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private PaginationService paginationService;
+
+	@Value("${geo.radius.max.km:500}")
+	private double maxRadiusKm;
+
+	private static final class Place {
+		private final String name;
+		private final String city;
+		private final double lat;
+		private final double lon;
+
+		private Place(Object[] row) {
+			this.name = (String) row[1];
+			this.city = (String) row[2];
+			this.lat = (Double) row[3];
+			this.lon = (Double) row[4];
+		}
+	}
+
+	private static final class Upcoming {
+		private final Long id;
+		private final String name;
+		private final EventType type;
+		private final Date start;
+		private final Date end;
+
+		private Upcoming(Object[] row) {
+			this.id = (Long) row[0];
+			this.name = (String) row[1];
+			this.type = (EventType) row[2];
+			this.start = (Date) row[3];
+			this.end = (Date) row[4];
+		}
+	}
+
+	private static final Comparator<Upcoming> BY_START = Comparator
+			.comparing((Upcoming u) -> u.start, Comparator.nullsLast(Comparator.naturalOrder()))
+			.thenComparing(u -> u.id);
+
+	private final GeoIndex index = new GeoIndex();
+	private final ConcurrentHashMap<Long, Place> places = new ConcurrentHashMap<>();
+	// lokacija -> dogadjaji po pocetku; lista se ne menja, vec zamenjuje
+	private final ConcurrentHashMap<Long, List<Upcoming>> events = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Long, Long> eventLocations = new ConcurrentHashMap<>();
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void init() {
+		rebuild();
+	}
+
+	@Transactional(readOnly = true)
+	public synchronized int rebuild() {
+		Map<Long, List<Upcoming>> byLocation = new HashMap<>();
+		for (Object[] row : eventRepository.findUpcomingGeoFacts(new Date())) {
+			byLocation.computeIfAbsent((Long) row[5], k -> new ArrayList<>()).add(new Upcoming(row));
+		}
+		for (Long id : new ArrayList<>(places.keySet())) {
+			index.remove(id);
+		}
+		places.clear();
+		events.clear();
+		eventLocations.clear();
+		for (Object[] row : locationRepository.findGeoFacts(FIRST_TIMESTAMP)) {
+			Long id = (Long) row[0];
+			place(id, new Place(row), byLocation.getOrDefault(id, Collections.emptyList()));
+		}
+		return index.size();
+	}
+
+	// poziva se iz transakcije koja cuva dogadjaj; dogadjaj je mozda promenio lokaciju
+	public void eventChanged(Long eventId) {
+		if (eventId == null) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> {
+			Long old = eventLocations.get(eventId);
+			Long current = eventRepository.findLocationIdById(eventId).orElse(null);
+			if (old != null) {
+				reload(old);
+			}
+			if (current != null && !current.equals(old)) {
+				reload(current);
+			}
+		});
+	}
+
+	public void eventRemoved(Long eventId) {
+		if (eventId == null) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> {
+			Long old = eventLocations.get(eventId);
+			if (old != null) {
+				reload(old);
+			}
+		});
+	}
+
+	public void locationChanged(Long locationId) {
+		if (locationId == null) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> reload(locationId));
+	}
+
+	public void addressChanged(Long addressId) {
+		if (addressId == null) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> {
+			for (Long locationId : locationRepository.findIdsByAddressId(addressId)) {
+				reload(locationId);
+			}
+		});
+	}
+
+	/*
+	 * Sa radijusom vraca dogadjaje svih lokacija u krugu, bez njega dogadjaje najblizih
+	 * lokacija do najvise size dogadjaja. Oba upita su ogranicena na geo.radius.max.km.
+	 */
+	public List<EventNearDTO> near(Double lat, Double lon, Double radiusKm, Integer size) throws BadRequestException {
+		if (lat == null || lon == null || lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+			throw new BadRequestException("Invalid coordinates!");
+		}
+		if (radiusKm != null && radiusKm <= 0) {
+			throw new BadRequestException("Radius must be positive!");
+		}
+		int limit = paginationService.size(size);
+		List<Neighbor> neighbors = radiusKm == null ? index.nearest(lat, lon, limit, maxRadiusKm)
+				: index.within(lat, lon, Math.min(radiusKm, maxRadiusKm));
+		Date now = new Date();
+		List<EventNearDTO> result = new ArrayList<>();
+		for (Neighbor n : neighbors) {
+			Place p = places.get(n.getId());
+			List<Upcoming> list = events.get(n.getId());
+			if (p == null || list == null) {
+				continue;
+			}
+			for (Upcoming u : list) {
+				// zavrseni dogadjaji ostaju do sledeceg ucitavanja lokacije
+				if (u.end != null && u.end.before(now)) {
+					continue;
+				}
+				if (result.size() == limit) {
+					return result;
+				}
+				result.add(new EventNearDTO(u.id, u.name, u.type == null ? null : u.type.name(), u.start, u.end,
+						n.getId(), p.name, p.city, p.lat, p.lon, n.getDistanceKm()));
+			}
+		}
+		return result;
+	}
+
+	private synchronized void reload(Long locationId) {
+		List<Upcoming> old = events.remove(locationId);
+		if (old != null) {
+			for (Upcoming u : old) {
+				eventLocations.remove(u.id, locationId);
+			}
+		}
+		places.remove(locationId);
+		index.remove(locationId);
+		List<Object[]> rows = locationRepository.findGeoFactsById(locationId, FIRST_TIMESTAMP);
+		if (rows.isEmpty()) {
+			return;
+		}
+		List<Upcoming> list = new ArrayList<>();
+		for (Object[] row : eventRepository.findUpcomingGeoFactsByLocationId(locationId, new Date())) {
+			list.add(new Upcoming(row));
+		}
+		place(locationId, new Place(rows.get(0)), list);
+	}
+
+	private void place(Long id, Place place, List<Upcoming> list) {
+		places.put(id, place);
+		if (list.isEmpty()) {
+			return;
+		}
+		List<Upcoming> sorted = new ArrayList<>(list);
+		sorted.sort(BY_START);
+		events.put(id, Collections.unmodifiableList(sorted));
+		for (Upcoming u : sorted) {
+			eventLocations.put(u.id, id);
+		}
+		index.put(id, place.lat, place.lon);
+	}
+}
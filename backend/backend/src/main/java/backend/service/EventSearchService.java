@@ -0,0 +1,129 @@
+package backend.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import backend.common.EventSearchIndex;
+import backend.common.EventSearchIndex.Doc;
+import backend.common.EventSearchIndex.Hit;
+import backend.common.TransactionHooks;
+import backend.dto.EventSearchHitDTO;
+import backend.dto.EventSearchResultDTO;
+import backend.exceptions.BadRequestException;
+import backend.model.EventType;
+import backend.repository.EventRepository;
+
+/*
+ * Pretraga dogadjaja po nazivu, opisu, tipu, lokaciji i gradu iz indeksa u memoriji.
+ * Indeks se puni pri pokretanju, a posle commit-a izmene dogadjaja ili lokacije
+ * ponovo se ucitavaju samo njeni dogadjaji.
+ */
+@Service
+public class EventSearchService {
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private PaginationService paginationService;
+
+	private volatile EventSearchIndex index = new EventSearchIndex();
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void init() {
+		rebuild();
+	}
+
+	// novi indeks se pravi pored starog, koji se koristi dok ovaj nije gotov
+	@Transactional(readOnly = true)
+	public int rebuild() {
+		EventSearchIndex rebuilt = new EventSearchIndex();
+		for (Object[] row : eventRepository.findSearchFacts()) {
+			rebuilt.put(doc(row));
+		}
+		index = rebuilt;
+		return rebuilt.size();
+	}
+
+	// poziva se iz transakcije koja cuva dogadjaj
+	public void reindex(Long eventId) {
+		if (eventId == null) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> apply(eventRepository.findSearchFactsById(eventId), eventId));
+	}
+
+	// naziv i adresa lokacije su deo indeksa njenih dogadjaja
+	public void reindexLocation(Long locationId) {
+		if (locationId == null) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> apply(eventRepository.findSearchFactsByLocationId(locationId), null));
+	}
+
+	public void remove(Long eventId) {
+		if (eventId == null) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> index.remove(eventId));
+	}
+
+	public EventSearchResultDTO search(String text, EventType type, String city, Date from, Date to, Integer size)
+			throws BadRequestException {
+		if (from != null && to != null && from.after(to)) {
+			throw new BadRequestException("Start date must be after end date!");
+		}
+		EventSearchIndex.Query q = new EventSearchIndex.Query().text(text).type(type == null ? null : type.name())
+				.city(city == null || city.trim().isEmpty() ? null : city.trim()).dates(day(from), day(to))
+				.limit(paginationService.size(size));
+		EventSearchIndex.Result result = index.search(q);
+		List<EventSearchHitDTO> hits = new ArrayList<>();
+		for (Hit h : result.getHits()) {
+			Doc d = h.getDoc();
+			hits.add(new EventSearchHitDTO(d.getId(), d.getName(), d.getDescription(), d.getType(),
+					d.getLocationName(), d.getCity(), date(d.getStartDate()), h.getScore()));
+		}
+		return new EventSearchResultDTO(result.getTotal(), hits, result.getTypes(), result.getCities(),
+				result.getMonths());
+	}
+
+	// obrisani dogadjaji i oni kojih vise nema izlaze iz indeksa
+	private void apply(List<Object[]> rows, Long eventId) {
+		EventSearchIndex current = index;
+		if (rows.isEmpty() && eventId != null) {
+			current.remove(eventId);
+		}
+		for (Object[] row : rows) {
+			if (Boolean.TRUE.equals(row[7])) {
+				current.remove((Long) row[0]);
+			} else {
+				current.put(doc(row));
+			}
+		}
+	}
+
+	private static Doc doc(Object[] row) {
+		EventType type = (EventType) row[3];
+		return new Doc((Long) row[0], (String) row[1], (String) row[2], type == null ? null : type.name(),
+				(String) row[5], (String) row[6], day((Date) row[4]));
+	}
+
+	private static LocalDate day(Date date) {
+		return date == null ? null : Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+
+	private static Date date(LocalDate day) {
+		return day == null ? null : Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+}
@@ -9,17 +9,36 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import backend.dto.EventSectorSummaryDTO;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.EventSector;
 import backend.repository.EventSectorRepository;
+import backend.service.CatalogVersionService.Aggregate;
 
 @Service
 public class EventSectorService {
 	@Autowired
 	private EventSectorRepository eventSectorRepository;
 
+	@Autowired
+	private AvailabilityService availabilityService;
+
+	@Autowired
+	private CacheService cacheService;
+
+	@Autowired
+	private CatalogVersionService catalogVersionService;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
 	public EventSector save(EventSector b) {
-		return eventSectorRepository.save(b);
+		EventSector saved = eventSectorRepository.save(b);
+		availabilityService.evictLayouts();
+		cacheService.catalogChanged();
+		catalogSnapshotService.eventChanged(b.getEvent() == null ? null : b.getEvent().getId());
+		catalogVersionService.changed(Aggregate.EVENT);
+		return saved;
 	}
 
 	public EventSector findOne(Long id) throws ResourceNotFoundException {
@@ -27,6 +46,11 @@ public class EventSectorService {
 				.orElseThrow(() -> new ResourceNotFoundException("Could not find requested event sector"));
 	}
 
+	// referenca bez upita, za vezivanje novih karata u tekucoj transakciji
+	public EventSector getReference(Long id) {
+		return eventSectorRepository.getOne(id);
+	}
+
 	public EventSector findOneNotDeleted(Long id) throws ResourceNotFoundException {
 		EventSector es = eventSectorRepository.findByIdAndDeleted(id, false)
 				.orElseThrow(() -> new ResourceNotFoundException("Could not find requested event sector"));
@@ -37,6 +61,10 @@ public class EventSectorService {
 		return eventSectorRepository.findAllByDeleted(false);
 	}
 
+	public List<EventSectorSummaryDTO> findSummariesByEventId(Long eventId) {
+		return eventSectorRepository.findSummariesByEventId(eventId);
+	}
+
 	public List<EventSector> findAll() {
 		return eventSectorRepository.findAll();
 	}
@@ -56,9 +84,12 @@ public class EventSectorService {
 
 	public void delete(Long ID) throws ResourceNotFoundException {
 		EventSector es = findOneNotDeleted(ID);
+		// save vise ne vidi dogadjaj, pa se njegov snapshot osvezava ovde
+		Long eventId = es.getEvent() == null ? null : es.getEvent().getId();
 		es.setDeleted(true);
 		es.setEvent(null);
 		save(es);
+		catalogSnapshotService.eventChanged(eventId);
 	}
 
 	public EventSector update(Long id, double price) throws ResourceNotFoundException {
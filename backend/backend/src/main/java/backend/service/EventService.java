@@ -1,21 +1,34 @@
 package backend.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.transaction.Transactional;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import backend.common.Cursor;
+import backend.config.CacheConfig;
+import backend.dto.CursorPageDTO;
+import backend.dto.EventDetailsDTO;
+import backend.dto.EventSummaryDTO;
 import backend.dto.charts.DateIntervalDTO;
+import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Event;
 import backend.model.EventDay;
 import backend.model.EventSector;
 import backend.repository.EventRepository;
+import backend.service.CatalogVersionService.Aggregate;
 
 @Service
 public class EventService {
@@ -28,8 +41,32 @@ public class EventService {
 	@Autowired
 	EventSectorService eventSectorService;
 
+	@Autowired
+	CacheService cacheService;
+
+	@Autowired
+	PaginationService paginationService;
+
+	@Autowired
+	EventSearchService eventSearchService;
+
+	@Autowired
+	EventGeoService eventGeoService;
+
+	@Autowired
+	CatalogVersionService catalogVersionService;
+
+	@Autowired
+	CatalogSnapshotService catalogSnapshotService;
+
 	public Event save(Event b) {
-		return eventRepository.save(b);
+		cacheService.catalogChanged();
+		Event saved = eventRepository.save(b);
+		eventSearchService.reindex(b.getId());
+		eventGeoService.eventChanged(b.getId());
+		catalogSnapshotService.eventChanged(b.getId());
+		catalogVersionService.changed(Aggregate.EVENT);
+		return saved;
 	}
 
 	public Event findOne(Long id) throws ResourceNotFoundException {
@@ -41,13 +78,22 @@ public class EventService {
 		return eventRepository.findAll();
 	}
 
+	public long count() {
+		return eventRepository.count();
+	}
+
 	public Page<Event> findAll(Pageable page) {
 		return eventRepository.findAll(page);
 	}
 
 	@Transactional
 	public void remove(Long id) {
+		cacheService.catalogChanged();
 		eventRepository.deleteById(id);
+		eventSearchService.remove(id);
+		eventGeoService.eventRemoved(id);
+		catalogSnapshotService.eventChanged(id);
+		catalogVersionService.changed(Aggregate.EVENT);
 	}
 
 	public void delete(Long eventID) throws ResourceNotFoundException {
@@ -96,4 +142,50 @@ public class EventService {
 	public Page<Event> findAllNotDeleted(Pageable page) {
 		return eventRepository.findAllByDeleted(false, page);
 	}
+
+	// katalog aktivnih dogadjaja; velicina ne zavisi od broja prodatih karata
+	@Cacheable(CacheConfig.CATALOG)
+	public List<EventSummaryDTO> findAllSummaries() {
+		List<EventSummaryDTO> events = eventRepository.findAllSummaries();
+		addImagePaths(events);
+		return events;
+	}
+
+	@Cacheable(CacheConfig.CATALOG)
+	public EventDetailsDTO findDetails(Long id) throws ResourceNotFoundException {
+		EventDetailsDTO e = eventRepository.findDetailsById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Could not find requested event"));
+		addImagePaths(Collections.singletonList(e));
+		e.setVideo_paths(eventRepository.findVideoPaths(id));
+		e.setSectors(eventSectorService.findSummariesByEventId(id));
+		e.setEvent_days(eventDayService.findSummariesByEventId(id));
+		return e;
+	}
+
+	// strana kataloga po (pocetak, id)
+	public CursorPageDTO<EventSummaryDTO> findSummaryPage(String cursor, Integer size) throws BadRequestException {
+		int limit = paginationService.size(size);
+		Cursor after = Cursor.decode(cursor);
+		List<EventSummaryDTO> rows = after == null ? eventRepository.findSummaryPage(paginationService.limit(limit))
+				: eventRepository.findSummaryPageAfter(new Date(after.getKey()), after.getId(),
+						paginationService.limit(limit));
+		CursorPageDTO<EventSummaryDTO> page = paginationService.page(rows, limit,
+				e -> new Cursor(e.getStart_date().getTime(), e.getId()), e -> e);
+		addImagePaths(page.getItems());
+		return page;
+	}
+
+	// slike svih dogadjaja jednim upitom
+	private void addImagePaths(List<? extends EventSummaryDTO> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		Map<Long, EventSummaryDTO> byId = new HashMap<>();
+		for (EventSummaryDTO e : events) {
+			byId.put(e.getId(), e);
+		}
+		for (Object[] row : eventRepository.findImagePaths(new ArrayList<>(byId.keySet()))) {
+			byId.get(row[0]).getImage_paths().add((String) row[1]);
+		}
+	}
 }
@@ -15,6 +15,7 @@ import backend.exceptions.ResourceNotFoundException;
 import backend.model.Hall;
 import backend.model.Sector;
 import backend.repository.HallRepository;
+import backend.service.CatalogVersionService.Aggregate;
 
 @Service
 public class HallService {
@@ -25,8 +26,22 @@ public class HallService {
 	@Autowired
 	SectorService sectorService;
 
+	@Autowired
+	CacheService cacheService;
+
+	@Autowired
+	CatalogVersionService catalogVersionService;
+
+	@Autowired
+	CatalogSnapshotService catalogSnapshotService;
+
 	public Hall save(Hall b) {
-		return hallRepository.save(b);
+		cacheService.catalogChanged();
+		cacheService.venueChanged();
+		Hall saved = hallRepository.save(b);
+		catalogSnapshotService.locationChanged(hallRepository.findLocationIdById(saved.getId()).orElse(null));
+		catalogVersionService.changed(Aggregate.HALL);
+		return saved;
 	}
 
 	@Transactional
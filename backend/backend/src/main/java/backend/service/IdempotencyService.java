@@ -0,0 +1,101 @@
+package backend.service;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import backend.common.ExpiringLruCache;
+import backend.dto.ReservationDTO;
+import backend.exceptions.BadRequestException;
+import backend.exceptions.ResourceNotFoundException;
+import backend.model.IdempotencyKey;
+import backend.model.Reservation;
+import backend.repository.IdempotencyKeyRepository;
+
+/*
+ * Ponovljen zahtev sa istim Idempotency-Key zaglavljem vraca rezervaciju prvog zahteva.
+ * Kes u memoriji resava vecinu ponavljanja bez upita, a tabela idempotency_keys
+ * vazi i izmedju cvorova.
+ */
+@Service
+public class IdempotencyService {
+
+	private static final int MAX_KEY_LENGTH = 100;
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	IdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Value("${idempotency.ttl.minutes:1440}")
+	private int ttlMinutes;
+
+	@Value("${idempotency.cache.size:10000}")
+	private int cacheSize;
+
+	private ExpiringLruCache<String, Long> cache;
+
+	@PostConstruct
+	public void init() {
+		cache = new ExpiringLruCache<>(cacheSize, TimeUnit.MINUTES.toMillis(ttlMinutes));
+	}
+
+	public Reservation createReservation(ReservationDTO dto, String username, String key)
+			throws ResourceNotFoundException, BadRequestException {
+		if (key == null) {
+			return reservationService.createReservation(dto, username);
+		}
+		if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+			throw new BadRequestException("Idempotency key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+		}
+		Reservation previous = findPrevious(username, key);
+		if (previous != null) {
+			return previous;
+		}
+		try {
+			Reservation r = reservationService.createReservation(dto, username, key);
+			cache.put(cacheKey(username, key), r.getId());
+			return r;
+		} catch (DataIntegrityViolationException e) {
+			// isti kljuc je u medjuvremenu obradjen drugim zahtevom
+			previous = findPrevious(username, key);
+			if (previous != null) {
+				return previous;
+			}
+			throw e;
+		}
+	}
+
+	@Transactional
+	public int deleteExpired() {
+		cache.clear();
+		return idempotencyKeyRepository
+				.deleteOlderThan(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(ttlMinutes)));
+	}
+
+	private Reservation findPrevious(String username, String key) throws ResourceNotFoundException {
+		Long id = cache.get(cacheKey(username, key));
+		if (id == null) {
+			Optional<IdempotencyKey> stored = idempotencyKeyRepository.findByUsernameAndKey(username, key);
+			if (!stored.isPresent() || stored.get().getReservationId() == null) {
+				return null;
+			}
+			id = stored.get().getReservationId();
+			cache.put(cacheKey(username, key), id);
+		}
+		return reservationService.findOne(id);
+	}
+
+	private String cacheKey(String username, String key) {
+		return username + ':' + key;
+	}
+}
@@ -26,6 +26,7 @@ import backend.exceptions.SavingException;
 import backend.model.Hall;
 import backend.model.Location;
 import backend.repository.LocationRepository;
+import backend.service.CatalogVersionService.Aggregate;
 
 @Service
 @Transactional
@@ -42,13 +43,33 @@ public class LocationService {
 	@Autowired
 	AddressService addressService;
 
+	@Autowired
+	CacheService cacheService;
+
+	@Autowired
+	EventSearchService eventSearchService;
+
+	@Autowired
+	EventGeoService eventGeoService;
+
+	@Autowired
+	CatalogVersionService catalogVersionService;
+
+	@Autowired
+	CatalogSnapshotService catalogSnapshotService;
+
 	@Transactional(readOnly = false, propagation = Propagation.REQUIRED, rollbackFor = SavingException.class)
 	public Location save(Location b) throws SavingException {
 		Location loc = null;
 		try {
 			System.out.println("try save loc");
 
+			cacheService.catalogChanged();
 			loc = locationRepository.save(b);
+			eventSearchService.reindexLocation(b.getId());
+			eventGeoService.locationChanged(b.getId());
+			catalogSnapshotService.locationChanged(loc.getId());
+			catalogVersionService.changed(Aggregate.LOCATION);
 		} catch (DataIntegrityViolationException e) {
 			System.out.println("**************");
 			System.out.println("ako je ovde dosao onda je ok");
@@ -96,7 +117,11 @@ public class LocationService {
 
 	@Transactional
 	public void remove(Long id) {
+		cacheService.catalogChanged();
 		locationRepository.deleteById(id);
+		eventGeoService.locationChanged(id);
+		catalogSnapshotService.locationChanged(id);
+		catalogVersionService.changed(Aggregate.LOCATION);
 	}
 
 	@Transactional(readOnly = false, propagation = Propagation.REQUIRED, rollbackFor = DeletingException.class)
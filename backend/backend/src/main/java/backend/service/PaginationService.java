@@ -0,0 +1,52 @@
+package backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import backend.common.Cursor;
+import backend.dto.CursorPageDTO;
+import backend.exceptions.BadRequestException;
+
+/*
+ * Zajednicki deo keyset stranicenja: velicina strane je ogranicena, a iz baze se cita
+ * jedan red vise da bi se znalo da li postoji sledeca strana.
+ */
+@Service
+public class PaginationService {
+
+	@Value("${pagination.size.default:20}")
+	private int defaultSize;
+
+	@Value("${pagination.size.max:100}")
+	private int maxSize;
+
+	public int size(Integer size) throws BadRequestException {
+		if (size == null) {
+			return defaultSize;
+		}
+		if (size < 1) {
+			throw new BadRequestException("Page size must be positive!");
+		}
+		return Math.min(size, maxSize);
+	}
+
+	// upit uvek cita od pocetka rezultata, pozicija je u uslovu upita
+	public Pageable limit(int size) {
+		return PageRequest.of(0, size + 1);
+	}
+
+	public <R, T> CursorPageDTO<T> page(List<R> rows, int size, Function<R, Cursor> cursorOf, Function<R, T> mapper) {
+		List<T> items = new ArrayList<>(Math.min(rows.size(), size));
+		for (int i = 0; i < rows.size() && i < size; i++) {
+			items.add(mapper.apply(rows.get(i)));
+		}
+		String next = rows.size() > size ? cursorOf.apply(rows.get(size - 1)).encode() : null;
+		return new CursorPageDTO<>(items, next, size);
+	}
+}
@@ -1,15 +1,25 @@
 package backend.service;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-import javax.transaction.Transactional;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import backend.common.Cursor;
+import backend.common.TransactionHooks;
+import backend.dto.BestSeatsDTO;
+import backend.dto.CursorPageDTO;
 import backend.dto.ReservationDTO;
 import backend.dto.SittingTicketDTO;
 import backend.dto.StandingTicketDTO;
@@ -18,10 +28,14 @@ import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.EventDay;
 import backend.model.EventSector;
+import backend.model.IdempotencyKey;
 import backend.model.RegisteredUser;
 import backend.model.Reservation;
+import backend.model.SittingSector;
 import backend.model.StandingSector;
 import backend.model.Ticket;
+import backend.model.User;
+import backend.repository.IdempotencyKeyRepository;
 import backend.repository.ReservationRepository;
 
 @Service
@@ -41,6 +55,34 @@ public class ReservationService {
 	@Autowired
 	EventDayService eventDayService;
 
+	@Autowired
+	SeatOccupancyService seatOccupancyService;
+
+	@Autowired
+	StandingCapacityService standingCapacityService;
+
+	@Autowired
+	SalesCounterService salesCounterService;
+
+	@Autowired
+	TicketAnalyticsService ticketAnalyticsService;
+
+	@Autowired
+	BuyerAnalyticsService buyerAnalyticsService;
+
+	@Autowired
+	IdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Autowired
+	PaginationService paginationService;
+
+	// najbolje mesto u sedecem sektoru, kao udeo broja redova i kolona
+	@Value("${reservation.best.sweet-row:0.3}")
+	private double sweetRow;
+
+	@Value("${reservation.best.sweet-col:0.5}")
+	private double sweetCol;
+
 	public Reservation save(Reservation b) {
 		return reservationRepository.save(b);
 	}
@@ -64,76 +106,381 @@ public class ReservationService {
 		return reservationRepository.findAll(page);
 	}
 
+	// strana rezervacija po id-ju
+	public CursorPageDTO<Reservation> findPage(String cursor, Integer size) throws BadRequestException {
+		int limit = paginationService.size(size);
+		Cursor after = Cursor.decode(cursor);
+		List<Reservation> rows = reservationRepository.findPageAfter(after == null ? 0L : after.getId(),
+				paginationService.limit(limit));
+		return paginationService.page(rows, limit, r -> new Cursor(r.getId(), r.getId()), r -> r);
+	}
+
 	@Transactional
 	public void remove(Long id) {
 		reservationRepository.deleteById(id);
 	}
 
+	// brojaci stajacih mesta i karte se upisuju u istoj transakciji
+	@Transactional(rollbackFor = Exception.class)
 	public Reservation createReservation(ReservationDTO res_dto, String username)
 			throws ResourceNotFoundException, BadRequestException {
-		Reservation r = new Reservation();
+		return create(res_dto, username, null);
+	}
+
+	/*
+	 * Kljuc se upisuje pre rezervacije i u istoj transakciji. Isti kljuc sa drugog cvora ceka
+	 * na jedinstvenom indeksu dok se ova transakcija ne zavrsi, a zatim dobija
+	 * DataIntegrityViolationException i ne dira karte ni sektore.
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public Reservation createReservation(ReservationDTO res_dto, String username, String idempotencyKey)
+			throws ResourceNotFoundException, BadRequestException {
+		IdempotencyKey key = idempotencyKeyRepository
+				.saveAndFlush(new IdempotencyKey(username, idempotencyKey, new Date()));
+		Reservation r = create(res_dto, username, null);
+		key.setReservationId(r.getId());
+		return r;
+	}
+
+	// mesta se zauzimaju kao za rezervaciju, ali samo do isteka roka
+	@Transactional(rollbackFor = Exception.class)
+	public Reservation createHold(ReservationDTO res_dto, String username, Date holdUntil)
+			throws ResourceNotFoundException, BadRequestException {
+		res_dto.setPurchased(false);
+		return create(res_dto, username, holdUntil);
+	}
+
+	@Transactional(rollbackFor = Exception.class)
+	public Reservation confirmHold(Long id, String username, boolean purchased)
+			throws ResourceNotFoundException, BadRequestException {
+		User buyer = userService.findByUsername(username);
+		if (reservationRepository.confirmHold(id, purchased, buyer.getId(), new Date()) == 0) {
+			throw new BadRequestException("Hold does not exist or has expired.");
+		}
+		Reservation r = findOne(id);
+		if (purchased) {
+			salesCounterService.purchase(r.getTickets());
+			ticketAnalyticsService.purchase(r.getTickets());
+		}
+		return r;
+	}
+
+	@Transactional(rollbackFor = Exception.class)
+	public Reservation releaseHold(Long id, String username) throws ResourceNotFoundException, BadRequestException {
+		Reservation r = findOne(id);
+		if (r.getHoldUntil() == null || r.getBuyer() == null || !r.getBuyer().getUsername().equals(username)) {
+			throw new BadRequestException("Hold does not exist.");
+		}
+		return cancelReservation(id);
+	}
+
+	/*
+	 * Otkazuje istekla drzanja. Ako rok jos nije prosao (npr. produzen na drugom cvoru)
+	 * vraca novi rok, inace null.
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public Date expireHold(Long id) {
+		Reservation r = reservationRepository.findById(id).orElse(null);
+		if (r == null || r.isCanceled() || r.getHoldUntil() == null) {
+			return null;
+		}
+		if (r.getHoldUntil().after(new Date())) {
+			return r.getHoldUntil();
+		}
+		r.setCanceled(true);
+		freeSeats(r);
+		releasePlaces(save(r));
+		return null;
+	}
+
+	public List<Reservation> findAllActiveHolds() {
+		return reservationRepository.findAllByHoldUntilIsNotNullAndCanceled(false);
+	}
+
+	private Reservation create(ReservationDTO res_dto, String username, Date holdUntil)
+			throws ResourceNotFoundException, BadRequestException {
+		PreparedReservation p = prepare(res_dto, username, holdUntil);
+		boolean saved = false;
+		try {
+			reserveStanding(p);
+			Reservation res = saveClaimed(p.reservation, p.claimed);
+			saved = true;
+			return res;
+		} finally {
+			if (!saved) {
+				seatOccupancyService.release(p.claimed);
+			}
+		}
+	}
+
+	/*
+	 * Rezervacija spremna za upis: provereni zahtev, karte i sedista vec zauzeta u bitmapi.
+	 * Stajaca mesta se zauzimaju tek pri upisu, u transakciji.
+	 */
+	public static class PreparedReservation {
+		private final String username;
+		private final EventDay eventDay;
+		private final Reservation reservation = new Reservation();
+		// sedista zauzeta u bitmapi za ovu rezervaciju, oslobadjaju se ako upis ne uspe
+		private final List<Ticket> claimed = new ArrayList<>();
+		private final Map<EventSector, Integer> standing = new LinkedHashMap<>();
+		private String error;
+
+		private PreparedReservation(String username, EventDay eventDay) {
+			this.username = username;
+			this.eventDay = eventDay;
+		}
+
+		public Reservation getReservation() {
+			return reservation;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+
+	/*
+	 * Provera zahteva i zauzimanje sedista u memoriji, bez upisa u bazu.
+	 * Ako provera ne uspe, sedista koja su vec zauzeta se oslobadjaju.
+	 */
+	public PreparedReservation prepare(ReservationDTO res_dto, String username, Date holdUntil)
+			throws ResourceNotFoundException, BadRequestException {
+		EventDay ed = eventDayService.findOneNotDeleted(res_dto.getEventDay_id());
+		PreparedReservation p = new PreparedReservation(username, ed);
+		Reservation r = p.reservation;
 		r.setBuyer((RegisteredUser) userService.findByUsername(username));
 		r.setPurchased(res_dto.isPurchased());
-		EventDay ed = eventDayService.findOneNotDeleted(res_dto.getEventDay_id());
+		r.setHoldUntil(holdUntil);
+
+		if (ed.getEvent().getMaxTickets() < res_dto.getTickets().size()) {
+			throw new BadRequestException("Max number of tickets exceeded");
+		}
 
+		// isti sektor se ucitava samo jednom po rezervaciji
+		Map<Long, EventSector> sectors = new HashMap<>();
 		for (TicketDTO t : res_dto.getTickets()) {
+			EventSector es = sectors.get(t.getEventSector_id());
+			if (es == null) {
+				es = esService.findOneNotDeleted(t.getEventSector_id());
+				sectors.put(es.getId(), es);
+			}
+		}
 
-			EventSector es = esService.findOneNotDeleted(t.getEventSector_id());
-			List<Ticket> tickets = ticketService.findAllByEventDayIDEventSectorID(res_dto.getEventDay_id(),
-					t.getEventSector_id());
+		boolean prepared = false;
+		try {
+			for (TicketDTO t : res_dto.getTickets()) {
 
-			if (ed.getEvent().getMaxTickets() < res_dto.getTickets().size()) {
-				throw new BadRequestException("Max number of tickets exceeded");
-			}
+				EventSector es = sectors.get(t.getEventSector_id());
 
-			if (t instanceof StandingTicketDTO && es.getSector() instanceof StandingSector) {
+				if (t instanceof StandingTicketDTO && es.getSector() instanceof StandingSector) {
 
-				int num_of_stand_tickets = ((StandingTicketDTO) t).getNumOfStandingTickets();
+					int num_of_stand_tickets = ((StandingTicketDTO) t).getNumOfStandingTickets();
+
+					if (num_of_stand_tickets < 1) {
+						throw new BadRequestException("There should be at least one ticket");
+					} else {
+						p.standing.merge(es, num_of_stand_tickets, Integer::sum);
+						for (int i = 0; i < num_of_stand_tickets; i++) {
+							Ticket ticket = new Ticket();
+							ticket.setEventSector(es);
+							ticket.setHasSeat(false);
+							ticket.setEventDay(ed);
+							ticket.setReservation(r);
+
+							r.getTickets().add(ticket);
+						}
 
-				if (((StandingSector) es.getSector()).getCapacity() < tickets.size() + num_of_stand_tickets) {
-					throw new BadRequestException("Not enough room!");
-				} else if (num_of_stand_tickets < 1) {
-					throw new BadRequestException("There should be at least one ticket");
-				} else {
-					for (int i = 0; i < num_of_stand_tickets; i++) {
-						Ticket ticket = new Ticket();
-						ticket.setEventSector(es);
-						ticket.setHasSeat(false);
-						ticket.setEventDay(ed);
-						ticket.setReservation(r);
-
-						r.getTickets().add(ticket);
 					}
+				} else if (t instanceof SittingTicketDTO && es.getSector() instanceof SittingSector) {
 
-				}
-			} else if (t instanceof SittingTicketDTO && es.getSector() instanceof StandingSector) {
+					int row = ((SittingTicketDTO) t).getRow();
+					int col = ((SittingTicketDTO) t).getCol();
+					SittingSector sector = (SittingSector) es.getSector();
 
-				int row = ((SittingTicketDTO) t).getRow();
-				int col = ((SittingTicketDTO) t).getCol();
-				// proveriti da li je zauzeto
-				for (Ticket tic : tickets) {
-					if (tic.getNumRow() == row && tic.getNumCol() == col) {
+					if (!seatOccupancyService.getSeats(ed.getId(), es.getId(), sector).contains(row, col)) {
+						throw new BadRequestException(
+								"Seat in row: " + row + " and column: " + col + " does not exist");
+					}
+					Ticket ticket = new Ticket();
+					ticket.setEventDay(ed);
+					ticket.setEventSector(es);
+					ticket.setHasSeat(true);
+					ticket.setNumCol(col);
+					ticket.setNumRow(row);
+					ticket.setReservation(r);
+
+					// zauzimanje je atomicno, samo jedan zahtev dobija sediste
+					if (!seatOccupancyService.tryOccupy(ed.getId(), es.getId(), sector, row, col)) {
 						throw new BadRequestException(
 								"Seat in row: " + row + " and column: " + col + " has already been taken");
 					}
+					p.claimed.add(ticket);
+
+					r.getTickets().add(ticket);
+				} else {
+					throw new BadRequestException("Incompatible types of sector and ticket");
+				}
+			}
+			prepared = true;
+			return p;
+		} finally {
+			if (!prepared) {
+				seatOccupancyService.release(p.claimed);
+			}
+		}
+	}
+
+	/*
+	 * Upis vise pripremljenih rezervacija u jednoj transakciji, karte idu u grupama.
+	 * Rezervacija za koju nema stajacih mesta se preskace, a njena sedista oslobadjaju.
+	 * Ako upis grupe ne uspe, pozivalac upisuje rezervacije jednu po jednu sa persistOne.
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public void persistBatch(List<PreparedReservation> batch) {
+		List<Reservation> accepted = new ArrayList<>();
+		Date now = new Date();
+		for (PreparedReservation p : batch) {
+			try {
+				reserveStanding(p);
+			} catch (BadRequestException e) {
+				p.error = e.getMessage();
+				seatOccupancyService.release(p.claimed);
+				continue;
+			}
+			attach(p);
+			p.reservation.setReservationDate(now);
+			accepted.add(p.reservation);
+		}
+		reservationRepository.saveAll(accepted);
+		reservationRepository.flush();
+		for (Reservation r : accepted) {
+			salesCounterService.add(r.getTickets(), r.isPurchased());
+			ticketAnalyticsService.add(r.getTickets(), r.isPurchased());
+			buyerAnalyticsService.add(r);
+		}
+	}
+
+	@Transactional(rollbackFor = Exception.class)
+	public Reservation persistOne(PreparedReservation p) throws BadRequestException {
+		boolean saved = false;
+		try {
+			// posle neuspele grupe rezervacija i karte imaju kljuceve iz ponistene transakcije
+			p.reservation.setId(null);
+			p.reservation.setTickets(new HashSet<>(p.reservation.getTickets()));
+			for (Ticket t : p.reservation.getTickets()) {
+				t.setId(null);
+			}
+			attach(p);
+			reserveStanding(p);
+			Reservation res = saveClaimed(p.reservation, p.claimed);
+			saved = true;
+			return res;
+		} catch (BadRequestException e) {
+			p.error = e.getMessage();
+			throw e;
+		} finally {
+			if (!saved) {
+				seatOccupancyService.release(p.claimed);
+			}
+		}
+	}
+
+	/*
+	 * Korisnik, dan i sektori su ucitani van ove transakcije (nit koja priprema rezervacije),
+	 * pa se karte vezuju za entitete iz ove sesije, inace bi ih kaskadni persist upisivao ponovo.
+	 */
+	private void attach(PreparedReservation p) {
+		p.reservation.setBuyer((RegisteredUser) userService.findByUsername(p.username));
+		EventDay ed = eventDayService.getReference(p.eventDay.getId());
+		Map<Long, EventSector> sectors = new HashMap<>();
+		for (Ticket t : p.reservation.getTickets()) {
+			t.setEventDay(ed);
+			t.setEventSector(sectors.computeIfAbsent(t.getEventSector().getId(), esService::getReference));
+		}
+	}
+
+	// ako u jednom sektoru nema mesta, vracaju se mesta vec zauzeta u ostalim sektorima
+	private void reserveStanding(PreparedReservation p) throws BadRequestException {
+		List<EventSector> reserved = new ArrayList<>();
+		for (Map.Entry<EventSector, Integer> e : p.standing.entrySet()) {
+			if (!standingCapacityService.reserve(p.eventDay, e.getKey(), e.getValue())) {
+				for (EventSector es : reserved) {
+					standingCapacityService.unreserve(p.eventDay, es, p.standing.get(es));
 				}
-				// nije zauzeto
-				Ticket ticket = new Ticket();
-				ticket.setEventDay(ed);
-				ticket.setEventSector(es);
-				ticket.setHasSeat(true);
-				ticket.setNumCol(col);
-				ticket.setNumRow(row);
-				ticket.setReservation(r);
-
-				r.getTickets().add(ticket);
-			} else {
-				throw new BadRequestException("Incompatible types of sector and ticket");
+				throw new BadRequestException("Not enough room!");
 			}
+			reserved.add(e.getKey());
+		}
+	}
+
+	// grupa od n susednih slobodnih sedista najblizih najboljem mestu u sektoru
+	@Transactional(rollbackFor = Exception.class)
+	public Reservation createBestAvailable(BestSeatsDTO dto, String username)
+			throws ResourceNotFoundException, BadRequestException {
+		EventDay ed = eventDayService.findOneNotDeleted(dto.getEventDay_id());
+		if (ed.getEvent().getMaxTickets() < dto.getNumOfSeats()) {
+			throw new BadRequestException("Max number of tickets exceeded");
+		}
+		EventSector es = esService.findOneNotDeleted(dto.getEventSector_id());
+		if (!(es.getSector() instanceof SittingSector)) {
+			throw new BadRequestException("Seats can only be chosen in a sitting sector");
 		}
+		SittingSector sector = (SittingSector) es.getSector();
 
+		List<int[]> seats = seatOccupancyService.claimBest(ed.getId(), es.getId(), sector, dto.getNumOfSeats(),
+				sweetRow, sweetCol);
+		if (seats == null) {
+			throw new BadRequestException("There are no " + dto.getNumOfSeats() + " adjacent free seats");
+		}
+
+		Reservation r = new Reservation();
+		r.setBuyer((RegisteredUser) userService.findByUsername(username));
+		r.setPurchased(dto.isPurchased());
+		List<Ticket> claimed = new ArrayList<>();
+		for (int[] seat : seats) {
+			Ticket ticket = new Ticket();
+			ticket.setEventDay(ed);
+			ticket.setEventSector(es);
+			ticket.setHasSeat(true);
+			ticket.setNumRow(seat[0]);
+			ticket.setNumCol(seat[1]);
+			ticket.setReservation(r);
+			claimed.add(ticket);
+			r.getTickets().add(ticket);
+		}
+
+		boolean saved = false;
+		try {
+			Reservation res = saveClaimed(r, claimed);
+			saved = true;
+			return res;
+		} finally {
+			if (!saved) {
+				seatOccupancyService.release(claimed);
+			}
+		}
+	}
+
+	// upis rezervacije cija su sedista vec zauzeta u bitmapi
+	private Reservation saveClaimed(Reservation r, List<Ticket> claimed) throws BadRequestException {
 		r.setReservationDate(new Date());
-		return save(r);
+		try {
+			// flush odmah, da bi se povreda jedinstvenog ogranicenja sedista uhvatila ovde
+			Reservation res = reservationRepository.saveAndFlush(r);
+			salesCounterService.add(res.getTickets(), res.isPurchased());
+			ticketAnalyticsService.add(res.getTickets(), res.isPurchased());
+			buyerAnalyticsService.add(res);
+			// ako commit ipak ne uspe, sedista se vracaju u bitmapu
+			TransactionHooks.afterRollback(() -> seatOccupancyService.release(claimed));
+			return res;
+		} catch (DataIntegrityViolationException e) {
+			seatOccupancyService.release(claimed);
+			claimed.clear();
+			// sediste je u medjuvremenu prodato na drugom cvoru, bitmapa se ucitava ponovo iz baze
+			seatOccupancyService.evict(r.getTickets());
+			throw new BadRequestException("A seat has already been taken!");
+		}
 	}
 
 	// public Reservation createReservation_staro(ReservationDTO dto, String
@@ -211,32 +558,64 @@ public class ReservationService {
 	// }
 	// }
 
+	@Transactional(rollbackFor = Exception.class)
 	public void delete(Long ID) throws ResourceNotFoundException {
 		Reservation r = findOne(ID);
 		System.out.println(r.toString());
 		remove(ID);
+		if (!r.isCanceled()) {
+			releasePlaces(r);
+		}
 	}
 	
 	//za svrhe testiranja, samo logicko brisanje
+	@Transactional(rollbackFor = Exception.class)
 	public void delete1(Long ID) throws ResourceNotFoundException {
 		Reservation r = findOne(ID);
 		//System.out.println(r.toString());
+		boolean wasCanceled = r.isCanceled();
 		r.setCanceled(true);
+		freeSeats(r);
 		save(r);
+		if (!wasCanceled) {
+			releasePlaces(r);
+		}
 	}
 
+	@Transactional(rollbackFor = Exception.class)
 	public Reservation cancelReservation(Long id) throws BadRequestException, ResourceNotFoundException {
 		Reservation r = findOne(id);
 		if (r.isCanceled()) {
 			throw new BadRequestException("Reservation has already been canceled.");
 		} else {
 			r.setCanceled(true);
+			freeSeats(r);
 
-			return save(r);
+			Reservation saved = save(r);
+			releasePlaces(saved);
+			return saved;
+		}
+
+	}
+
+	// karte otkazane rezervacije ne ulaze u jedinstveno ogranicenje sedista
+	private void freeSeats(Reservation r) {
+		if (r.getTickets() != null) {
+			for (Ticket t : r.getTickets()) {
+				t.setSeatTaken(null);
+			}
 		}
+	}
 
+	// stajaca mesta se vracaju u istoj transakciji, sedista u bitmapi tek posle commit-a
+	private void releasePlaces(Reservation r) {
+		standingCapacityService.release(r.getTickets());
+		salesCounterService.remove(r.getTickets(), r.isPurchased());
+		ticketAnalyticsService.remove(r.getTickets());
+		TransactionHooks.afterCommit(() -> seatOccupancyService.release(r.getTickets()));
 	}
 
+	@Transactional(rollbackFor = Exception.class)
 	public Reservation purchaseReservation(Long id) throws BadRequestException, ResourceNotFoundException {
 		Reservation r = findOne(id);
 		if (r.isCanceled()) {
@@ -244,7 +623,16 @@ public class ReservationService {
 		} else if (r.isPurchased()) {
 			throw new BadRequestException("Reservation has already been purchased.");
 		} else {
+			// kupovina drzanja ga odmah pretvara u rezervaciju
+			if (r.getHoldUntil() != null) {
+				if (!r.getHoldUntil().after(new Date())) {
+					throw new BadRequestException("Hold has expired.");
+				}
+				r.setHoldUntil(null);
+			}
 			r.setPurchased(true);
+			salesCounterService.purchase(r.getTickets());
+			ticketAnalyticsService.purchase(r.getTickets());
 
 			return save(r);
 		}
@@ -268,14 +656,32 @@ public class ReservationService {
 				.orElseThrow(() -> new ResourceNotFoundException("Could not find requested event day"));
 	}
 
+	@Transactional(rollbackFor = Exception.class)
 	public Reservation update(Long reservationid, Reservation upd) throws ResourceNotFoundException {
 		Reservation res = findOneNotCanceled(reservationid);
+		// karte se mogu promeniti, bitmape i brojaci pogodjenih sektora se racunaju ponovo posle commit-a,
+		// inace bi citanje pre commit-a vratilo u bitmapu staro stanje
+		List<Ticket> changed = new ArrayList<>(res.getTickets());
+		if (upd.getTickets() != null) {
+			changed.addAll(upd.getTickets());
+		}
+		TransactionHooks.afterCommit(() -> seatOccupancyService.evict(changed));
+		standingCapacityService.evict(res.getTickets());
+		standingCapacityService.evict(upd.getTickets());
+		salesCounterService.remove(res.getTickets(), res.isPurchased());
+		ticketAnalyticsService.remove(res.getTickets());
 		res.setBuyer(upd.getBuyer());
 		res.setCanceled(upd.isCanceled());
 		res.setPurchased(upd.isPurchased());
 		res.setReservationDate(upd.getReservationDate());
 		res.setTickets(upd.getTickets());
-		return save(res);
+		Reservation saved = save(res);
+		if (!saved.isCanceled()) {
+			salesCounterService.add(saved.getTickets(), saved.isPurchased());
+			ticketAnalyticsService.add(saved.getTickets(), saved.isPurchased());
+			buyerAnalyticsService.add(saved);
+		}
+		return saved;
 		
 	}
 
@@ -0,0 +1,236 @@
+package backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import backend.dto.charts.SalesCounterMismatchDTO;
+import backend.model.SalesScope;
+import backend.model.Ticket;
+import backend.repository.EventDayRepository;
+import backend.repository.SalesCounterRepository;
+import backend.service.CatalogVersionService.Aggregate;
+
+/*
+ * Brojaci prodaje po dogadjaju, lokaciji i danu dogadjaja. Menjaju se u istoj transakciji
+ * u kojoj se rezervacija pravi, kupuje, otkazuje ili brise, pa grafikoni citaju po jedan
+ * red po grupi umesto svih karata. Ako se brojaci ipak razidju sa kartama, check ih
+ * poredi sa kartama u bazi, a rebuild ih pravi ponovo.
+ */
+@Service
+public class SalesCounterService {
+
+	// broj redova po brojacu
+	private static final int SLOTS = 8;
+
+	@Autowired
+	private SalesCounterRepository salesCounterRepository;
+
+	@Autowired
+	private EventDayRepository eventDayRepository;
+
+	@Autowired
+	SalesRollupService salesRollupService;
+
+	@Autowired
+	CacheService cacheService;
+
+	@Autowired
+	CatalogVersionService catalogVersionService;
+
+	// dan dogadjaja -> {dogadjaj, lokacija, datum}; datum popravlja nocni posao ako se promeni
+	private final ConcurrentHashMap<Long, Object[]> eventDays = new ConcurrentHashMap<>();
+
+	private static final class DailyKey {
+		private final SalesScope scope;
+		private final Long id;
+		private final Date day;
+
+		private DailyKey(SalesScope scope, Long id, Date day) {
+			this.scope = scope;
+			this.id = id;
+			this.day = day;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(scope, id, day);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof DailyKey)) {
+				return false;
+			}
+			DailyKey o = (DailyKey) obj;
+			return scope == o.scope && id.equals(o.id) && day.equals(o.day);
+		}
+	}
+
+	// pri pokretanju brojaci se prave iz postojecih karata
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(rollbackFor = Exception.class)
+	public void init() {
+		if (salesCounterRepository.count() == 0) {
+			salesCounterRepository.rebuild();
+		}
+	}
+
+	public void add(Collection<Ticket> tickets, boolean purchased) {
+		apply(tickets, 1, purchased ? 1 : 0);
+	}
+
+	public void remove(Collection<Ticket> tickets, boolean purchased) {
+		apply(tickets, -1, purchased ? -1 : 0);
+	}
+
+	public void purchase(Collection<Ticket> tickets) {
+		apply(tickets, 0, 1);
+	}
+
+	// brojaci i dnevna prodaja se prave ponovo iz karata
+	@Transactional(rollbackFor = Exception.class)
+	public int rebuild() {
+		salesCounterRepository.deleteAllCounters();
+		int rows = salesCounterRepository.rebuild();
+		salesRollupService.rebuild();
+		cacheService.salesChanged();
+		catalogVersionService.changed(Aggregate.SALES);
+		return rows;
+	}
+
+	public List<SalesCounterMismatchDTO> check() {
+		Map<String, Object[]> actual = new HashMap<>();
+		for (Object[] row : salesCounterRepository.findTotals()) {
+			actual.put(row[0].toString() + ":" + row[1], row);
+		}
+		List<SalesCounterMismatchDTO> mismatches = new ArrayList<>();
+		for (Object[] row : salesCounterRepository.findExpected()) {
+			Object[] a = actual.remove(row[0].toString() + ":" + row[1]);
+			long actualTickets = a == null ? 0 : number(a[2]).longValue();
+			double actualIncome = a == null ? 0 : number(a[3]).doubleValue();
+			if (number(row[2]).longValue() != actualTickets || differs(number(row[3]).doubleValue(), actualIncome)
+					|| (a != null && (number(row[4]).longValue() != number(a[4]).longValue()
+							|| differs(number(row[5]).doubleValue(), number(a[5]).doubleValue())))) {
+				mismatches.add(new SalesCounterMismatchDTO(row[0].toString(), number(row[1]).longValue(),
+						number(row[2]).longValue(), actualTickets, number(row[3]).doubleValue(), actualIncome));
+			}
+		}
+		// brojaci bez ijedne karte moraju biti nula
+		for (Object[] a : actual.values()) {
+			if (number(a[2]).longValue() != 0 || differs(0, number(a[3]).doubleValue())) {
+				mismatches.add(new SalesCounterMismatchDTO(a[0].toString(), number(a[1]).longValue(), 0,
+						number(a[2]).longValue(), 0, number(a[3]).doubleValue()));
+			}
+		}
+		return mismatches;
+	}
+
+	// {id, naziv, prihod, broj karata} po dogadjaju
+	public List<Object[]> sumByEvent() {
+		return salesCounterRepository.sumByEvent();
+	}
+
+	public List<Object[]> sumByLocation() {
+		return salesCounterRepository.sumByLocation();
+	}
+
+	private void apply(Collection<Ticket> tickets, int sign, int purchasedSign) {
+		if (tickets == null || tickets.isEmpty()) {
+			return;
+		}
+		cacheService.salesChanged();
+		// {broj karata, prihod} po oblasti i id-ju
+		Map<SalesScope, Map<Long, double[]>> deltas = new EnumMap<>(SalesScope.class);
+		Map<DailyKey, double[]> daily = new HashMap<>();
+		for (Ticket t : tickets) {
+			if (t.getEventDay() == null || t.getEventSector() == null) {
+				continue;
+			}
+			Object[] ids = resolve(t.getEventDay().getId());
+			double price = t.getEventSector().getPrice();
+			accumulate(deltas, SalesScope.EVENT_DAY, t.getEventDay().getId(), price);
+			accumulate(deltas, SalesScope.EVENT, (Long) ids[0], price);
+			accumulate(deltas, SalesScope.LOCATION, (Long) ids[1], price);
+			if (ids[2] != null) {
+				Date day = (Date) ids[2];
+				accumulate(daily, new DailyKey(SalesScope.EVENT, (Long) ids[0], day), price);
+				accumulate(daily, new DailyKey(SalesScope.LOCATION, (Long) ids[1], day), price);
+			}
+		}
+		catalogVersionService.changed(Aggregate.SALES);
+		int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+		for (Map.Entry<SalesScope, Map<Long, double[]>> scope : deltas.entrySet()) {
+			for (Map.Entry<Long, double[]> e : scope.getValue().entrySet()) {
+				long count = (long) e.getValue()[0];
+				double income = e.getValue()[1];
+				salesCounterRepository.add(scope.getKey().name(), e.getKey(), slot, sign * count, sign * income,
+						purchasedSign * count, purchasedSign * income);
+			}
+		}
+		// kupovina ne menja prodaju po danima
+		if (sign != 0) {
+			for (Map.Entry<DailyKey, double[]> e : daily.entrySet()) {
+				DailyKey k = e.getKey();
+				salesRollupService.add(k.scope, k.id, k.day, slot, sign * (long) e.getValue()[0],
+						sign * e.getValue()[1]);
+			}
+		}
+	}
+
+	private void accumulate(Map<SalesScope, Map<Long, double[]>> deltas, SalesScope scope, Long id, double price) {
+		if (id == null) {
+			return;
+		}
+		add(deltas.computeIfAbsent(scope, s -> new HashMap<>()).computeIfAbsent(id, k -> new double[2]), price);
+	}
+
+	private void accumulate(Map<DailyKey, double[]> daily, DailyKey key, double price) {
+		if (key.id == null) {
+			return;
+		}
+		add(daily.computeIfAbsent(key, k -> new double[2]), price);
+	}
+
+	private static void add(double[] d, double price) {
+		d[0]++;
+		d[1] += price;
+	}
+
+	private Object[] resolve(Long ed_id) {
+		Object[] ids = eventDays.get(ed_id);
+		if (ids == null) {
+			ids = new Object[3];
+			List<Object[]> rows = eventDayRepository.findEventAndLocationIdById(ed_id);
+			if (!rows.isEmpty()) {
+				Object[] row = rows.get(0);
+				ids[0] = row[0];
+				ids[1] = row[1];
+				ids[2] = row[2] == null ? null : SalesRollupService.truncate((Date) row[2]);
+				eventDays.put(ed_id, ids);
+			}
+		}
+		return ids;
+	}
+
+	private static Number number(Object o) {
+		return o == null ? 0 : (Number) o;
+	}
+
+	private static boolean differs(double a, double b) {
+		return Math.abs(a - b) > 0.005;
+	}
+}
@@ -0,0 +1,77 @@
+package backend.service;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import backend.model.SalesScope;
+import backend.repository.SalesDailyRepository;
+
+/*
+ * Prodaja po danima odrzavanja, za grafikone nad proizvoljnim intervalom.
+ * Dani se menjaju pri svakoj rezervaciji (preko SalesCounterService), a nocni posao
+ * ponovo racuna samo dane od juce nadalje; prosli dani se vise ne menjaju.
+ */
+@Service
+public class SalesRollupService {
+
+	@Autowired
+	private SalesDailyRepository salesDailyRepository;
+
+	@Autowired
+	private CacheService cacheService;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(rollbackFor = Exception.class)
+	public void init() {
+		if (salesDailyRepository.count() == 0) {
+			salesDailyRepository.rebuildFrom(new Date(0));
+		}
+	}
+
+	public void add(SalesScope scope, Long scopeId, Date day, int slot, long tickets, double income) {
+		salesDailyRepository.add(scope.name(), scopeId, day, slot, tickets, income);
+	}
+
+	// nocni posao
+	@Transactional(rollbackFor = Exception.class)
+	public int rollup() {
+		Calendar c = Calendar.getInstance();
+		c.add(Calendar.DATE, -1);
+		Date yesterday = truncate(c.getTime());
+		salesDailyRepository.deleteFrom(yesterday);
+		cacheService.salesChanged();
+		return salesDailyRepository.rebuildFrom(yesterday);
+	}
+
+	@Transactional(rollbackFor = Exception.class)
+	public int rebuild() {
+		salesDailyRepository.deleteFrom(new Date(0));
+		return salesDailyRepository.rebuildFrom(new Date(0));
+	}
+
+	public List<Object[]> sumByEvent(Date startDate, Date endDate) {
+		return salesDailyRepository.sumByEvent(startDate, endDate);
+	}
+
+	public List<Object[]> sumByLocation(Date startDate, Date endDate) {
+		return salesDailyRepository.sumByLocation(startDate, endDate);
+	}
+
+	// pocetak dana, kao kolona sales_day
+	public static Date truncate(Date date) {
+		Calendar c = Calendar.getInstance();
+		c.setTime(date);
+		c.set(Calendar.HOUR_OF_DAY, 0);
+		c.set(Calendar.MINUTE, 0);
+		c.set(Calendar.SECOND, 0);
+		c.set(Calendar.MILLISECOND, 0);
+		return new java.sql.Date(c.getTimeInMillis());
+	}
+}
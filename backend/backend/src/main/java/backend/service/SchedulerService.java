@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import backend.model.Event;
 import backend.model.Reservation;
+import backend.repository.EventRepository;
 
 @Service
 public class SchedulerService {
@@ -17,6 +18,9 @@ public class SchedulerService {
 	@Autowired
 	EventService eventService;
 
+	@Autowired
+	EventRepository eventRepository;
+
 	@Autowired
 	ReservationService reservationService;
 
@@ -26,10 +30,16 @@ public class SchedulerService {
 	@Autowired
 	EmailService emailService;
 
+	@Autowired
+	IdempotencyService idempotencyService;
+
+	@Autowired
+	SalesRollupService salesRollupService;
+
 	// Logically delete all event
 	public void logicalDeleteExpiredEvents() {
 		try {
-			List<Event> activeEvents = eventService.findAllNotDeleted();
+			List<Event> activeEvents = eventRepository.findAllByDeleted(false);
 			Date today = new Date();
 			for (Event event : activeEvents) {
 				if (event.getEndDate().before(today)) {
@@ -45,7 +55,7 @@ public class SchedulerService {
 	// Checking if there is unbough reservation after event-deadline
 	public void deleteUnboughtReservations() {
 		try {
-			List<Event> activeEvents = eventService.findAllNotDeleted();
+			List<Event> activeEvents = eventRepository.findAllByDeleted(false);
 			Date today = new Date();
 
 			for (Event event : activeEvents) {
@@ -76,8 +86,18 @@ public class SchedulerService {
 		}
 	}
 
+	// kljucevi ponovljenih zahteva se cuvaju samo dok klijent moze da ponovi zahtev
+	public int deleteExpiredIdempotencyKeys() {
+		return idempotencyService.deleteExpired();
+	}
+
+	// prodaja po danima od juce nadalje se racuna ponovo iz karata
+	public int rollupDailySales() {
+		return salesRollupService.rollup();
+	}
+
 	public void sendEventReminders() throws MailException, InterruptedException {
-		List<Event> activeEvents = eventService.findAllNotDeleted();
+		List<Event> activeEvents = eventRepository.findAllByDeleted(false);
 		Date today = new Date();
 		Calendar cToday = Calendar.getInstance();
 		cToday.setTime(today);
@@ -106,7 +126,7 @@ public class SchedulerService {
 	}
 
 	public void sendBuyingReminders() {
-		List<Event> activeEvents = eventService.findAllNotDeleted();
+		List<Event> activeEvents = eventRepository.findAllByDeleted(false);
 		Date today = new Date();
 		Calendar cToday = Calendar.getInstance();
 		cToday.setTime(today);
@@ -0,0 +1,248 @@
+package backend.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import backend.common.EventDaySectorKey;
+import backend.dto.SeatDTO;
+import backend.dto.SeatDeltaDTO;
+
+/*
+ * Promene zauzetosti sektora se salju gledaocima preko Server-Sent Events.
+ * Servisi rezervacija samo upisu promenu u memoriju (i to samo ako sektor neko gleda),
+ * a jedna nit na svakih interval ms spaja promene i salje ih kao jednu poruku po sektoru.
+ * Sediste koje je u istom intervalu zauzeto pa oslobodjeno salje se samo sa poslednjim stanjem.
+ * Nit koja spaja promene ne salje sama: svaki gledalac ima svoj ograniceni red poruka koji
+ * prazni posebna nit za pisanje, a gledalac ciji se red napuni (spor ili zaglavljen klijent)
+ * se izbacuje, pa ne zadrzava isporuku ostalima.
+ * Klijent se pretplacuje pre ucitavanja pregleda mesta, da ne propusti promene izmedju.
+ */
+@Service
+public class SeatDeltaService {
+
+	private static final long HEARTBEAT_MILLIS = TimeUnit.SECONDS.toMillis(15);
+
+	private static final class Pending {
+		// (red << 32 | kolona) -> zauzeto, poslednja promena pobedjuje
+		private Map<Long, Boolean> seats = new LinkedHashMap<>();
+		private Integer sold;
+
+		private synchronized void seat(int row, int col, boolean taken) {
+			seats.put(((long) row << 32) | col, taken);
+		}
+
+		private synchronized void sold(int value) {
+			sold = value;
+		}
+
+		private SeatDeltaDTO drain(EventDaySectorKey key) {
+			Map<Long, Boolean> changed;
+			Integer s;
+			synchronized (this) {
+				if (seats.isEmpty() && sold == null) {
+					return null;
+				}
+				changed = seats;
+				s = sold;
+				seats = new LinkedHashMap<>();
+				sold = null;
+			}
+			List<SeatDTO> taken = new ArrayList<>();
+			List<SeatDTO> freed = new ArrayList<>();
+			for (Map.Entry<Long, Boolean> e : changed.entrySet()) {
+				SeatDTO seat = new SeatDTO((int) (e.getKey() >>> 32), (int) (long) e.getKey());
+				(e.getValue() ? taken : freed).add(seat);
+			}
+			return new SeatDeltaDTO(key.getEventDayId(), key.getEventSectorId(), taken, freed, s);
+		}
+	}
+
+	private final class Viewer implements Runnable {
+		private final SseEmitter emitter;
+		private final ArrayBlockingQueue<SseEventBuilder> queue = new ArrayBlockingQueue<>(queueSize);
+		// najvise jedan pisac po gledaocu, poruke idu redom
+		private final AtomicBoolean writing = new AtomicBoolean();
+
+		private Viewer(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		// false ako je red pun, gledalac ne stize da prima poruke
+		private boolean offer(SseEventBuilder event) {
+			if (!queue.offer(event)) {
+				return false;
+			}
+			schedule();
+			return true;
+		}
+
+		private void schedule() {
+			if (writing.compareAndSet(false, true)) {
+				writer.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				SseEventBuilder event;
+				while ((event = queue.poll()) != null) {
+					emitter.send(event);
+				}
+			} catch (IOException | RuntimeException e) {
+				// pisac ostaje zauzet, red se puni i flush izbacuje gledaoca
+				return;
+			}
+			writing.set(false);
+			// poruka je mozda stigla posle poslednjeg poll
+			if (!queue.isEmpty()) {
+				schedule();
+			}
+		}
+	}
+
+	private static final class Channel {
+		private final CopyOnWriteArrayList<Viewer> viewers = new CopyOnWriteArrayList<>();
+		private final Pending pending = new Pending();
+		private long lastSent = System.currentTimeMillis();
+	}
+
+	@Value("${seats.stream.interval.ms:250}")
+	private long intervalMs;
+
+	@Value("${seats.stream.timeout.minutes:30}")
+	private long timeoutMinutes;
+
+	// poruke koje cekaju na slanje jednom gledaocu; pun red znaci da klijent ne stize
+	@Value("${seats.stream.queue:16}")
+	private int queueSize;
+
+	private final ConcurrentHashMap<EventDaySectorKey, Channel> channels = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService flusher;
+
+	// slanje blokira dok klijent ne primi podatke, zaglavljen klijent zauzima samo svoju nit
+	private ExecutorService writer;
+
+	@PostConstruct
+	public void start() {
+		writer = Executors.newCachedThreadPool(r -> {
+			Thread t = new Thread(r, "seat-delta-writer");
+			t.setDaemon(true);
+			return t;
+		});
+		flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "seat-delta-flusher");
+			t.setDaemon(true);
+			return t;
+		});
+		flusher.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (flusher != null) {
+			flusher.shutdownNow();
+		}
+		for (Channel c : channels.values()) {
+			for (Viewer v : c.viewers) {
+				v.emitter.complete();
+			}
+		}
+		if (writer != null) {
+			writer.shutdownNow();
+		}
+		channels.clear();
+	}
+
+	public SseEmitter subscribe(Long ed_id, Long es_id) {
+		SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+		Viewer viewer = new Viewer(emitter);
+		Channel channel = channels.compute(EventDaySectorKey.of(ed_id, es_id), (k, c) -> {
+			if (c == null) {
+				c = new Channel();
+			}
+			c.viewers.add(viewer);
+			return c;
+		});
+		Runnable remove = () -> channel.viewers.remove(viewer);
+		emitter.onCompletion(remove);
+		emitter.onTimeout(remove);
+		emitter.onError(e -> remove.run());
+		return emitter;
+	}
+
+	public void seatTaken(Long ed_id, Long es_id, int row, int col) {
+		Channel c = channels.get(EventDaySectorKey.of(ed_id, es_id));
+		if (c != null) {
+			c.pending.seat(row, col, true);
+		}
+	}
+
+	public void seatFreed(Long ed_id, Long es_id, int row, int col) {
+		Channel c = channels.get(EventDaySectorKey.of(ed_id, es_id));
+		if (c != null) {
+			c.pending.seat(row, col, false);
+		}
+	}
+
+	public void standingSold(EventDaySectorKey key, int sold) {
+		Channel c = channels.get(key);
+		if (c != null) {
+			c.pending.sold(sold);
+		}
+	}
+
+	public int getSubscribers(Long ed_id, Long es_id) {
+		Channel c = channels.get(EventDaySectorKey.of(ed_id, es_id));
+		return c == null ? 0 : c.viewers.size();
+	}
+
+	void flush() {
+		long now = System.currentTimeMillis();
+		for (Map.Entry<EventDaySectorKey, Channel> e : channels.entrySet()) {
+			Channel c = e.getValue();
+			// kanal bez gledalaca se uklanja, compute je atomican sa pretplatom
+			if (channels.computeIfPresent(e.getKey(), (k, v) -> v.viewers.isEmpty() ? null : v) == null) {
+				continue;
+			}
+			SeatDeltaDTO delta = c.pending.drain(e.getKey());
+			if (delta == null && now - c.lastSent < HEARTBEAT_MILLIS) {
+				continue;
+			}
+			c.lastSent = now;
+			for (Viewer v : c.viewers) {
+				// svaki gledalac dobija svoj dogadjaj, builder se menja pri slanju
+				SseEventBuilder event = delta != null
+						? SseEmitter.event().name("delta").data(delta, MediaType.APPLICATION_JSON)
+						// odrzava vezu i otkriva zatvorene klijente
+						: SseEmitter.event().comment("ping");
+				if (!v.offer(event)) {
+					// spor klijent se izbacuje; zatvaranje ceka na slanje koje je u toku, pa ide na pisca
+					c.viewers.remove(v);
+					writer.execute(v.emitter::complete);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package backend.service;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import backend.common.HashedTimingWheel;
+import backend.common.HashedTimingWheel.Timeout;
+import backend.dto.ReservationDTO;
+import backend.exceptions.BadRequestException;
+import backend.exceptions.ResourceNotFoundException;
+import backend.model.Reservation;
+
+/*
+ * Privremeno drzanje mesta. Drzanje je rezervacija sa rokom (hold_until), pa su mesta
+ * zauzeta na isti nacin kao kod rezervacije, a potvrda je samo brisanje roka.
+ * Istek vodi tocak u memoriji, baza se ne pretrazuje periodicno; pri pokretanju se
+ * aktivna drzanja ucitavaju jednom.
+ */
+@Service
+public class SeatHoldService {
+	private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Value("${reservation.hold.minutes:10}")
+	private int holdMinutes;
+
+	private final ConcurrentHashMap<Long, Timeout<Long>> timeouts = new ConcurrentHashMap<>();
+
+	// rad sa bazom ne sme usporiti nit tocka
+	private final ExecutorService expirer = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "seat-hold-expirer");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(1, TimeUnit.SECONDS, 512,
+			id -> expirer.execute(() -> expire(id)));
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		for (Reservation r : reservationService.findAllActiveHolds()) {
+			schedule(r.getId(), r.getHoldUntil());
+		}
+		wheel.start("seat-hold-wheel");
+	}
+
+	@PreDestroy
+	public void stop() {
+		wheel.stop();
+		expirer.shutdownNow();
+	}
+
+	public Reservation hold(ReservationDTO dto, String username) throws ResourceNotFoundException, BadRequestException {
+		Date holdUntil = new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(holdMinutes));
+		Reservation r = reservationService.createHold(dto, username, holdUntil);
+		schedule(r.getId(), holdUntil);
+		return r;
+	}
+
+	public Reservation confirm(Long id, String username, boolean purchased)
+			throws ResourceNotFoundException, BadRequestException {
+		Reservation r = reservationService.confirmHold(id, username, purchased);
+		unschedule(id);
+		return r;
+	}
+
+	public Reservation release(Long id, String username) throws ResourceNotFoundException, BadRequestException {
+		Reservation r = reservationService.releaseHold(id, username);
+		unschedule(id);
+		return r;
+	}
+
+	public int getOutstanding() {
+		return wheel.size();
+	}
+
+	private void schedule(Long id, Date holdUntil) {
+		Timeout<Long> previous = timeouts.put(id, wheel.scheduleAt(id, holdUntil.getTime()));
+		if (previous != null) {
+			previous.cancel();
+		}
+	}
+
+	private void unschedule(Long id) {
+		Timeout<Long> t = timeouts.remove(id);
+		if (t != null) {
+			t.cancel();
+		}
+	}
+
+	private void expire(Long id) {
+		timeouts.remove(id);
+		try {
+			Date later = reservationService.expireHold(id);
+			if (later != null) {
+				schedule(id, later);
+			}
+		} catch (ObjectOptimisticLockingFailureException e) {
+			// drzanje je u medjuvremenu potvrdjeno
+		} catch (Exception e) {
+			logger.error("ERROR while releasing expired hold " + id, e);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import backend.common.EventDaySectorKey;
+import backend.common.SeatBitmap;
+import backend.model.SittingSector;
+import backend.model.Ticket;
+import backend.repository.TicketRepository;
+
+/*
+ * Indeks zauzetih sedista po (dan dogadjaja, sektor dogadjaja).
+ * Bitmapa se puni iz baze pri prvom pristupu, a posle se odrzava pri rezervaciji,
+ * otkazivanju i brisanju rezervacija, tako da provera sedista ne ucitava karte.
+ * Bitmapa vazi samo za ovaj cvor, izmedju cvorova stiti jedinstveno ogranicenje nad tabelom tickets.
+ */
+@Service
+public class SeatOccupancyService {
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	SeatDeltaService seatDeltaService;
+
+	private static final int MAX_CLAIM_ATTEMPTS = 8;
+
+	private final ConcurrentHashMap<EventDaySectorKey, SeatBitmap> bitmaps = new ConcurrentHashMap<>();
+
+	public SeatBitmap getSeats(Long ed_id, Long es_id, SittingSector sector) {
+		EventDaySectorKey key = EventDaySectorKey.of(ed_id, es_id);
+		SeatBitmap seats = bitmaps.computeIfAbsent(key, k -> load(ed_id, es_id, sector));
+		// dimenzije sektora su izmenjene u medjuvremenu, bitmapa se pravi ponovo
+		if (seats.getNumRows() != sector.getNumRows() || seats.getNumCols() != sector.getNumCols()) {
+			seats = load(ed_id, es_id, sector);
+			bitmaps.put(key, seats);
+		}
+		return seats;
+	}
+
+	public boolean isTaken(Long ed_id, Long es_id, SittingSector sector, int row, int col) {
+		return getSeats(ed_id, es_id, sector).isTaken(row, col);
+	}
+
+	// zauzima sediste odmah, pre upisa u bazu; ako upis ne uspe sediste se oslobadja sa release
+	public boolean tryOccupy(Long ed_id, Long es_id, SittingSector sector, int row, int col) {
+		if (!getSeats(ed_id, es_id, sector).tryOccupy(row, col)) {
+			return false;
+		}
+		seatDeltaService.seatTaken(ed_id, es_id, row, col);
+		return true;
+	}
+
+	/*
+	 * Nalazi i zauzima n susednih sedista najblizih najboljem mestu (udeo redova i kolona).
+	 * Ako neko sediste u medjuvremenu zauzme drugi zahtev, zauzeta se vracaju i trazi se ponovo.
+	 * Vraca listu {red, kolona} ili null ako nema dovoljno susednih slobodnih sedista.
+	 */
+	public List<int[]> claimBest(Long ed_id, Long es_id, SittingSector sector, int n, double sweetRow,
+			double sweetCol) {
+		SeatBitmap seats = getSeats(ed_id, es_id, sector);
+		double row = 1 + sweetRow * (seats.getNumRows() - 1);
+		double col = 1 + sweetCol * (seats.getNumCols() - 1);
+		for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+			int[] run = seats.findBestRun(n, row, col);
+			if (run == null) {
+				return null;
+			}
+			List<int[]> claimed = new ArrayList<>();
+			for (int c = run[1]; c < run[1] + n; c++) {
+				if (!seats.tryOccupy(run[0], c)) {
+					break;
+				}
+				claimed.add(new int[] { run[0], c });
+			}
+			if (claimed.size() == n) {
+				for (int[] seat : claimed) {
+					seatDeltaService.seatTaken(ed_id, es_id, seat[0], seat[1]);
+				}
+				return claimed;
+			}
+			for (int[] seat : claimed) {
+				seats.release(seat[0], seat[1]);
+			}
+		}
+		return null;
+	}
+
+	public void occupy(Collection<Ticket> tickets) {
+		if (tickets == null) {
+			return;
+		}
+		for (Ticket t : tickets) {
+			SeatBitmap seats = loaded(t);
+			if (seats != null) {
+				seats.occupy(t.getNumRow(), t.getNumCol());
+				seatDeltaService.seatTaken(t.getEventDay().getId(), t.getEventSector().getId(), t.getNumRow(),
+						t.getNumCol());
+			}
+		}
+	}
+
+	public void release(Collection<Ticket> tickets) {
+		if (tickets == null) {
+			return;
+		}
+		for (Ticket t : tickets) {
+			SeatBitmap seats = loaded(t);
+			if (seats != null) {
+				seats.release(t.getNumRow(), t.getNumCol());
+				seatDeltaService.seatFreed(t.getEventDay().getId(), t.getEventSector().getId(), t.getNumRow(),
+						t.getNumCol());
+			}
+		}
+	}
+
+	public void evict(Collection<Ticket> tickets) {
+		if (tickets == null) {
+			return;
+		}
+		for (Ticket t : tickets) {
+			if (t.isHasSeat() && t.getEventDay() != null && t.getEventSector() != null) {
+				bitmaps.remove(EventDaySectorKey.of(t.getEventDay().getId(), t.getEventSector().getId()));
+			}
+		}
+	}
+
+	public void clear() {
+		bitmaps.clear();
+	}
+
+	// bitmapa koja jos nije ucitana ce pri ucitavanju procitati stanje iz baze
+	private SeatBitmap loaded(Ticket t) {
+		if (!t.isHasSeat() || t.getNumRow() == null || t.getNumCol() == null || t.getEventDay() == null
+				|| t.getEventSector() == null) {
+			return null;
+		}
+		SeatBitmap seats = bitmaps.get(EventDaySectorKey.of(t.getEventDay().getId(), t.getEventSector().getId()));
+		if (seats == null || !seats.contains(t.getNumRow(), t.getNumCol())) {
+			return null;
+		}
+		return seats;
+	}
+
+	private SeatBitmap load(Long ed_id, Long es_id, SittingSector sector) {
+		SeatBitmap seats = new SeatBitmap(sector.getNumRows(), sector.getNumCols());
+		List<Object[]> taken = ticketRepository.findTakenSeats(ed_id, es_id);
+		for (Object[] seat : taken) {
+			Integer row = (Integer) seat[0];
+			Integer col = (Integer) seat[1];
+			if (row != null && col != null && seats.contains(row, col)) {
+				seats.occupy(row, col);
+			}
+		}
+		return seats;
+	}
+}
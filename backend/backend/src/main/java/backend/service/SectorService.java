@@ -18,6 +18,7 @@ import backend.model.Sector;
 import backend.model.SittingSector;
 import backend.model.StandingSector;
 import backend.repository.SectorRepository;
+import backend.service.CatalogVersionService.Aggregate;
 
 @Service
 public class SectorService {
@@ -27,8 +28,22 @@ public class SectorService {
 	@Autowired
 	private HallService hallService;
 
+	@Autowired
+	private CacheService cacheService;
+
+	@Autowired
+	private CatalogVersionService catalogVersionService;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
 	public Sector save(Sector b) {
-		return sectorRepository.save(b);
+		cacheService.catalogChanged();
+		cacheService.venueChanged();
+		Sector saved = sectorRepository.save(b);
+		catalogSnapshotService.locationChanged(sectorRepository.findLocationIdById(saved.getId()).orElse(null));
+		catalogVersionService.changed(Aggregate.SECTOR);
+		return saved;
 	}
 
 	public Sector findOne(Long id) throws ResourceNotFoundException {
@@ -59,7 +74,12 @@ public class SectorService {
 
 	@Transactional
 	public void remove(Long id) {
+		cacheService.catalogChanged();
+		cacheService.venueChanged();
+		Long locationId = sectorRepository.findLocationIdById(id).orElse(null);
 		sectorRepository.deleteById(id);
+		catalogSnapshotService.locationChanged(locationId);
+		catalogVersionService.changed(Aggregate.SECTOR);
 	}
 
 	
@@ -0,0 +1,125 @@
+package backend.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import backend.common.EventDaySectorKey;
+import backend.common.TransactionHooks;
+import backend.model.EventDay;
+import backend.model.EventSector;
+import backend.model.StandingSector;
+import backend.model.Ticket;
+import backend.repository.StandingCapacityRepository;
+
+/*
+ * Broj prodatih stajacih karata se drzi u tabeli standing_capacities, jedan red po
+ * (dan dogadjaja, sektor dogadjaja). Prijem karata je jedan uslovni update
+ * (sold + n <= kapacitet), pa baza sama odbija prekoracenje i izmedju cvorova.
+ * Mapa u memoriji je samo kopija za citanje i menja se tek posle commit-a.
+ * Metode se pozivaju iz transakcije servisa rezervacija.
+ */
+@Service
+public class StandingCapacityService {
+
+	@Autowired
+	private StandingCapacityRepository standingCapacityRepository;
+
+	@Autowired
+	SeatDeltaService seatDeltaService;
+
+	private final ConcurrentHashMap<EventDaySectorKey, AtomicInteger> sold = new ConcurrentHashMap<>();
+
+	// vraca false ako u sektoru nema mesta za jos count karata
+	public boolean reserve(EventDay ed, EventSector es, int count) {
+		StandingSector sector = (StandingSector) es.getSector();
+		EventDaySectorKey key = EventDaySectorKey.of(ed.getId(), es.getId());
+		ensureCounter(key);
+		if (standingCapacityRepository.reserve(ed.getId(), es.getId(), count, sector.getCapacity()) == 0) {
+			// red je mozda obrisan na drugom cvoru, pravi se ponovo i pokusava jos jednom
+			if (standingCapacityRepository.findSold(ed.getId(), es.getId()).isPresent()) {
+				return false;
+			}
+			standingCapacityRepository.createIfAbsent(ed.getId(), es.getId());
+			if (standingCapacityRepository.reserve(ed.getId(), es.getId(), count, sector.getCapacity()) == 0) {
+				return false;
+			}
+		}
+		TransactionHooks.afterCommit(() -> adjust(key, count));
+		return true;
+	}
+
+	// ponistava reserve iz iste transakcije
+	public void unreserve(EventDay ed, EventSector es, int count) {
+		EventDaySectorKey key = EventDaySectorKey.of(ed.getId(), es.getId());
+		standingCapacityRepository.release(ed.getId(), es.getId(), count);
+		TransactionHooks.afterCommit(() -> adjust(key, -count));
+	}
+
+	// vraca mesta karata otkazane ili obrisane rezervacije
+	public void release(Collection<Ticket> tickets) {
+		for (Map.Entry<EventDaySectorKey, Integer> e : countStanding(tickets).entrySet()) {
+			EventDaySectorKey key = e.getKey();
+			int count = e.getValue();
+			standingCapacityRepository.release(key.getEventDayId(), key.getEventSectorId(), count);
+			TransactionHooks.afterCommit(() -> adjust(key, -count));
+		}
+	}
+
+	// karte su izmenjene mimo rezervacije, brojaci se racunaju ponovo
+	public void evict(Collection<Ticket> tickets) {
+		for (EventDaySectorKey key : countStanding(tickets).keySet()) {
+			standingCapacityRepository.reset(key.getEventDayId(), key.getEventSectorId());
+			TransactionHooks.afterCommit(() -> sold.remove(key));
+		}
+	}
+
+	public int getSold(Long ed_id, Long es_id) {
+		AtomicInteger value = sold.get(EventDaySectorKey.of(ed_id, es_id));
+		if (value != null) {
+			return value.get();
+		}
+		// red se pravi tek pri prvoj rezervaciji, do tada se broje postojece karte
+		return standingCapacityRepository.findSold(ed_id, es_id)
+				.orElseGet(() -> (int) standingCapacityRepository.countSold(ed_id, es_id));
+	}
+
+	public void clear() {
+		sold.clear();
+	}
+
+	private void adjust(EventDaySectorKey key, int delta) {
+		AtomicInteger value = sold.get(key);
+		if (value != null) {
+			seatDeltaService.standingSold(key, value.addAndGet(delta));
+		}
+	}
+
+	// red se pravi pri prvoj rezervaciji u sektoru, kopija u memoriji se puni stanjem pre nje
+	private void ensureCounter(EventDaySectorKey key) {
+		if (!sold.containsKey(key)) {
+			standingCapacityRepository.createIfAbsent(key.getEventDayId(), key.getEventSectorId());
+			int initial = standingCapacityRepository.findSold(key.getEventDayId(), key.getEventSectorId()).orElse(0);
+			TransactionHooks.afterCommit(() -> sold.putIfAbsent(key, new AtomicInteger(initial)));
+		}
+	}
+
+	private Map<EventDaySectorKey, Integer> countStanding(Collection<Ticket> tickets) {
+		Map<EventDaySectorKey, Integer> counts = new HashMap<>();
+		if (tickets == null) {
+			return counts;
+		}
+		for (Ticket t : tickets) {
+			if (!t.isHasSeat() && t.getEventDay() != null && t.getEventSector() != null) {
+				counts.merge(EventDaySectorKey.of(t.getEventDay().getId(), t.getEventSector().getId()), 1,
+						Integer::sum);
+			}
+		}
+		return counts;
+	}
+}
@@ -0,0 +1,201 @@
+package backend.service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import backend.common.TicketFactStore;
+import backend.common.TicketFactStore.Dimension;
+import backend.common.TransactionHooks;
+import backend.dto.charts.AnalyticsFilterDTO;
+import backend.dto.charts.AnalyticsGroupDTO;
+import backend.exceptions.BadRequestException;
+import backend.model.EventType;
+import backend.model.Ticket;
+import backend.repository.EventDayRepository;
+import backend.repository.TicketRepository;
+
+/*
+ * Analitika karata iz memorije (TicketFactStore), bez Hibernate-a pri upitu.
+ * Karte se ucitavaju pri pokretanju, a posle toga se menjaju uz rezervacije,
+ * tek kad njihova transakcija prodje. Obrisane i otkazane karte ostaju kao otkazane.
+ */
+@Service
+public class TicketAnalyticsService {
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private EventDayRepository eventDayRepository;
+
+	private final TicketFactStore store = new TicketFactStore();
+
+	// dan dogadjaja -> {dogadjaj, lokacija, dan, tip}
+	private final ConcurrentHashMap<Long, long[]> eventDays = new ConcurrentHashMap<>();
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void init() {
+		reload();
+	}
+
+	@Transactional(readOnly = true)
+	public int reload() {
+		List<Object[]> rows = ticketRepository.findAllFacts();
+		store.clear();
+		for (Object[] row : rows) {
+			byte state = Boolean.TRUE.equals(row[8]) ? TicketFactStore.CANCELED
+					: Boolean.TRUE.equals(row[7]) ? TicketFactStore.PURCHASED : TicketFactStore.RESERVED;
+			store.append((Long) row[0], (Long) row[1], id(row[2]), (Long) row[3], day((Date) row[5]),
+					type((EventType) row[4]), (Double) row[6], state);
+		}
+		return store.size();
+	}
+
+	// karte nove rezervacije; poziva se iz transakcije koja ih upisuje
+	public void add(Collection<Ticket> tickets, boolean purchased) {
+		List<Object[]> facts = new ArrayList<>();
+		for (Ticket t : tickets) {
+			if (t.getId() == null || t.getEventDay() == null || t.getEventSector() == null) {
+				continue;
+			}
+			facts.add(new Object[] { t.getId(), resolve(t.getEventDay().getId()), t.getEventSector().getId(),
+					t.getEventSector().getPrice() });
+		}
+		byte state = purchased ? TicketFactStore.PURCHASED : TicketFactStore.RESERVED;
+		TransactionHooks.afterCommit(() -> {
+			for (Object[] f : facts) {
+				long[] ed = (long[]) f[1];
+				store.append((Long) f[0], ed[0], ed[1], (Long) f[2], (int) ed[2], (int) ed[3], (Double) f[3], state);
+			}
+		});
+	}
+
+	public void remove(Collection<Ticket> tickets) {
+		setState(tickets, TicketFactStore.CANCELED);
+	}
+
+	public void purchase(Collection<Ticket> tickets) {
+		setState(tickets, TicketFactStore.PURCHASED);
+	}
+
+	public List<AnalyticsGroupDTO> groupBy(String dimension, AnalyticsFilterDTO filter) throws BadRequestException {
+		Dimension d;
+		try {
+			d = Dimension.valueOf(dimension.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Unknown dimension " + dimension + ".");
+		}
+		List<AnalyticsGroupDTO> result = new ArrayList<>();
+		for (Map.Entry<Long, double[]> e : store.groupBy(d, filter(filter)).asMap().entrySet()) {
+			long key = e.getKey();
+			long tickets = (long) e.getValue()[0];
+			double income = e.getValue()[1];
+			switch (d) {
+			case EVENT_TYPE:
+				result.add(new AnalyticsGroupDTO(null, key < 0 ? null : EventType.values()[(int) key].name(),
+						tickets, income));
+				break;
+			case DAY:
+				result.add(new AnalyticsGroupDTO(null, LocalDate.ofEpochDay(key).toString(), tickets, income));
+				break;
+			case DAY_OF_WEEK:
+				result.add(new AnalyticsGroupDTO(null, DayOfWeek.of((int) key + 1).name(), tickets, income));
+				break;
+			case STATE:
+				result.add(new AnalyticsGroupDTO(null, key == TicketFactStore.PURCHASED ? "PURCHASED"
+						: key == TicketFactStore.CANCELED ? "CANCELED" : "RESERVED", tickets, income));
+				break;
+			default:
+				result.add(new AnalyticsGroupDTO(key == 0 ? null : key, null, tickets, income));
+			}
+		}
+		return result;
+	}
+
+	private TicketFactStore.Filter filter(AnalyticsFilterDTO dto) throws BadRequestException {
+		TicketFactStore.Filter f = new TicketFactStore.Filter();
+		if (dto == null) {
+			return f;
+		}
+		if (dto.getStartDate() != null && dto.getEndDate() != null && dto.getStartDate().after(dto.getEndDate())) {
+			throw new BadRequestException("Start date must be after end date!");
+		}
+		f.days(dto.getStartDate() == null ? Integer.MIN_VALUE : day(dto.getStartDate()),
+				dto.getEndDate() == null ? Integer.MAX_VALUE : day(dto.getEndDate()));
+		f.event(dto.getEventId()).location(dto.getLocationId());
+		if (dto.getEventType() != null) {
+			f.eventType(dto.getEventType().ordinal());
+		}
+		if (dto.getPurchased() == null) {
+			if (dto.isIncludeCanceled()) {
+				f.states(TicketFactStore.RESERVED, TicketFactStore.PURCHASED, TicketFactStore.CANCELED);
+			}
+		} else {
+			byte state = dto.getPurchased() ? TicketFactStore.PURCHASED : TicketFactStore.RESERVED;
+			if (dto.isIncludeCanceled()) {
+				f.states(state, TicketFactStore.CANCELED);
+			} else {
+				f.states(state);
+			}
+		}
+		return f;
+	}
+
+	private void setState(Collection<Ticket> tickets, byte state) {
+		List<Long> ids = new ArrayList<>();
+		for (Ticket t : tickets) {
+			if (t.getId() != null) {
+				ids.add(t.getId());
+			}
+		}
+		TransactionHooks.afterCommit(() -> {
+			for (Long id : ids) {
+				store.setState(id, state);
+			}
+		});
+	}
+
+	private long[] resolve(Long ed_id) {
+		long[] ed = eventDays.get(ed_id);
+		if (ed == null) {
+			ed = new long[] { 0, 0, 0, -1 };
+			List<Object[]> rows = eventDayRepository.findEventAndLocationIdById(ed_id);
+			if (!rows.isEmpty()) {
+				Object[] row = rows.get(0);
+				ed[0] = (Long) row[0];
+				ed[1] = id(row[1]);
+				ed[2] = day((Date) row[2]);
+				ed[3] = type((EventType) row[3]);
+				eventDays.put(ed_id, ed);
+			}
+		}
+		return ed;
+	}
+
+	private static long id(Object id) {
+		return id == null ? 0 : (Long) id;
+	}
+
+	private static int type(EventType type) {
+		return type == null ? -1 : type.ordinal();
+	}
+
+	private static int day(Date date) {
+		return (int) Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+	}
+}
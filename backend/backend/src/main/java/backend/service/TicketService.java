@@ -10,6 +10,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import backend.common.Cursor;
+import backend.dto.CursorPageDTO;
+import backend.dto.SimpleTicketDTO;
+import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Ticket;
 import backend.repository.TicketRepository;
@@ -19,6 +23,9 @@ public class TicketService {
 	@Autowired
 	private TicketRepository ticketRepository;
 
+	@Autowired
+	private PaginationService paginationService;
+
 	public Ticket save(Ticket b) {
 		return ticketRepository.save(b);
 	}
@@ -36,6 +43,15 @@ public class TicketService {
 		return ticketRepository.findAll(page);
 	}
 
+	// strana karata po id-ju
+	public CursorPageDTO<SimpleTicketDTO> findPage(String cursor, Integer size) throws BadRequestException {
+		int limit = paginationService.size(size);
+		Cursor after = Cursor.decode(cursor);
+		List<SimpleTicketDTO> rows = ticketRepository.findPageAfter(after == null ? 0L : after.getId(),
+				paginationService.limit(limit));
+		return paginationService.page(rows, limit, t -> new Cursor(t.getId(), t.getId()), t -> t);
+	}
+
 	@Transactional
 	public void remove(Long id) {
 		ticketRepository.deleteById(id);
@@ -45,6 +61,10 @@ public class TicketService {
 		return ticketRepository.findAllByEventDayIDEventSectorID(ed_id, es_id);
 	}
 
+	public long countByEventDayIDEventSectorID(Long ed_id, Long es_id) {
+		return ticketRepository.countByEventDayIDEventSectorID(ed_id, es_id);
+	}
+
 	public List<Ticket> findAllByLocationDate(Long id, Date date) {
 		return ticketRepository.findAllByLocationDate(id, date);
 	}
@@ -56,7 +76,11 @@ public class TicketService {
 	public List<Ticket> findAllByEvent(Long event_id) {
 		return ticketRepository.findAllByEvent(event_id);
 	}
-	
+
+	public List<Object[]> countAndSumPrices() {
+		return ticketRepository.countAndSumPrices();
+	}
+
 	public List<Ticket> findAllByReservation(Long reservation_id) {
 		return ticketRepository.findAllByReservation(reservation_id);
 	}
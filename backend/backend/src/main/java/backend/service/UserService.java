@@ -9,8 +9,11 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import backend.common.Cursor;
 import backend.converters.RegistrationConverter;
+import backend.dto.CursorPageDTO;
 import backend.dto.RegistrationDTO;
+import backend.exceptions.BadRequestException;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Administrator;
 import backend.model.RegisteredUser;
@@ -23,6 +26,9 @@ public class UserService {
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private PaginationService paginationService;
+
 	@Autowired
 	private EmailService emailService;
 	
@@ -69,6 +75,19 @@ public class UserService {
 		return result;
 	}
 
+	// strana korisnika po id-ju
+	public CursorPageDTO<User> findPage(String cursor, Integer size) throws BadRequestException {
+		int limit = paginationService.size(size);
+		Cursor after = Cursor.decode(cursor);
+		List<User> rows = userRepository.findPageAfter(after == null ? 0L : after.getId(),
+				paginationService.limit(limit));
+		return paginationService.page(rows, limit, u -> new Cursor(u.getId(), u.getId()), u -> u);
+	}
+
+	public List<Object[]> countByRole() {
+		return userRepository.countByRole();
+	}
+
 	public User save(User user) {
 		return userRepository.save(user);
 	}
@@ -0,0 +1,171 @@
+package backend.service;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import backend.common.TokenBucket;
+import backend.dto.QueueStatusDTO;
+import backend.exceptions.BadRequestException;
+import backend.exceptions.ResourceNotFoundException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/*
+ * Virtuelna cekaonica ispred rezervacija za dogadjaje sa velikom potraznjom.
+ * Red je FIFO po rednom broju: ulazak dobija sledeci broj, a pustanje samo pomera granicu
+ * do koje su brojevi pusteni, brzinom koju odredjuje token bucket dogadjaja. Po korisniku
+ * se nista ne cuva, mesto u redu je potpisano u tokenu koji klijent salje pri proveri.
+ */
+@Service
+public class WaitingRoomService {
+
+	private static final String QUEUE_AUDIENCE = "queue";
+	private static final String ADMISSION_AUDIENCE = "admission";
+
+	private static final class Room {
+		private final AtomicLong lastPosition = new AtomicLong();
+		private final TokenBucket bucket;
+		private long admittedUpTo;
+
+		private Room(double rate, int burst) {
+			this.bucket = new TokenBucket(rate, burst);
+		}
+
+		// pusta onoliko cekalaca koliko bucket dozvoljava, granica ne prelazi poslednjeg u redu
+		private synchronized long advance() {
+			long waiting = lastPosition.get() - admittedUpTo;
+			if (waiting > 0) {
+				admittedUpTo += bucket.takeUpTo(waiting);
+			}
+			return admittedUpTo;
+		}
+	}
+
+	@Autowired
+	EventDayService eventDayService;
+
+	// tokeni cekaonice se potpisuju svojim kljucem, da ne bi prosli kao tokeni za prijavu
+	@Value("${queue.secret:queuesecret}")
+	private String secret;
+
+	@Value("${queue.admission.minutes:10}")
+	private int admissionMinutes;
+
+	@Value("${queue.rate:20}")
+	private double defaultRate;
+
+	@Value("${queue.burst:50}")
+	private int defaultBurst;
+
+	private final ConcurrentHashMap<Long, Room> rooms = new ConcurrentHashMap<>();
+	// dan dogadjaja ne menja dogadjaj, mapiranje se pamti
+	private final ConcurrentHashMap<Long, Long> eventByDay = new ConcurrentHashMap<>();
+
+	public void open(Long eventId, Double rate, Integer burst) throws BadRequestException {
+		double r = rate != null ? rate : defaultRate;
+		int b = burst != null ? burst : defaultBurst;
+		if (r <= 0 || b < 1) {
+			throw new BadRequestException("Rate must be positive and burst at least 1");
+		}
+		rooms.put(eventId, new Room(r, b));
+	}
+
+	public void close(Long eventId) {
+		rooms.remove(eventId);
+	}
+
+	public boolean isOpen(Long eventId) {
+		return rooms.containsKey(eventId);
+	}
+
+	public QueueStatusDTO join(Long eventId, String username) throws BadRequestException {
+		Room room = room(eventId);
+		long position = room.lastPosition.incrementAndGet();
+		return status(eventId, room, position, username);
+	}
+
+	public QueueStatusDTO status(Long eventId, String queueToken, String username) throws BadRequestException {
+		Room room = room(eventId);
+		Claims claims = parse(queueToken, QUEUE_AUDIENCE, eventId, username);
+		if (claims == null) {
+			throw new BadRequestException("Invalid queue token");
+		}
+		return status(eventId, room, claims.get("position", Long.class), username);
+	}
+
+	/*
+	 * Provera pre rezervacije. Ako cekaonica za dogadjaj nije otvorena, rezervacije idu direktno.
+	 */
+	public void checkAdmission(Long eventDayId, String admissionToken, String username)
+			throws BadRequestException, ResourceNotFoundException {
+		if (rooms.isEmpty()) {
+			return;
+		}
+		Long eventId = eventByDay.get(eventDayId);
+		if (eventId == null) {
+			eventId = eventDayService.findEventId(eventDayId);
+			eventByDay.put(eventDayId, eventId);
+		}
+		if (!rooms.containsKey(eventId)) {
+			return;
+		}
+		if (admissionToken == null || parse(admissionToken, ADMISSION_AUDIENCE, eventId, username) == null) {
+			throw new BadRequestException("Waiting room is open for this event, admission token is required");
+		}
+	}
+
+	private QueueStatusDTO status(Long eventId, Room room, long position, String username) {
+		long admittedUpTo = room.advance();
+		if (position <= admittedUpTo) {
+			String token = sign(eventId, username, ADMISSION_AUDIENCE, position,
+					TimeUnit.MINUTES.toMillis(admissionMinutes));
+			return new QueueStatusDTO(eventId, position, 0, 0, true, token);
+		}
+		long ahead = position - admittedUpTo;
+		long wait = (long) Math.ceil(ahead / room.bucket.getRatePerSecond());
+		// token mesta u redu vazi dok korisnik ne bi trebalo da bude pusten, uz rezervu
+		String token = sign(eventId, username, QUEUE_AUDIENCE, position,
+				TimeUnit.SECONDS.toMillis(wait) + TimeUnit.HOURS.toMillis(1));
+		return new QueueStatusDTO(eventId, position, ahead, wait, false, token);
+	}
+
+	private Room room(Long eventId) throws BadRequestException {
+		Room room = rooms.get(eventId);
+		if (room == null) {
+			throw new BadRequestException("Waiting room is not open for this event");
+		}
+		return room;
+	}
+
+	private String sign(Long eventId, String username, String audience, long position, long validMillis) {
+		Date now = new Date();
+		return Jwts.builder()
+				.setSubject(username)
+				.setAudience(audience)
+				.claim("event", eventId)
+				.claim("position", position)
+				.setIssuedAt(now)
+				.setExpiration(new Date(now.getTime() + validMillis))
+				.signWith(SignatureAlgorithm.HS512, secret).compact();
+	}
+
+	private Claims parse(String token, String audience, Long eventId, String username) {
+		try {
+			Claims claims = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+			if (!audience.equals(claims.getAudience()) || !username.equals(claims.getSubject())
+					|| !eventId.equals(claims.get("event", Long.class))) {
+				return null;
+			}
+			return claims;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+}
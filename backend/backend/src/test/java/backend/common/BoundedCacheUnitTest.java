@@ -0,0 +1,67 @@
+package backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class BoundedCacheUnitTest {
+
+	@Test
+	public void testHitsAndMisses() {
+		BoundedCache cache = new BoundedCache("test", 10, 60000);
+		assertNull(cache.get("a"));
+		cache.put("a", 1);
+		assertEquals(Integer.valueOf(1), cache.get("a", Integer.class));
+		// null se cuva kao vrednost
+		cache.put("b", null);
+		assertNotNull(cache.get("b"));
+
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(2, cache.getPuts());
+	}
+
+	@Test
+	public void testEvictsByWeight() {
+		BoundedCache cache = new BoundedCache("test", 10, 60000);
+		cache.put("list", Arrays.asList(1, 2, 3, 4, 5, 6));
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.get("list");
+		assertEquals(8, cache.getWeight());
+
+		// izbacuje se najdavnije koriscen unos, a ne najveci
+		cache.put("other", Arrays.asList(1, 2, 3));
+		assertNull(cache.get("a"));
+		assertNotNull(cache.get("b"));
+		assertNotNull(cache.get("list"));
+		assertEquals(10, cache.getWeight());
+		assertEquals(1, cache.getEvictions());
+
+		// unos tezi od celog regiona se ne cuva
+		cache.put("huge", Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+		assertNull(cache.get("huge"));
+		assertEquals(3, cache.getEntries());
+	}
+
+	@Test
+	public void testExpirationAndClear() {
+		BoundedCache expired = new BoundedCache("test", 10, -1);
+		expired.put("a", 1);
+		assertNull(expired.get("a"));
+		assertEquals(1, expired.getExpirations());
+		assertEquals(0, expired.getWeight());
+
+		BoundedCache cache = new BoundedCache("test", 10, 60000);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.evict("a");
+		cache.clear();
+		assertEquals(2, cache.getInvalidations());
+		assertEquals(0, cache.getEntries());
+	}
+}
@@ -0,0 +1,85 @@
+package backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import backend.common.EventSearchIndex.Doc;
+import backend.common.EventSearchIndex.Query;
+import backend.common.EventSearchIndex.Result;
+
+public class EventSearchIndexUnitTest {
+
+	private EventSearchIndex index;
+
+	@Before
+	public void setUp() {
+		index = new EventSearchIndex();
+		index.put(new Doc(1, "Exit festival", "Muzika na tvrđavi", "CONCERT", "Petrovaradinska tvrđava", "Novi Sad",
+				LocalDate.of(2020, 7, 9)));
+		index.put(new Doc(2, "Rock koncert", "Gitarski festival", "CONCERT", "Arena", "Beograd",
+				LocalDate.of(2020, 8, 1)));
+		index.put(new Doc(3, "Partizan - Zvezda", "Vecni derbi", "SPORT", "Arena", "Beograd",
+				LocalDate.of(2020, 7, 20)));
+	}
+
+	@Test
+	public void testPrefixAndWeights() {
+		Result r = index.search(new Query().text("fest"));
+		assertEquals(2, r.getTotal());
+		// rec u nazivu vredi vise od reci u opisu
+		assertEquals(1, r.getHits().get(0).getDoc().getId());
+		assertEquals(EventSearchIndex.NAME, r.getHits().get(0).getScore());
+		assertEquals(EventSearchIndex.DESCRIPTION, r.getHits().get(1).getScore());
+
+		// sve reci upita, bez obzira na velika slova i dijakritike
+		r = index.search(new Query().text("TVRDJ novi"));
+		assertEquals(1, r.getTotal());
+		assertEquals(1, r.getHits().get(0).getDoc().getId());
+
+		assertEquals(0, index.search(new Query().text("arena opera")).getTotal());
+	}
+
+	@Test
+	public void testFacets() {
+		Result r = index.search(new Query().type("CONCERT"));
+		assertEquals(2, r.getTotal());
+		// faceta tipa ne zavisi od izabranog tipa
+		assertEquals(Long.valueOf(2), r.getTypes().get("CONCERT"));
+		assertEquals(Long.valueOf(1), r.getTypes().get("SPORT"));
+		assertEquals(Long.valueOf(1), r.getCities().get("Beograd"));
+		assertEquals(Long.valueOf(1), r.getMonths().get("2020-07"));
+
+		r = index.search(new Query().text("arena").city("beograd").dates(LocalDate.of(2020, 7, 1),
+				LocalDate.of(2020, 7, 31)));
+		assertEquals(1, r.getTotal());
+		assertEquals(3, r.getHits().get(0).getDoc().getId());
+		assertEquals(Long.valueOf(1), r.getMonths().get("2020-08"));
+	}
+
+	@Test
+	public void testUpdateAndRemove() {
+		index.put(new Doc(2, "Jazz vece", null, "CULTURE", "Arena", "Beograd", LocalDate.of(2020, 8, 1)));
+		assertEquals(0, index.search(new Query().text("rock")).getTotal());
+		assertEquals(1, index.search(new Query().text("jazz")).getTotal());
+
+		index.remove(1);
+		assertEquals(2, index.size());
+		assertEquals(0, index.search(new Query().text("exit")).getTotal());
+		assertNull(index.search(new Query()).getTypes().get("CONCERT"));
+
+		Result limited = index.search(new Query().limit(1));
+		assertEquals(2, limited.getTotal());
+		assertEquals(1, limited.getHits().size());
+	}
+
+	@Test
+	public void testTokenize() {
+		assertEquals(Arrays.asList("djordje", "cacak", "2020"), EventSearchIndex.tokenize("Đorđe, Čačak 2020!"));
+	}
+}
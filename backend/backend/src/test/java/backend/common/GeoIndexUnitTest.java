@@ -0,0 +1,69 @@
+package backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import backend.common.GeoIndex.Neighbor;
+
+public class GeoIndexUnitTest {
+
+	@Test
+	public void testWithinAndNearest() {
+		GeoIndex index = new GeoIndex();
+		index.put(1, 45.2671, 19.8335); // Novi Sad
+		index.put(2, 44.7866, 20.4489); // Beograd
+		index.put(3, 43.3209, 21.8958); // Nis
+		index.put(4, 45.2517, 19.8659); // Petrovaradin
+
+		List<Neighbor> within = index.within(45.2551, 19.8452, 10);
+		assertEquals(2, within.size());
+		assertTrue(within.get(0).getDistanceKm() <= within.get(1).getDistanceKm());
+		assertTrue(within.get(1).getDistanceKm() < 10);
+
+		List<Neighbor> nearest = index.nearest(44.8, 20.4, 2, 500);
+		assertEquals(Arrays.asList(2L, 4L), Arrays.asList(nearest.get(0).getId(), nearest.get(1).getId()));
+		assertEquals(3, index.nearest(44.8, 20.4, 10, 200).size());
+
+		// premestena tacka se vise ne nalazi na staroj poziciji
+		index.put(2, 43.3, 21.9);
+		assertEquals(3L, index.nearest(43.32, 21.89, 1, 500).get(0).getId());
+		index.remove(3);
+		assertEquals(2L, index.nearest(43.32, 21.89, 1, 500).get(0).getId());
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	public void testNearestMatchesFullScan() {
+		GeoIndex index = new GeoIndex();
+		Random random = new Random(7);
+		double[][] points = new double[5000][];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = new double[] { 42 + random.nextDouble() * 4, 19 + random.nextDouble() * 4 };
+			index.put(i, points[i][0], points[i][1]);
+		}
+		for (int q = 0; q < 50; q++) {
+			double lat = 42 + random.nextDouble() * 4;
+			double lon = 19 + random.nextDouble() * 4;
+			List<double[]> all = new ArrayList<>();
+			for (int i = 0; i < points.length; i++) {
+				all.add(new double[] { i, GeoIndex.distanceKm(lat, lon, points[i][0], points[i][1]) });
+			}
+			all.sort(Comparator.comparingDouble((double[] d) -> d[1]));
+
+			List<Neighbor> nearest = index.nearest(lat, lon, 10, 1000);
+			for (int i = 0; i < 10; i++) {
+				assertEquals(all.get(i)[1], nearest.get(i).getDistanceKm(), 1e-9);
+			}
+			long inside = all.stream().filter(d -> d[1] <= 30).count();
+			assertEquals(inside, index.within(lat, lon, 30).size());
+		}
+	}
+}
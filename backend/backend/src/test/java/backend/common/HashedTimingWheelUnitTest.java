@@ -0,0 +1,77 @@
+package backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import backend.common.HashedTimingWheel.Timeout;
+
+// tocak se pomera rucno, bez niti i bez cekanja
+public class HashedTimingWheelUnitTest {
+
+	private List<Long> expired;
+	private HashedTimingWheel<Long> wheel;
+	private long now;
+
+	@Before
+	public void setup() {
+		expired = new ArrayList<>();
+		wheel = new HashedTimingWheel<>(100, TimeUnit.MILLISECONDS, 8, expired::add);
+		now = System.currentTimeMillis();
+	}
+
+	@Test
+	public void testExpiresNotBeforeDeadline() {
+		wheel.scheduleAt(1L, now + 1000);
+		wheel.advance(now + 900);
+		assertTrue(expired.isEmpty());
+		wheel.advance(now + 1100);
+		assertEquals(1, expired.size());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	public void testDeadlineSeveralRoundsAway() {
+		// 8 kanti po 100ms, rok je nekoliko krugova daleko
+		wheel.scheduleAt(1L, now + 3050);
+		wheel.scheduleAt(2L, now + 250);
+		wheel.advance(now + 1000);
+		assertEquals(1, expired.size());
+		assertEquals(Long.valueOf(2L), expired.get(0));
+		wheel.advance(now + 3000);
+		assertEquals(1, expired.size());
+		wheel.advance(now + 3200);
+		assertEquals(2, expired.size());
+	}
+
+	@Test
+	public void testCanceledDoesNotExpire() {
+		Timeout<Long> t = wheel.scheduleAt(1L, now + 200);
+		assertTrue(t.cancel());
+		wheel.advance(now + 500);
+		assertTrue(expired.isEmpty());
+		assertFalse(t.isExpired());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	public void testManyOutstanding() {
+		int n = 200000;
+		for (long i = 0; i < n; i++) {
+			Timeout<Long> t = wheel.scheduleAt(i, now + (i % 5000));
+			if (i % 2 == 0) {
+				t.cancel();
+			}
+		}
+		wheel.advance(now + 6000);
+		assertEquals(n / 2, expired.size());
+		assertEquals(0, wheel.size());
+	}
+}
@@ -0,0 +1,63 @@
+package backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HyperLogLogUnitTest {
+
+	@Test
+	public void testEstimate() {
+		HyperLogLog hll = new HyperLogLog();
+		assertEquals(0, hll.estimate());
+		for (long id = 1; id <= 100; id++) {
+			hll.add(id);
+			// ponovljen kupac ne menja procenu
+			hll.add(id);
+		}
+		assertEquals(100, hll.estimate(), 2);
+
+		for (long id = 101; id <= 100000; id++) {
+			hll.add(id);
+		}
+		assertEquals(100000, hll.estimate(), 100000 * 0.05);
+	}
+
+	@Test
+	public void testMerge() {
+		HyperLogLog first = new HyperLogLog();
+		HyperLogLog second = new HyperLogLog();
+		for (long id = 1; id <= 3000; id++) {
+			first.add(id);
+		}
+		for (long id = 2001; id <= 5000; id++) {
+			second.add(id);
+		}
+		long union = first.copy().merge(second).estimate();
+		assertEquals(5000, union, 5000 * 0.05);
+		// spajanje ne menja drugu procenu
+		assertEquals(3000, second.estimate(), 3000 * 0.05);
+	}
+
+	@Test
+	public void testBytes() {
+		HyperLogLog sparse = new HyperLogLog();
+		for (long id = 1; id <= 50; id++) {
+			sparse.add(id);
+		}
+		byte[] bytes = sparse.toBytes();
+		assertTrue(bytes.length <= 1 + 3 * 50);
+		assertEquals(sparse.estimate(), HyperLogLog.fromBytes(bytes).estimate());
+
+		HyperLogLog dense = new HyperLogLog();
+		for (long id = 1; id <= 20000; id++) {
+			dense.add(id);
+		}
+		bytes = dense.toBytes();
+		assertEquals(1 + HyperLogLog.M, bytes.length);
+		assertEquals(dense.estimate(), HyperLogLog.fromBytes(bytes).estimate());
+
+		assertTrue(HyperLogLog.fromBytes(null).isEmpty());
+	}
+}
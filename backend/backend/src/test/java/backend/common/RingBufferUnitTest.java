@@ -0,0 +1,80 @@
+package backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RingBufferUnitTest {
+
+	@Test
+	public void testFullAndWrapAround() {
+		RingBuffer<Integer> ring = new RingBuffer<>(4);
+		assertEquals(4, ring.capacity());
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ring.offer(i));
+		}
+		assertFalse(ring.offer(4));
+
+		List<Integer> out = new ArrayList<>();
+		assertEquals(2, ring.drainTo(out, 2));
+		assertTrue(ring.offer(4));
+		assertTrue(ring.offer(5));
+		assertEquals(4, ring.drainTo(out, 10));
+		for (int i = 0; i < 6; i++) {
+			assertEquals(Integer.valueOf(i), out.get(i));
+		}
+		assertEquals(0, ring.size());
+	}
+
+	@Test
+	public void testManyProducersOneConsumer() throws InterruptedException {
+		int producers = 4;
+		int perProducer = 100000;
+		RingBuffer<Integer> ring = new RingBuffer<>(1024);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int base = p * perProducer;
+			Thread t = new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					while (!ring.offer(base + i)) {
+						Thread.yield();
+					}
+				}
+			});
+			threads.add(t);
+			t.start();
+		}
+
+		// svaki broj mora stici tacno jednom, a brojevi istog proizvodjaca redom
+		boolean[] seen = new boolean[producers * perProducer];
+		int[] last = new int[producers];
+		Arrays.fill(last, -1);
+		List<Integer> batch = new ArrayList<>();
+		int received = 0;
+		while (received < seen.length) {
+			batch.clear();
+			if (ring.drainTo(batch, 100) == 0) {
+				Thread.yield();
+				continue;
+			}
+			for (int v : batch) {
+				assertFalse(seen[v]);
+				seen[v] = true;
+				int p = v / perProducer;
+				assertTrue(v > last[p]);
+				last[p] = v;
+			}
+			received += batch.size();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		assertEquals(0, ring.size());
+	}
+}
@@ -0,0 +1,110 @@
+package backend.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SeatBitmapUnitTest {
+
+	@Test
+	public void testOccupyAndRelease() {
+		SeatBitmap seats = new SeatBitmap(10, 9);
+		assertEquals(90, seats.getCapacity());
+		assertFalse(seats.isTaken(1, 1));
+
+		seats.occupy(1, 1);
+		seats.occupy(10, 9);
+		assertTrue(seats.isTaken(1, 1));
+		assertTrue(seats.isTaken(10, 9));
+		assertFalse(seats.isTaken(1, 2));
+		assertEquals(2, seats.countTaken());
+
+		seats.release(1, 1);
+		assertFalse(seats.isTaken(1, 1));
+		assertEquals(1, seats.countTaken());
+	}
+
+	@Test
+	public void testContains() {
+		SeatBitmap seats = new SeatBitmap(10, 9);
+		assertTrue(seats.contains(1, 1));
+		assertTrue(seats.contains(10, 9));
+		assertFalse(seats.contains(0, 1));
+		assertFalse(seats.contains(11, 1));
+		assertFalse(seats.contains(1, 10));
+	}
+
+	@Test
+	public void testSeatsDoNotOverlapAcrossWords() {
+		SeatBitmap seats = new SeatBitmap(100, 100);
+		for (int row = 1; row <= 100; row++) {
+			seats.occupy(row, row);
+		}
+		assertEquals(100, seats.countTaken());
+		for (int row = 1; row <= 100; row++) {
+			for (int col = 1; col <= 100; col++) {
+				assertEquals(row == col, seats.isTaken(row, col));
+			}
+		}
+	}
+
+	@Test
+	public void testFindBestRun() {
+		SeatBitmap seats = new SeatBitmap(10, 10);
+		// prazan sektor: grupa je centrirana oko najboljeg mesta
+		int[] run = seats.findBestRun(4, 3, 5.5);
+		assertArrayEquals(new int[] { 3, 4 }, run);
+
+		// u trecem redu nema 4 susedna slobodna mesta, bira se susedni red
+		seats.occupy(3, 3);
+		seats.occupy(3, 7);
+		assertArrayEquals(new int[] { 2, 4 }, seats.findBestRun(4, 3, 5.5));
+
+		// centar drugog reda je zauzet: prvi red je blizi od pomeranja grupe u stranu
+		seats.occupy(2, 5);
+		assertArrayEquals(new int[] { 1, 4 }, seats.findBestRun(4, 2, 5.5));
+		// bez prvog reda grupa se pomera do najblizeg slobodnog niza u drugom redu
+		for (int col = 1; col <= 10; col++) {
+			seats.occupy(1, col);
+		}
+		assertArrayEquals(new int[] { 2, 6 }, seats.findBestRun(4, 2, 5.5));
+
+		assertNull(seats.findBestRun(11, 3, 5.5));
+	}
+
+	@Test
+	public void testFindBestRunFullSector() {
+		SeatBitmap seats = new SeatBitmap(100, 100);
+		for (int row = 1; row <= 100; row++) {
+			for (int col = 1; col <= 100; col += 2) {
+				seats.occupy(row, col);
+			}
+		}
+		assertNull(seats.findBestRun(2, 30, 50));
+		assertArrayEquals(new int[] { 30, 50 }, seats.findBestRun(1, 30, 50));
+	}
+
+	@Test
+	public void testEncodeFreeRuns() {
+		SeatBitmap seats = new SeatBitmap(2, 6);
+		long version = seats.getVersion();
+		seats.occupy(1, 1);
+		seats.occupy(1, 4);
+		seats.occupy(1, 5);
+		assertTrue(seats.getVersion() > version);
+
+		int[][] runs = seats.encodeFreeRuns();
+		// red pocinje zauzetim sedistem, pa je prvi niz slobodnih prazan
+		assertArrayEquals(new int[] { 0, 1, 2, 2, 1 }, runs[0]);
+		assertArrayEquals(new int[] { 6 }, runs[1]);
+
+		// oslobadjanje slobodnog sedista nije promena
+		version = seats.getVersion();
+		seats.release(2, 2);
+		assertEquals(version, seats.getVersion());
+	}
+}
@@ -0,0 +1,84 @@
+package backend.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import backend.common.TicketFactStore.Dimension;
+import backend.common.TicketFactStore.Filter;
+
+public class TicketFactStoreUnitTest {
+
+	// 4.1.2021. je ponedeljak
+	private static final int MONDAY = 18631;
+
+	@Test
+	public void testGroupByAndFilter() {
+		TicketFactStore store = new TicketFactStore();
+		store.append(1, 1, 7, 10, MONDAY, 1, 100, TicketFactStore.RESERVED);
+		store.append(2, 1, 7, 11, MONDAY, 1, 300, TicketFactStore.PURCHASED);
+		store.append(3, 2, 7, 12, MONDAY + 2, 3, 50, TicketFactStore.PURCHASED);
+		store.append(4, 2, 0, 12, MONDAY + 2, -1, 50, TicketFactStore.CANCELED);
+
+		Map<Long, double[]> byEvent = store.groupBy(Dimension.EVENT, new Filter()).asMap();
+		assertEquals(2, byEvent.size());
+		assertArrayEquals(new double[] { 2, 400 }, byEvent.get(1L), 0);
+		// otkazana karta se ne broji
+		assertArrayEquals(new double[] { 1, 50 }, byEvent.get(2L), 0);
+
+		Map<Long, double[]> byWeekday = store.groupBy(Dimension.DAY_OF_WEEK, new Filter()).asMap();
+		assertArrayEquals(new double[] { 2, 400 }, byWeekday.get(0L), 0);
+		assertArrayEquals(new double[] { 1, 50 }, byWeekday.get(2L), 0);
+
+		Map<Long, double[]> byType = store.groupBy(Dimension.EVENT_TYPE,
+				new Filter().states(TicketFactStore.PURCHASED, TicketFactStore.CANCELED)).asMap();
+		assertArrayEquals(new double[] { 1, 300 }, byType.get(1L), 0);
+		assertArrayEquals(new double[] { 1, 50 }, byType.get(3L), 0);
+		assertArrayEquals(new double[] { 1, 50 }, byType.get(-1L), 0);
+
+		Map<Long, double[]> filtered = store.groupBy(Dimension.EVENT_SECTOR,
+				new Filter().days(MONDAY + 1, MONDAY + 5).location(7L)).asMap();
+		assertEquals(1, filtered.size());
+		assertArrayEquals(new double[] { 1, 50 }, filtered.get(12L), 0);
+	}
+
+	@Test
+	public void testAppendExistingTicketAndSetState() {
+		TicketFactStore store = new TicketFactStore();
+		store.append(1, 1, 7, 10, MONDAY, 1, 100, TicketFactStore.RESERVED);
+		// ista karta se menja na mestu
+		store.append(1, 1, 7, 11, MONDAY, 1, 200, TicketFactStore.RESERVED);
+		assertEquals(1, store.size());
+		assertTrue(store.setState(1, TicketFactStore.PURCHASED));
+		assertFalse(store.setState(2, TicketFactStore.PURCHASED));
+
+		Map<Long, double[]> byState = store.groupBy(Dimension.STATE, new Filter()).asMap();
+		assertNull(byState.get((long) TicketFactStore.RESERVED));
+		assertArrayEquals(new double[] { 1, 200 }, byState.get((long) TicketFactStore.PURCHASED), 0);
+	}
+
+	@Test
+	public void testParallelScan() {
+		TicketFactStore store = new TicketFactStore();
+		int n = 300000;
+		for (int i = 0; i < n; i++) {
+			store.append(i, i % 3, 1, 1, MONDAY + i % 7, 0, 10, TicketFactStore.PURCHASED);
+		}
+		assertEquals(n, store.size());
+
+		Map<Long, double[]> byEvent = store.groupBy(Dimension.EVENT, new Filter()).asMap();
+		assertArrayEquals(new double[] { n / 3, n / 3 * 10 }, byEvent.get(0L), 0);
+		assertArrayEquals(new double[] { n / 3, n / 3 * 10 }, byEvent.get(2L), 0);
+
+		Map<Long, double[]> sunday = store.groupBy(Dimension.DAY, new Filter().days(MONDAY + 6, MONDAY + 6))
+				.asMap();
+		assertEquals(1, sunday.size());
+		assertEquals(n / 7, sunday.get((long) MONDAY + 6)[0], 0);
+	}
+}
@@ -23,6 +23,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
 
+import backend.dto.EventDetailsDTO;
 import backend.exceptions.ResourceNotFoundException;
 import backend.model.Event;
 import backend.model.UserTokenState;
@@ -91,6 +92,28 @@ public class EventControllerIntegrationTest {
 		assertTrue(responseEntity.getBody().contains("Could not find requested event"));
 	}
 	
+	@Test
+	public void testGetCatalogEvent() {
+		ResponseEntity<EventDetailsDTO> responseEntity = restTemplate.getForEntity("/api/event/catalog/" + DB_EVENT_ID,
+				EventDetailsDTO.class);
+
+		EventDetailsDTO found = responseEntity.getBody();
+		assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+		assertNotNull(found);
+		assertEquals(DB_EVENT_ID, found.getId());
+		assertEquals(DB_EVENT_NAME, found.getName());
+		assertEquals(DB_EVENT_LOCATION_ID, found.getLocation_id());
+	}
+
+	@Test
+	public void testGetCatalogEventDeleted() {
+		ResponseEntity<String> responseEntity = restTemplate.getForEntity("/api/event/catalog/" + DB_EVENT_DELETED,
+				String.class);
+
+		assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+		assertTrue(responseEntity.getBody().contains("Could not find requested event"));
+	}
+
 	@Test
 	public void testDelete() throws ResourceNotFoundException {
 		int size = eventService.findAllNotDeleted().size();
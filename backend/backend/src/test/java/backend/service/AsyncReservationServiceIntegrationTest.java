@@ -0,0 +1,64 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.dto.ReservationDTO;
+import backend.dto.ReservationRequestDTO;
+import backend.dto.ReservationRequestDTO.Status;
+import backend.dto.StandingTicketDTO;
+import backend.dto.TicketDTO;
+import backend.model.Reservation;
+
+/*
+ * Rezervacija kroz nit koja priprema zahteve van transakcije i upisuje ih u grupama,
+ * od prijema zahteva do reda u bazi.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+public class AsyncReservationServiceIntegrationTest {
+
+	private static final Long EVENT_DAY_ID = 2L;
+	private static final Long STANDING_EVENT_SECTOR_ID = 3L;
+	private static final int NUM_TICKETS = 3;
+
+	@Autowired
+	AsyncReservationService asyncReservationService;
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Test
+	public void testReservationIsPersisted() throws Exception {
+		ArrayList<TicketDTO> tickets = new ArrayList<>();
+		tickets.add(new StandingTicketDTO(STANDING_EVENT_SECTOR_ID, NUM_TICKETS));
+		ReservationDTO dto = new ReservationDTO(false, tickets, EVENT_DAY_ID);
+
+		ReservationRequestDTO request = asyncReservationService.submit(dto, "user");
+		long deadline = System.currentTimeMillis() + 10000;
+		while (request.getStatus() == Status.QUEUED && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			request = asyncReservationService.status(request.getId(), "user");
+		}
+
+		assertEquals(request.getError(), Status.DONE, request.getStatus());
+		assertNotNull(request.getReservationId());
+		Reservation r = reservationService.findOne(request.getReservationId());
+		try {
+			assertEquals(NUM_TICKETS, r.getTickets().size());
+		} finally {
+			reservationService.delete(r.getId());
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.dto.charts.BuyerOverlapDTO;
+import backend.dto.charts.BuyerStatsDTO;
+import backend.model.EventDay;
+import backend.model.RegisteredUser;
+import backend.model.Reservation;
+import backend.model.SalesScope;
+import backend.model.Ticket;
+import backend.repository.BuyerSketchRepository;
+import backend.repository.EventDayRepository;
+
+// procene ostaju u memoriji tokom testa, pa se periodicno spajanje sa bazom odlaze
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "buyers.sketch.flush.ms=3600000")
+public class BuyerAnalyticsServiceUnitTest {
+
+	@Autowired
+	BuyerAnalyticsService buyerAnalyticsService;
+
+	@MockBean
+	BuyerSketchRepository repositoryMocked;
+
+	@MockBean
+	EventDayRepository eventDayRepositoryMocked;
+
+	private EventDay day1, day2;
+
+	@Before
+	public void setup() {
+		when(repositoryMocked.findByScopeAndScopeId(any(), any())).thenReturn(Collections.emptyList());
+		// brise procene iz prethodnog testa
+		buyerAnalyticsService.rebuild();
+
+		// dogadjaji 1 i 2 na lokaciji 7
+		day1 = new EventDay();
+		day1.setId(10L);
+		day2 = new EventDay();
+		day2.setId(20L);
+		List<Object[]> ids1 = new ArrayList<>();
+		ids1.add(new Object[] { 1L, 7L, new Date(1577880000000L) });
+		List<Object[]> ids2 = new ArrayList<>();
+		ids2.add(new Object[] { 2L, 7L, new Date(1577966400000L) });
+		when(eventDayRepositoryMocked.findEventAndLocationIdById(10L)).thenReturn(ids1);
+		when(eventDayRepositoryMocked.findEventAndLocationIdById(20L)).thenReturn(ids2);
+	}
+
+	@Test
+	public void testStatsAndOverlap() {
+		// kupac 1 kupuje dva puta za prvi dogadjaj, kupci 1 i 2 za drugi
+		buyerAnalyticsService.add(reservation(1L, day1));
+		buyerAnalyticsService.add(reservation(1L, day1));
+		buyerAnalyticsService.add(reservation(1L, day2));
+		buyerAnalyticsService.add(reservation(2L, day2));
+
+		BuyerStatsDTO event1 = buyerAnalyticsService.stats(SalesScope.EVENT, 1L);
+		assertEquals(1, event1.getUniqueBuyers());
+		assertEquals(2, event1.getReservations());
+		assertEquals(0.5, event1.getRepeatRate(), 0.001);
+
+		BuyerStatsDTO location = buyerAnalyticsService.stats(SalesScope.LOCATION, 7L);
+		assertEquals(2, location.getUniqueBuyers());
+		assertEquals(4, location.getReservations());
+
+		BuyerOverlapDTO overlap = buyerAnalyticsService.overlap(1L, 2L);
+		assertEquals(1, overlap.getFirstBuyers());
+		assertEquals(2, overlap.getSecondBuyers());
+		assertEquals(1, overlap.getCommonBuyers());
+	}
+
+	@Test
+	public void testCanceledReservationIsSkipped() {
+		Reservation r = reservation(1L, day1);
+		r.setCanceled(true);
+		buyerAnalyticsService.add(r);
+
+		assertEquals(0, buyerAnalyticsService.stats(SalesScope.EVENT, 1L).getReservations());
+	}
+
+	private Reservation reservation(Long buyerId, EventDay ed) {
+		RegisteredUser buyer = new RegisteredUser();
+		buyer.setId(buyerId);
+		Reservation r = new Reservation();
+		r.setBuyer(buyer);
+		r.setTickets(new HashSet<>());
+		r.getTickets().add(new Ticket(null, false, null, null, ed, r, null));
+		return r;
+	}
+}
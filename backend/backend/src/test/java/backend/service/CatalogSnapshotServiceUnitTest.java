@@ -0,0 +1,159 @@
+package backend.service;
+
+import static backend.constants.Constants.FIRST_TIMESTAMP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import backend.dto.EventDaySummaryDTO;
+import backend.dto.EventDetailsDTO;
+import backend.dto.EventSectorSummaryDTO;
+import backend.exceptions.ResourceNotFoundException;
+import backend.model.EventType;
+import backend.model.Location;
+import backend.model.StandingSector;
+import backend.repository.EventDayRepository;
+import backend.repository.EventRepository;
+import backend.repository.EventSectorRepository;
+import backend.repository.LocationRepository;
+import backend.repository.SectorRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "catalog.snapshot.enabled=true")
+public class CatalogSnapshotServiceUnitTest {
+
+	@Autowired
+	CatalogSnapshotService catalogSnapshotService;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@MockBean
+	EventRepository eventRepositoryMocked;
+
+	@MockBean
+	EventSectorRepository eventSectorRepositoryMocked;
+
+	@MockBean
+	EventDayRepository eventDayRepositoryMocked;
+
+	@MockBean
+	LocationRepository locationRepositoryMocked;
+
+	@MockBean
+	SectorRepository sectorRepositoryMocked;
+
+	@Before
+	public void setUp() {
+		when(eventRepositoryMocked.findAllDetails()).thenReturn(Arrays.asList(details(1L, "Utakmica"), details(2L, "Koncert")));
+		when(eventSectorRepositoryMocked.findSummariesByEventId(2L))
+				.thenReturn(Collections.singletonList(new EventSectorSummaryDTO(5L, 1500, 3L, "Parter")));
+		when(eventDayRepositoryMocked.findSummariesByEventId(2L))
+				.thenReturn(Collections.singletonList(new EventDaySummaryDTO(4L, "Dan 1", "opis", new Date(), null)));
+		when(sectorRepositoryMocked.findAllById(any()))
+				.thenReturn(Collections.singletonList(new StandingSector(3L, "Parter", 100, null)));
+		when(locationRepositoryMocked.findAllById(any())).thenReturn(Collections.singletonList(location("Arena")));
+		when(locationRepositoryMocked.findAllByDeleted(FIRST_TIMESTAMP)).thenReturn(Collections.emptyList());
+		// snapshot napravljen pri pokretanju se ne broji
+		clearInvocations(eventRepositoryMocked);
+		catalogSnapshotService.rebuild();
+	}
+
+	@Test
+	public void testSnapshotServedWithoutDatabase() throws Exception {
+		JsonNode events = read(catalogSnapshotService.activeEvents());
+		assertEquals(2, events.size());
+		// po id-ju
+		assertEquals(1L, events.get(0).get("id").asLong());
+		JsonNode event = read(catalogSnapshotService.event(2L));
+		assertEquals("Koncert", event.get("name").asText());
+		// isti oblik kao entitet Event, bez karata
+		assertEquals("Arena", event.get("location").get("name").asText());
+		assertEquals("Parter", event.get("eventSectors").get(0).get("sector").get("name").asText());
+		assertEquals(1, event.get("eventDays").size());
+		assertFalse(event.get("eventDays").get(0).has("tickets"));
+		assertEquals(0, read(catalogSnapshotService.locations()).size());
+
+		catalogSnapshotService.activeEvents();
+		verify(eventRepositoryMocked, times(1)).findAllDetails();
+		verify(eventRepositoryMocked, never()).findDetailsById(anyLong());
+	}
+
+	@Test
+	public void testEventChangedRefreshesOnlyThatEvent() throws Exception {
+		when(eventRepositoryMocked.findDetailsById(2L)).thenReturn(Optional.of(details(2L, "Koncert 2")));
+		when(eventRepositoryMocked.findDetailsById(3L)).thenReturn(Optional.of(details(3L, "Predstava")));
+
+		// bez transakcije se osvezava odmah
+		catalogSnapshotService.eventsChanged(Arrays.asList(2L, 3L));
+
+		JsonNode events = read(catalogSnapshotService.activeEvents());
+		assertEquals(3, events.size());
+		assertEquals("Koncert 2", events.get(1).get("name").asText());
+		assertEquals("Predstava", events.get(2).get("name").asText());
+		verify(eventRepositoryMocked, times(1)).findAllDetails();
+	}
+
+	@Test
+	public void testLocationChangedRefreshesItsEvents() throws Exception {
+		when(locationRepositoryMocked.findByIdAndDeleted(1L, FIRST_TIMESTAMP)).thenReturn(Optional.of(location("Arena 2")));
+		when(locationRepositoryMocked.findAllById(any())).thenReturn(Collections.singletonList(location("Arena 2")));
+		when(eventRepositoryMocked.findIdsByLocationIds(any())).thenReturn(Collections.singletonList(2L));
+		when(eventRepositoryMocked.findDetailsById(2L)).thenReturn(Optional.of(details(2L, "Koncert")));
+
+		catalogSnapshotService.locationChanged(1L);
+
+		assertEquals("Arena 2", read(catalogSnapshotService.location(1L)).get("name").asText());
+		assertEquals("Arena 2", read(catalogSnapshotService.event(2L)).get("location").get("name").asText());
+		// dogadjaj koji upit nije vratio se ne serijalizuje ponovo
+		assertEquals("Arena", read(catalogSnapshotService.event(1L)).get("location").get("name").asText());
+		verify(eventRepositoryMocked, times(1)).findAllDetails();
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void testRemovedEventNotFound() throws ResourceNotFoundException {
+		when(eventRepositoryMocked.findDetailsById(1L)).thenReturn(Optional.empty());
+
+		catalogSnapshotService.eventChanged(1L);
+
+		catalogSnapshotService.event(1L);
+	}
+
+	private static EventDetailsDTO details(Long id, String name) {
+		return new EventDetailsDTO(id, name, "opis", EventType.CONCERT, new Date(), new Date(), 5, 1, 1L, "Arena");
+	}
+
+	private static Location location(String name) {
+		return new Location(1L, name, "opis", Collections.emptySet(), null, FIRST_TIMESTAMP);
+	}
+
+	private JsonNode read(byte[] json) throws Exception {
+		return objectMapper.readTree(new String(json, StandardCharsets.UTF_8));
+	}
+}
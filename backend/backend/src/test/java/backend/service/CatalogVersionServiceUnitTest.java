@@ -0,0 +1,68 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import backend.service.CatalogVersionService.Aggregate;
+
+public class CatalogVersionServiceUnitTest {
+
+	private CatalogVersionService catalogVersionService;
+
+	@Before
+	public void setUp() {
+		catalogVersionService = new CatalogVersionService();
+	}
+
+	@Test
+	public void testEtagChangesOnlyForChangedAggregate() {
+		String event = catalogVersionService.etag(Aggregate.EVENT);
+		String hall = catalogVersionService.etag(Aggregate.HALL);
+
+		// bez transakcije se verzija povecava odmah
+		catalogVersionService.changed(Aggregate.EVENT);
+
+		assertNotEquals(event, catalogVersionService.etag(Aggregate.EVENT));
+		assertEquals(hall, catalogVersionService.etag(Aggregate.HALL));
+	}
+
+	@Test
+	public void testConditional() {
+		String etag = catalogVersionService.etag(Aggregate.EVENT, Aggregate.LOCATION);
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ResponseEntity<String> fresh = catalogVersionService.conditional(webRequest(null, response), () -> "body",
+				Aggregate.EVENT, Aggregate.LOCATION);
+		assertEquals("body", fresh.getBody());
+		assertEquals(etag, response.getHeader("ETag"));
+
+		response = new MockHttpServletResponse();
+		ResponseEntity<String> cached = catalogVersionService.conditional(webRequest(etag, response), () -> {
+			throw new IllegalStateException("body se ne racuna za 304");
+		}, Aggregate.EVENT, Aggregate.LOCATION);
+		assertNull(cached);
+		assertEquals(304, response.getStatus());
+
+		catalogVersionService.changed(Aggregate.LOCATION);
+		response = new MockHttpServletResponse();
+		ResponseEntity<String> changed = catalogVersionService.conditional(webRequest(etag, response), () -> "new",
+				Aggregate.EVENT, Aggregate.LOCATION);
+		assertEquals("new", changed.getBody());
+	}
+
+	private static ServletWebRequest webRequest(String ifNoneMatch, MockHttpServletResponse response) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/event/catalog");
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		return new ServletWebRequest(request, response);
+	}
+}
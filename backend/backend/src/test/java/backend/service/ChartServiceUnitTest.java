@@ -49,7 +49,6 @@ import backend.model.SittingSector;
 import backend.model.StandingSector;
 import backend.model.SysAdmin;
 import backend.model.Ticket;
-import backend.model.User;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
@@ -70,6 +69,15 @@ public class ChartServiceUnitTest {
 	@MockBean
 	LocationService locationServiceMocked;
 
+	@MockBean
+	SalesCounterService salesCounterServiceMocked;
+
+	@MockBean
+	SalesRollupService salesRollupServiceMocked;
+
+	@MockBean
+	EventDayService eventDayServiceMocked;
+
 	private SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd");
 	private static DateIntervalDTO intervalGood;
 	private static DateIntervalDTO intervalEmpty;
@@ -181,12 +189,6 @@ public class ChartServiceUnitTest {
 		res4.add(t4);
 		res4.add(t5);
 
-		List<User> allUsers = new ArrayList<User>();
-		allUsers.add(user1);
-		allUsers.add(user2);
-		allUsers.add(admin);
-		allUsers.add(sys);
-
 		List<Event> allEvents = new ArrayList<Event>();
 		allEvents.add(event1);
 		allEvents.add(event2);
@@ -217,12 +219,23 @@ public class ChartServiceUnitTest {
 		List<Ticket> ticketsEvent2 = new ArrayList<Ticket>();
 		ticketsEvent2.addAll(tick2);
 
-		when(userServiceMocked.findAll()).thenReturn(allUsers);
-		when(ticketServiceMocked.findAll()).thenReturn(allTickets);
+		// brojevi koje bi upiti vratili za korisnike, karte i dane dogadjaja iznad
+		List<Object[]> usersByRole = new ArrayList<Object[]>();
+		usersByRole.add(new Object[] { Role.ROLE_REGISTERED_USER, 2L });
+		usersByRole.add(new Object[] { Role.ROLE_ADMIN, 1L });
+		usersByRole.add(new Object[] { Role.ROLE_SYS_ADMIN, 1L });
+		List<Object[]> ticketTotals = new ArrayList<Object[]>();
+		ticketTotals.add(new Object[] { (long) allTickets.size(), row(null, null, allTickets)[2] });
+		List<Object[]> daysByStatus = new ArrayList<Object[]>();
+		daysByStatus.add(new Object[] { EventStatus.ACTIVE, 2L });
+
+		when(userServiceMocked.countByRole()).thenReturn(usersByRole);
+		when(ticketServiceMocked.countAndSumPrices()).thenReturn(ticketTotals);
+		when(eventDayServiceMocked.countByStatus()).thenReturn(daysByStatus);
 		when(ticketServiceMocked.findAllByEvent(1L)).thenReturn(ticketsEvent1);
 		when(ticketServiceMocked.findAllByEvent(2L)).thenReturn(ticketsEvent2);
 		when(ticketServiceMocked.findAllByLocation(1L)).thenReturn(allTickets);
-		when(eventServiceMocked.findAll()).thenReturn(allEvents);
+		when(eventServiceMocked.count()).thenReturn((long) allEvents.size());
 		when(eventServiceMocked.findByInterval(intervalGood)).thenReturn(
 				goodIntervalEvents);
 		when(eventServiceMocked.findByInterval(intervalEmpty)).thenReturn(
@@ -231,6 +244,35 @@ public class ChartServiceUnitTest {
 				new ArrayList<Event>());
 		when(locationServiceMocked.findAll()).thenReturn(allLocations);
 
+		// sums and counts that the counters and grouped queries would return for the tickets above
+		List<Object[]> eventRows = new ArrayList<Object[]>();
+		eventRows.add(row(event1.getId(), event1.getName(), ticketsEvent1));
+		eventRows.add(row(event2.getId(), event2.getName(), ticketsEvent2));
+		List<Object[]> goodIntervalEventRows = new ArrayList<Object[]>();
+		goodIntervalEventRows.add(row(event1.getId(), event1.getName(), ticketsEvent1));
+		List<Object[]> locationRows = new ArrayList<Object[]>();
+		locationRows.add(row(location.getId(), location.getName(), allTickets));
+		List<Object[]> goodIntervalLocationRows = new ArrayList<Object[]>();
+		goodIntervalLocationRows.add(row(location.getId(), location.getName(), ticketsEvent1));
+
+		when(salesCounterServiceMocked.sumByEvent()).thenReturn(eventRows);
+		when(salesRollupServiceMocked.sumByEvent(intervalGood.getStartDate(), intervalGood.getEndDate()))
+				.thenReturn(goodIntervalEventRows);
+		when(salesRollupServiceMocked.sumByEvent(intervalEmpty.getStartDate(), intervalEmpty.getEndDate()))
+				.thenReturn(new ArrayList<Object[]>());
+		when(salesCounterServiceMocked.sumByLocation()).thenReturn(locationRows);
+		when(salesRollupServiceMocked.sumByLocation(intervalGood.getStartDate(), intervalGood.getEndDate()))
+				.thenReturn(goodIntervalLocationRows);
+		when(salesRollupServiceMocked.sumByLocation(intervalEmpty.getStartDate(), intervalEmpty.getEndDate()))
+				.thenReturn(new ArrayList<Object[]>());
+	}
+
+	private static Object[] row(Long id, String name, List<Ticket> tickets) {
+		double income = 0;
+		for (Ticket t : tickets) {
+			income += t.getEventSector().getPrice();
+		}
+		return new Object[] { id, name, tickets.isEmpty() ? null : income, (long) tickets.size() };
 	}
 
 	@Test
@@ -242,6 +284,7 @@ public class ChartServiceUnitTest {
 		assertEquals(INFO_NUM_USERS, info.getNumberOfUsers());
 		assertTrue(INFO_ALLTIME_INCOME == info.getAllTimeIncome());
 		assertTrue(INFO_ALLTIME_TICKETS == info.getAllTimeTickets());
+		assertEquals(Long.valueOf(2), info.getEventDaysByStatus().get(EventStatus.ACTIVE));
 	}
 
 	@Test
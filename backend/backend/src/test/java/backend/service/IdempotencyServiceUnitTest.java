@@ -0,0 +1,102 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.dto.ReservationDTO;
+import backend.exceptions.BadRequestException;
+import backend.model.IdempotencyKey;
+import backend.model.Reservation;
+import backend.repository.IdempotencyKeyRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+public class IdempotencyServiceUnitTest {
+
+	private static final String USERNAME = "user";
+	private static final String KEY = "8d6c1c5e-retry";
+
+	@Autowired
+	IdempotencyService idempotencyService;
+
+	@MockBean
+	ReservationService reservationServiceMocked;
+
+	@MockBean
+	IdempotencyKeyRepository repositoryMocked;
+
+	private ReservationDTO dto;
+	private Reservation reservation;
+
+	@Before
+	public void setup() throws Exception {
+		// kljucevi zapamceni u prethodnom testu
+		idempotencyService.deleteExpired();
+
+		dto = new ReservationDTO(false, new ArrayList<>(), 1L);
+		reservation = new Reservation(10L, false, new Date(), null, null, false);
+		when(repositoryMocked.findByUsernameAndKey(USERNAME, KEY)).thenReturn(Optional.empty());
+		when(reservationServiceMocked.findOne(10L)).thenReturn(reservation);
+	}
+
+	@Test
+	public void testRetryReturnsFirstReservation() throws Exception {
+		when(reservationServiceMocked.createReservation(dto, USERNAME, KEY)).thenReturn(reservation);
+
+		Reservation first = idempotencyService.createReservation(dto, USERNAME, KEY);
+		Reservation retried = idempotencyService.createReservation(dto, USERNAME, KEY);
+
+		assertEquals(first.getId(), retried.getId());
+		verify(reservationServiceMocked, times(1)).createReservation(dto, USERNAME, KEY);
+	}
+
+	@Test
+	public void testConcurrentDuplicateReturnsWinner() throws Exception {
+		IdempotencyKey stored = new IdempotencyKey(USERNAME, KEY, new Date());
+		stored.setReservationId(10L);
+		when(reservationServiceMocked.createReservation(dto, USERNAME, KEY))
+				.thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+		when(repositoryMocked.findByUsernameAndKey(USERNAME, KEY)).thenReturn(Optional.empty())
+				.thenReturn(Optional.of(stored));
+
+		assertSame(reservation, idempotencyService.createReservation(dto, USERNAME, KEY));
+	}
+
+	@Test
+	public void testWithoutKey() throws Exception {
+		when(reservationServiceMocked.createReservation(dto, USERNAME)).thenReturn(reservation);
+		idempotencyService.createReservation(dto, USERNAME, null);
+		verify(reservationServiceMocked, never()).createReservation(eq(dto), eq(USERNAME), any());
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void testKeyTooLong() throws Exception {
+		StringBuilder key = new StringBuilder();
+		for (int i = 0; i < 101; i++) {
+			key.append('k');
+		}
+		idempotencyService.createReservation(dto, USERNAME, key.toString());
+	}
+}
@@ -0,0 +1,73 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.common.Cursor;
+import backend.dto.CursorPageDTO;
+import backend.exceptions.BadRequestException;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+		"pagination.size.default=2", "pagination.size.max=3" })
+public class PaginationServiceUnitTest {
+
+	@Autowired
+	PaginationService paginationService;
+
+	@Test
+	public void testSize() throws BadRequestException {
+		assertEquals(2, paginationService.size(null));
+		assertEquals(1, paginationService.size(1));
+		// veca strana od dozvoljene se smanjuje
+		assertEquals(3, paginationService.size(1000));
+		assertEquals(4, paginationService.limit(3).getPageSize());
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void testSizeNotPositive() throws BadRequestException {
+		paginationService.size(0);
+	}
+
+	@Test
+	public void testPage() throws BadRequestException {
+		// procitan je red vise, pa postoji sledeca strana
+		List<Long> rows = Arrays.asList(5L, 8L, 13L);
+		CursorPageDTO<String> page = paginationService.page(rows, 2, id -> new Cursor(id * 10, id), id -> "t" + id);
+		assertEquals(Arrays.asList("t5", "t8"), page.getItems());
+		Cursor next = Cursor.decode(page.getNextCursor());
+		assertEquals(80, next.getKey());
+		assertEquals(8, next.getId());
+
+		CursorPageDTO<String> last = paginationService.page(Arrays.asList(21L), 2, id -> new Cursor(id, id),
+				id -> "t" + id);
+		assertEquals(Arrays.asList("t21"), last.getItems());
+		assertNull(last.getNextCursor());
+	}
+
+	@Test
+	public void testCursor() throws BadRequestException {
+		Cursor c = Cursor.decode(new Cursor(-1L, Long.MAX_VALUE).encode());
+		assertEquals(-1L, c.getKey());
+		assertEquals(Long.MAX_VALUE, c.getId());
+		assertNull(Cursor.decode(null));
+		assertNull(Cursor.decode(""));
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void testInvalidCursor() throws BadRequestException {
+		Cursor.decode("not a cursor!");
+	}
+}
@@ -0,0 +1,76 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.dto.ReservationDTO;
+import backend.dto.StandingTicketDTO;
+import backend.dto.TicketDTO;
+import backend.model.Reservation;
+
+/*
+ * Meri broj naredbi koje odu ka bazi pri upisu rezervacije sa vise karata.
+ * Sa IDENTITY kljucem svaka karta je poseban INSERT; sa kljucem iz tabele
+ * karte idu u jednoj grupi (batch).
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ReservationBatchInsertIntegrationTest {
+
+	private static final Long EVENT_DAY_ID = 2L;
+	private static final Long STANDING_EVENT_SECTOR_ID = 3L;
+	private static final int NUM_TICKETS = 40;
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@Before
+	public void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+	}
+
+	@Test
+	public void testTicketsAreInsertedInBatches() throws Exception {
+		ArrayList<TicketDTO> tickets = new ArrayList<>();
+		tickets.add(new StandingTicketDTO(STANDING_EVENT_SECTOR_ID, NUM_TICKETS));
+		ReservationDTO dto = new ReservationDTO(false, tickets, EVENT_DAY_ID);
+
+		statistics.clear();
+		Reservation r = reservationService.createReservation(dto, "user");
+
+		long inserts = statistics.getEntityInsertCount();
+		long statements = statistics.getPrepareStatementCount();
+
+		try {
+			assertEquals(NUM_TICKETS, r.getTickets().size());
+			assertEquals(NUM_TICKETS + 1, inserts);
+			// bez grupisanja bi svaka karta bila posebna naredba
+			assertTrue("tickets were not batched: " + statements + " prepared statements for " + inserts + " inserts",
+					statements < NUM_TICKETS / 2);
+		} finally {
+			reservationService.delete(r.getId());
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.dto.charts.SalesCounterMismatchDTO;
+import backend.model.EventDay;
+import backend.model.EventSector;
+import backend.model.SalesScope;
+import backend.model.Ticket;
+import backend.repository.EventDayRepository;
+import backend.repository.SalesCounterRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+public class SalesCounterServiceUnitTest {
+
+	@Autowired
+	SalesCounterService salesCounterService;
+
+	@MockBean
+	SalesCounterRepository repositoryMocked;
+
+	@MockBean
+	EventDayRepository eventDayRepositoryMocked;
+
+	@MockBean
+	SalesRollupService salesRollupServiceMocked;
+
+	private Date date1, date2;
+	private EventDay day1, day2;
+	private EventSector cheap, expensive;
+
+	/*
+	 * servis pamti dan dogadjaj -> dogadjaj i lokaciju izmedju testova, pa svaki test
+	 * dobija svoje dane
+	 */
+	private static long nextDayId = 10;
+
+	@Before
+	public void setup() {
+		// dva dana istog dogadjaja (1) na lokaciji 7
+		day1 = new EventDay();
+		day1.setId(nextDayId++);
+		day2 = new EventDay();
+		day2.setId(nextDayId++);
+		date1 = SalesRollupService.truncate(new Date(1577880000000L));
+		date2 = SalesRollupService.truncate(new Date(1577966400000L));
+		List<Object[]> ids1 = new ArrayList<>();
+		ids1.add(new Object[] { 1L, 7L, new Date(1577880000000L) });
+		List<Object[]> ids2 = new ArrayList<>();
+		ids2.add(new Object[] { 1L, 7L, new Date(1577966400000L) });
+		when(eventDayRepositoryMocked.findEventAndLocationIdById(day1.getId())).thenReturn(ids1);
+		when(eventDayRepositoryMocked.findEventAndLocationIdById(day2.getId())).thenReturn(ids2);
+		cheap = new EventSector(1L, 100);
+		expensive = new EventSector(2L, 300);
+	}
+
+	@Test
+	public void testAdd_groupedPerScope() {
+		List<Ticket> tickets = Arrays.asList(ticket(day1, cheap), ticket(day1, expensive), ticket(day2, cheap));
+
+		salesCounterService.add(tickets, true);
+
+		verify(repositoryMocked).add(eq("EVENT"), eq(1L), anyInt(), eq(3L), eq(500.0), eq(3L), eq(500.0));
+		verify(repositoryMocked).add(eq("LOCATION"), eq(7L), anyInt(), eq(3L), eq(500.0), eq(3L), eq(500.0));
+		verify(repositoryMocked).add(eq("EVENT_DAY"), eq(day1.getId()), anyInt(), eq(2L), eq(400.0), eq(2L), eq(400.0));
+		verify(repositoryMocked).add(eq("EVENT_DAY"), eq(day2.getId()), anyInt(), eq(1L), eq(100.0), eq(1L), eq(100.0));
+		// dan dogadjaja se razresava jednom
+		verify(eventDayRepositoryMocked, times(1)).findEventAndLocationIdById(day1.getId());
+		// prodaja po danima odrzavanja
+		verify(salesRollupServiceMocked).add(eq(SalesScope.EVENT), eq(1L), eq(date1), anyInt(), eq(2L), eq(400.0));
+		verify(salesRollupServiceMocked).add(eq(SalesScope.EVENT), eq(1L), eq(date2), anyInt(), eq(1L), eq(100.0));
+		verify(salesRollupServiceMocked).add(eq(SalesScope.LOCATION), eq(7L), eq(date1), anyInt(), eq(2L), eq(400.0));
+		verify(salesRollupServiceMocked).add(eq(SalesScope.LOCATION), eq(7L), eq(date2), anyInt(), eq(1L), eq(100.0));
+	}
+
+	@Test
+	public void testRemoveAndPurchase() {
+		List<Ticket> tickets = Arrays.asList(ticket(day1, cheap));
+
+		salesCounterService.remove(tickets, false);
+		verify(repositoryMocked).add(eq("EVENT"), eq(1L), anyInt(), eq(-1L), eq(-100.0), eq(0L), eq(0.0));
+
+		salesCounterService.purchase(tickets);
+		verify(repositoryMocked).add(eq("EVENT"), eq(1L), anyInt(), eq(0L), eq(0.0), eq(1L), eq(100.0));
+		// kupovina ne menja prodaju po danima
+		verify(salesRollupServiceMocked).add(eq(SalesScope.EVENT), eq(1L), eq(date1), anyInt(), eq(-1L), eq(-100.0));
+		verify(salesRollupServiceMocked, times(2)).add(any(), any(), any(), anyInt(), anyLong(), anyDouble());
+	}
+
+	@Test
+	public void testCheck_reportsMismatches() {
+		List<Object[]> expected = new ArrayList<>();
+		expected.add(new Object[] { "EVENT", 1L, 3L, 500.0, 0L, 0.0 });
+		expected.add(new Object[] { "EVENT", 2L, 1L, 100.0, 0L, 0.0 });
+		List<Object[]> totals = new ArrayList<>();
+		totals.add(new Object[] { "EVENT", 1L, 3L, 500.0, 0L, 0.0 });
+		totals.add(new Object[] { "EVENT", 2L, 2L, 200.0, 0L, 0.0 });
+		// otkazane rezervacije su vratile brojac na nulu
+		totals.add(new Object[] { "EVENT", 3L, 0L, 0.0, 0L, 0.0 });
+		totals.add(new Object[] { "LOCATION", 7L, 1L, 100.0, 0L, 0.0 });
+		when(repositoryMocked.findExpected()).thenReturn(expected);
+		when(repositoryMocked.findTotals()).thenReturn(totals);
+
+		List<SalesCounterMismatchDTO> mismatches = salesCounterService.check();
+
+		assertEquals(2, mismatches.size());
+		for (SalesCounterMismatchDTO m : mismatches) {
+			assertTrue((m.getScope().equals("EVENT") && m.getScopeId() == 2L && m.getActualTickets() == 2)
+					|| (m.getScope().equals("LOCATION") && m.getExpectedTickets() == 0));
+		}
+	}
+
+	private Ticket ticket(EventDay ed, EventSector es) {
+		return new Ticket(null, false, null, null, ed, null, es);
+	}
+}
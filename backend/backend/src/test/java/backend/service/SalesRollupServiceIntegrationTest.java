@@ -0,0 +1,138 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import backend.model.EventDay;
+import backend.model.SalesDailyBucket;
+import backend.model.SalesScope;
+import backend.repository.EventDayRepository;
+import backend.repository.SalesDailyRepository;
+
+/*
+ * Prodaja po danima nad test bazom. Dogadjaj 3 ima dane 2020-08-03, 2020-09-03 i 2020-10-03
+ * i nema karata, pa su njegovi dani samo ono sto test doda. Dogadjaj 2 ima tri karte
+ * (900) na danu 2.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+public class SalesRollupServiceIntegrationTest {
+
+	private static final Long EVENT_ID = 3L;
+	private static final Long SOLD_EVENT_ID = 2L;
+	private static final Long SOLD_EVENT_DAY_ID = 2L;
+	private static final Long LOCATION_ID = 1L;
+
+	@Autowired
+	SalesRollupService salesRollupService;
+
+	@Autowired
+	SalesDailyRepository salesDailyRepository;
+
+	@Autowired
+	EventDayRepository eventDayRepository;
+
+	private SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd");
+
+	@Test
+	@Transactional
+	public void testAdd() throws ParseException {
+		Date day = df.parse("2020-08-03");
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, day, 0, 2, 600);
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, day, 0, 1, 300);
+		// drugi slot je poseban red
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, day, 1, -1, -300);
+
+		SalesDailyBucket b = bucket(SalesScope.EVENT, EVENT_ID, day, 0).get();
+		assertEquals(3, b.getTickets());
+		assertEquals(900, b.getIncome(), 0.001);
+		assertEquals(-1, bucket(SalesScope.EVENT, EVENT_ID, day, 1).get().getTickets());
+	}
+
+	@Test
+	@Transactional
+	public void testSumByEvent_onlyDaysInsideInterval() throws ParseException {
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, df.parse("2020-08-03"), 0, 2, 600);
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, df.parse("2020-09-03"), 0, 1, 300);
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, df.parse("2020-09-03"), 1, 1, 350);
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, df.parse("2020-10-03"), 0, 4, 1200);
+
+		// interval preseca dogadjaj: sabira se samo 2020-09-03
+		List<Object[]> sums = salesRollupService.sumByEvent(df.parse("2020-08-15"), df.parse("2020-09-30"));
+		assertEquals(1, sums.size());
+		assertEquals(EVENT_ID, sums.get(0)[0]);
+		assertEquals(650, ((Number) sums.get(0)[2]).doubleValue(), 0.001);
+		assertEquals(2, ((Number) sums.get(0)[3]).longValue());
+
+		sums = salesRollupService.sumByEvent(df.parse("2020-08-01"), df.parse("2020-09-30"));
+		assertEquals(1, sums.size());
+		assertEquals(1250, ((Number) sums.get(0)[2]).doubleValue(), 0.001);
+		assertEquals(4, ((Number) sums.get(0)[3]).longValue());
+	}
+
+	@Test
+	@Transactional
+	public void testSumByLocation_onlyDaysInsideInterval() throws ParseException {
+		salesRollupService.add(SalesScope.LOCATION, LOCATION_ID, df.parse("2020-08-03"), 0, 2, 600);
+		salesRollupService.add(SalesScope.LOCATION, LOCATION_ID, df.parse("2020-09-03"), 0, 1, 300);
+
+		List<Object[]> sums = salesRollupService.sumByLocation(df.parse("2020-08-15"), df.parse("2020-09-30"));
+		assertEquals(1, sums.size());
+		assertEquals(LOCATION_ID, sums.get(0)[0]);
+		assertEquals(300, ((Number) sums.get(0)[2]).doubleValue(), 0.001);
+		assertEquals(1, ((Number) sums.get(0)[3]).longValue());
+	}
+
+	@Test
+	@Transactional
+	public void testRollup_rebuildsFromYesterday() throws ParseException {
+		Date past = df.parse("2020-08-03");
+		Date today = SalesRollupService.truncate(new Date());
+		Calendar c = Calendar.getInstance();
+		c.add(Calendar.DATE, 1);
+		Date tomorrow = SalesRollupService.truncate(c.getTime());
+
+		// dan sa prodatim kartama se pomera posle juce
+		EventDay day = eventDayRepository.findById(SOLD_EVENT_DAY_ID).get();
+		day.setDate(tomorrow);
+		eventDayRepository.saveAndFlush(day);
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, past, 0, 2, 600);
+		salesRollupService.add(SalesScope.EVENT, EVENT_ID, today, 0, 5, 1500);
+
+		salesRollupService.rollup();
+
+		// prosli dani ostaju, a od juce nadalje je samo ono sto je u kartama
+		assertTrue(bucket(SalesScope.EVENT, EVENT_ID, past, 0).isPresent());
+		assertFalse(bucket(SalesScope.EVENT, EVENT_ID, today, 0).isPresent());
+		SalesDailyBucket sold = bucket(SalesScope.EVENT, SOLD_EVENT_ID, tomorrow, 0).get();
+		assertEquals(3, sold.getTickets());
+		assertEquals(900, sold.getIncome(), 0.001);
+		assertEquals(3, bucket(SalesScope.LOCATION, LOCATION_ID, tomorrow, 0).get().getTickets());
+	}
+
+	private Optional<SalesDailyBucket> bucket(SalesScope scope, Long scopeId, Date day, int slot) {
+		String d = df.format(day);
+		return salesDailyRepository.findAll().stream()
+				.filter(b -> b.getScope() == scope && b.getScopeId().equals(scopeId)
+						&& df.format(b.getDay()).equals(d) && b.getSlot() == slot)
+				.findFirst();
+	}
+}
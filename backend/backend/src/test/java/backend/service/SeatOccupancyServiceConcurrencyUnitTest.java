@@ -0,0 +1,103 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.model.SittingSector;
+import backend.repository.TicketRepository;
+
+// stres test bez karata u bazi: mnogo niti se otima o ista sedista, svako sediste sme biti prodato tacno jednom
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+public class SeatOccupancyServiceConcurrencyUnitTest {
+
+	private static final int THREADS = 32;
+	private static final int ROUNDS = 20;
+	private static final Long EVENT_DAY_ID = 1L;
+	private static final Long EVENT_SECTOR_ID = 2L;
+
+	@Autowired
+	SeatOccupancyService seatOccupancyService;
+
+	@MockBean
+	TicketRepository ticketRepositoryMocked;
+
+	private SittingSector sector;
+
+	@Before
+	public void setup() {
+		when(ticketRepositoryMocked.findTakenSeats(any(), any())).thenReturn(new ArrayList<>());
+		seatOccupancyService.clear();
+		sector = new SittingSector(2L, "Sit", 20, 25, null);
+	}
+
+	@Test
+	public void testNoSeatIsSoldTwice() throws InterruptedException {
+		for (int round = 0; round < ROUNDS; round++) {
+			Long eventDayId = EVENT_DAY_ID + round;
+			int capacity = sector.getNumRows() * sector.getNumCols();
+			AtomicIntegerArray sold = new AtomicIntegerArray(capacity);
+
+			ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+			CountDownLatch start = new CountDownLatch(1);
+			for (int i = 0; i < THREADS; i++) {
+				List<Integer> seats = new ArrayList<>();
+				for (int seat = 0; seat < capacity; seat++) {
+					seats.add(seat);
+				}
+				Collections.shuffle(seats);
+				executor.submit(() -> {
+					start.await();
+					for (int seat : seats) {
+						int row = seat / sector.getNumCols() + 1;
+						int col = seat % sector.getNumCols() + 1;
+						if (seatOccupancyService.tryOccupy(eventDayId, EVENT_SECTOR_ID, sector, row, col)) {
+							sold.incrementAndGet(seat);
+						}
+					}
+					return null;
+				});
+			}
+			start.countDown();
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+			for (int seat = 0; seat < capacity; seat++) {
+				assertEquals("seat " + seat + " oversold", 1, sold.get(seat));
+			}
+			assertEquals(capacity,
+					seatOccupancyService.getSeats(eventDayId, EVENT_SECTOR_ID, sector).countTaken());
+		}
+	}
+
+	@Test
+	public void testReleasedSeatCanBeTakenAgain() {
+		assertTrue(seatOccupancyService.tryOccupy(EVENT_DAY_ID, EVENT_SECTOR_ID, sector, 3, 4));
+		assertFalse(seatOccupancyService.tryOccupy(EVENT_DAY_ID, EVENT_SECTOR_ID, sector, 3, 4));
+		seatOccupancyService.getSeats(EVENT_DAY_ID, EVENT_SECTOR_ID, sector).release(3, 4);
+		assertTrue(seatOccupancyService.tryOccupy(EVENT_DAY_ID, EVENT_SECTOR_ID, sector, 3, 4));
+	}
+}
@@ -0,0 +1,107 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.model.EventDay;
+import backend.model.EventSector;
+import backend.model.StandingSector;
+import backend.model.Ticket;
+import backend.repository.StandingCapacityRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+public class StandingCapacityServiceUnitTest {
+
+	private static final Long EVENT_DAY_ID = 1L;
+	private static final Long EVENT_SECTOR_ID = 3L;
+	private static final int CAPACITY = 10;
+
+	@Autowired
+	StandingCapacityService standingCapacityService;
+
+	@MockBean
+	StandingCapacityRepository repositoryMocked;
+
+	private EventDay ed;
+	private EventSector es;
+
+	@Before
+	public void setup() {
+		standingCapacityService.clear();
+
+		ed = new EventDay();
+		ed.setId(EVENT_DAY_ID);
+		es = new EventSector();
+		es.setId(EVENT_SECTOR_ID);
+		es.setSector(new StandingSector(EVENT_SECTOR_ID, "Stand", CAPACITY, null));
+		when(repositoryMocked.findSold(EVENT_DAY_ID, EVENT_SECTOR_ID)).thenReturn(Optional.of(4));
+	}
+
+	@Test
+	public void testReserve_counterCreatedOnce() {
+		when(repositoryMocked.reserve(EVENT_DAY_ID, EVENT_SECTOR_ID, 2, CAPACITY)).thenReturn(1);
+
+		assertTrue(standingCapacityService.reserve(ed, es, 2));
+		assertTrue(standingCapacityService.reserve(ed, es, 2));
+
+		verify(repositoryMocked, times(1)).createIfAbsent(EVENT_DAY_ID, EVENT_SECTOR_ID);
+		assertEquals(8, standingCapacityService.getSold(EVENT_DAY_ID, EVENT_SECTOR_ID));
+	}
+
+	@Test
+	public void testReserve_notEnoughRoom() {
+		when(repositoryMocked.reserve(EVENT_DAY_ID, EVENT_SECTOR_ID, 7, CAPACITY)).thenReturn(0);
+
+		assertFalse(standingCapacityService.reserve(ed, es, 7));
+		assertEquals(4, standingCapacityService.getSold(EVENT_DAY_ID, EVENT_SECTOR_ID));
+	}
+
+	@Test
+	public void testRelease() {
+		when(repositoryMocked.reserve(EVENT_DAY_ID, EVENT_SECTOR_ID, 2, CAPACITY)).thenReturn(1);
+		assertTrue(standingCapacityService.reserve(ed, es, 2));
+
+		List<Ticket> tickets = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			Ticket t = new Ticket();
+			t.setHasSeat(false);
+			t.setEventDay(ed);
+			t.setEventSector(es);
+			tickets.add(t);
+		}
+		standingCapacityService.release(tickets);
+
+		verify(repositoryMocked, times(1)).release(EVENT_DAY_ID, EVENT_SECTOR_ID, 2);
+		verify(repositoryMocked, never()).reset(EVENT_DAY_ID, EVENT_SECTOR_ID);
+		assertEquals(4, standingCapacityService.getSold(EVENT_DAY_ID, EVENT_SECTOR_ID));
+	}
+
+	@Test
+	public void testGetSold_beforeCounterExists() {
+		when(repositoryMocked.findSold(EVENT_DAY_ID, EVENT_SECTOR_ID)).thenReturn(Optional.empty());
+		when(repositoryMocked.countSold(EVENT_DAY_ID, EVENT_SECTOR_ID)).thenReturn(6L);
+
+		assertEquals(6, standingCapacityService.getSold(EVENT_DAY_ID, EVENT_SECTOR_ID));
+	}
+}
@@ -0,0 +1,108 @@
+package backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import backend.dto.QueueStatusDTO;
+import backend.exceptions.BadRequestException;
+import backend.security.TokenUtils;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+public class WaitingRoomServiceUnitTest {
+
+	private static final Long EVENT_ID = 2L;
+	private static final Long EVENT_DAY_ID = 3L;
+
+	@Autowired
+	WaitingRoomService waitingRoomService;
+
+	@Autowired
+	TokenUtils tokenUtils;
+
+	@MockBean
+	EventDayService eventDayServiceMocked;
+
+	@Before
+	public void setup() throws Exception {
+		when(eventDayServiceMocked.findEventId(EVENT_DAY_ID)).thenReturn(EVENT_ID);
+
+		// jedan korisnik na sat, posle naleta od dva niko vise ne prolazi tokom testa
+		waitingRoomService.open(EVENT_ID, 1.0 / 3600, 2);
+	}
+
+	@Test
+	public void testQueueIsFifo() throws BadRequestException {
+		QueueStatusDTO first = waitingRoomService.join(EVENT_ID, "user");
+		QueueStatusDTO second = waitingRoomService.join(EVENT_ID, "user2");
+		QueueStatusDTO third = waitingRoomService.join(EVENT_ID, "user3");
+
+		assertTrue(first.isAdmitted());
+		assertTrue(second.isAdmitted());
+		assertFalse(third.isAdmitted());
+		assertEquals(3, third.getPosition());
+		assertEquals(1, third.getAhead());
+
+		QueueStatusDTO again = waitingRoomService.status(EVENT_ID, third.getToken(), "user3");
+		assertFalse(again.isAdmitted());
+		assertEquals(3, again.getPosition());
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void testQueueTokenOfAnotherUser() throws BadRequestException {
+		waitingRoomService.join(EVENT_ID, "user");
+		waitingRoomService.join(EVENT_ID, "user2");
+		QueueStatusDTO third = waitingRoomService.join(EVENT_ID, "user3");
+		waitingRoomService.status(EVENT_ID, third.getToken(), "user");
+	}
+
+	@Test
+	public void testAdmission() throws Exception {
+		QueueStatusDTO first = waitingRoomService.join(EVENT_ID, "user");
+		waitingRoomService.checkAdmission(EVENT_DAY_ID, first.getToken(), "user");
+
+		try {
+			waitingRoomService.checkAdmission(EVENT_DAY_ID, null, "user");
+			fail("reservation without admission token was accepted");
+		} catch (BadRequestException e) {
+		}
+		try {
+			waitingRoomService.checkAdmission(EVENT_DAY_ID, first.getToken(), "user2");
+			fail("admission token of another user was accepted");
+		} catch (BadRequestException e) {
+		}
+
+		// posle zatvaranja cekaonice token nije potreban
+		waitingRoomService.close(EVENT_ID);
+		waitingRoomService.checkAdmission(EVENT_DAY_ID, null, "user");
+	}
+
+	@Test
+	public void testQueueTokensAreNotLoginTokens() throws BadRequestException {
+		QueueStatusDTO admitted = waitingRoomService.join(EVENT_ID, "user");
+		waitingRoomService.join(EVENT_ID, "user2");
+		QueueStatusDTO waiting = waitingRoomService.join(EVENT_ID, "user3");
+
+		// drugi kljuc, filter ne moze da procita korisnika iz tokena
+		assertNull(tokenUtils.getUsernameFromToken(admitted.getToken()));
+		assertNull(tokenUtils.getUsernameFromToken(waiting.getToken()));
+		assertFalse(tokenUtils.isLoginAudience("queue"));
+		assertFalse(tokenUtils.isLoginAudience("admission"));
+		assertTrue(tokenUtils.isLoginAudience("web"));
+	}
+}